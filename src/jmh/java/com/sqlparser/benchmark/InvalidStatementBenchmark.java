@@ -0,0 +1,56 @@
+package com.sqlparser.benchmark;
+
+import com.sqlparser.service.SqlAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects invalid statements through the throwing {@link SqlAnalyzer#analyze()} and the
+ * result-returning {@link SqlAnalyzer#parse()}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InvalidStatementBenchmark {
+    private static final String[] STATEMENTS = {
+            "SLECT * FROM users;",
+            "SELECT email FROM users WHERE id = ;",
+            "SELECT order FROM users;",
+            "SELECT COUNT(id) FROM users GROUP BY country;",
+            "SELECT * FROM users WHERE name = 'unclosed;",
+            "SELECT * FROM users LIMIT 10",
+    };
+
+    private final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+
+    @Benchmark
+    public void analyze(Blackhole blackhole) {
+        for (String statement : STATEMENTS) {
+            try {
+                blackhole.consume(sqlAnalyzer.reset(statement).analyze());
+            } catch (Exception exception) {
+                blackhole.consume(exception);
+            }
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String statement : STATEMENTS) {
+            blackhole.consume(sqlAnalyzer.reset(statement).parse());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.sqlparser.benchmark;
+
+import com.sqlparser.engine.Column;
+import com.sqlparser.engine.IntColumn;
+import com.sqlparser.engine.PredicateCompiler;
+import com.sqlparser.engine.RowPredicate;
+import com.sqlparser.engine.Table;
+import com.sqlparser.model.expression.And;
+import com.sqlparser.model.expression.Between;
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.model.expression.Literal;
+import com.sqlparser.model.expression.LiteralType;
+import com.sqlparser.model.expression.Not;
+import com.sqlparser.model.expression.Or;
+import com.sqlparser.service.SqlAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests every row of a table against a WHERE condition, through the {@link RowPredicate}
+ * compiled by {@link PredicateCompiler} and through a tree walk over the parsed expression.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PredicateBenchmark {
+    private static final int ROWS = 100_000;
+
+    public enum Condition {
+        COMPARISON("age > 30"),
+        AND_OR("age >= 20 AND score < 3 OR name = 'user7'"),
+        BETWEEN_NOT("age BETWEEN 10 AND 20 AND NOT score BETWEEN 2 AND 8");
+
+        private final String text;
+
+        Condition(String text) {
+            this.text = text;
+        }
+    }
+
+    @Param
+    public Condition condition;
+
+    private Table table;
+    private RowPredicate compiled;
+    private Interpreter interpreted;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Random random = new Random(42);
+        final int[] ages = new int[ROWS];
+        final boolean[] ageNulls = new boolean[ROWS];
+        final double[] scores = new double[ROWS];
+        final String[] names = new String[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            ages[row] = random.nextInt(80);
+            ageNulls[row] = random.nextInt(10) == 0;
+            scores[row] = random.nextInt(100) / 10.0;
+            names[row] = "user" + random.nextInt(40);
+        }
+        table = Table.builder("users")
+                .addColumn("age", new IntColumn(ages, ageNulls))
+                .addColumn("score", scores)
+                .addColumn("name", names)
+                .build();
+        final List<Expression> where = new SqlAnalyzer("SELECT age FROM users WHERE " + condition.text + ";")
+                .analyze().getWhereConditions();
+        compiled = new PredicateCompiler(table).compile(where);
+        interpreted = new Interpreter(table, where.get(0));
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        int count = 0;
+        for (int row = 0; row < ROWS; row++) {
+            if (compiled.test(row)) {
+                count++;
+            }
+        }
+        blackhole.consume(count);
+    }
+
+    @Benchmark
+    public void interpreted(Blackhole blackhole) {
+        int count = 0;
+        for (int row = 0; row < ROWS; row++) {
+            if (interpreted.test(row)) {
+                count++;
+            }
+        }
+        blackhole.consume(count);
+    }
+
+    /**
+     * Evaluates the expression tree for each row, with SQL NULLs as {@code null}. Covers the
+     * constructs of {@link Condition}.
+     */
+    private static final class Interpreter implements RowPredicate {
+        private final Map<String, Column> columns = new HashMap<>();
+        private final Expression condition;
+
+        private Interpreter(Table table, Expression condition) {
+            for (int i = 0; i < table.getColumns().size(); i++) {
+                columns.put(table.getColumnNames().get(i), table.getColumn(i));
+            }
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean test(int row) {
+            return Boolean.TRUE.equals(truth(condition, row));
+        }
+
+        private Boolean truth(Expression expression, int row) {
+            if (expression instanceof And || expression instanceof Or) {
+                final boolean and = expression instanceof And;
+                final Boolean left = truth(and ? ((And) expression).getLeft() : ((Or) expression).getLeft(), row);
+                if (left != null && left != and) {
+                    return left;
+                }
+                final Boolean right = truth(and ? ((And) expression).getRight() : ((Or) expression).getRight(), row);
+                if (right != null && right != and) {
+                    return right;
+                }
+                return left == null || right == null ? null : and;
+            }
+            if (expression instanceof Not) {
+                final Boolean operand = truth(((Not) expression).getOperand(), row);
+                return operand == null ? null : !operand;
+            }
+            if (expression instanceof Between) {
+                final Between between = (Between) expression;
+                final Integer lower = compare(value(between.getOperand(), row), value(between.getLower(), row));
+                final Integer upper = compare(value(between.getOperand(), row), value(between.getUpper(), row));
+                if (lower == null || upper == null) {
+                    return null;
+                }
+                return (lower >= 0 && upper <= 0) != between.isNegated();
+            }
+            final Comparison comparison = (Comparison) expression;
+            final Integer sign = compare(value(comparison.getLeft(), row), value(comparison.getRight(), row));
+            if (sign == null) {
+                return null;
+            }
+            switch (comparison.getOperator()) {
+                case LESS_THAN:
+                    return sign < 0;
+                case LESS_THAN_OR_EQUAL_TO:
+                    return sign <= 0;
+                case EQUAL:
+                    return sign == 0;
+                case NOT_EQUAL:
+                    return sign != 0;
+                case GREATER_THAN:
+                    return sign > 0;
+                default:
+                    return sign >= 0;
+            }
+        }
+
+        private Object value(Expression expression, int row) {
+            if (expression instanceof ColumnRef) {
+                final String name = ((ColumnRef) expression).getName();
+                final Column column = columns.get(name.substring(name.lastIndexOf('.') + 1));
+                return column.isNull(row) ? null : column.getValue(row);
+            }
+            final Literal literal = (Literal) expression;
+            if (literal.getType() == LiteralType.NUMBER) {
+                return Double.parseDouble(literal.getValue());
+            }
+            return literal.getType() == LiteralType.NULL ? null : literal.getValue();
+        }
+
+        private static Integer compare(Object left, Object right) {
+            if (left == null || right == null) {
+                return null;
+            }
+            if (left instanceof Number) {
+                return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+            }
+            return ((String) left).compareTo((String) right);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sqlparser.benchmark;
+
+/**
+ * Benchmark corpus grouped by query shape. Statements are taken from example.sql
+ * and from SqlAnalyzerTest, JoinsTest and WhereTest.
+ */
+public enum QueryShape {
+    SIMPLE_SELECT(
+            "SELECT * FROM table;",
+            "SELECT email AS useremail FROM table;",
+            "SELECT `user.email` AS useremail FROM table;",
+            "SELECT     user.email   ,    user.avatar FROM users;",
+            "SELECT    `user.email`   , user.avatar AS usravatar,  user.id    FROM users, flights;"
+    ),
+    MULTI_JOIN(
+            "SELECT    `user.email`   ,   user.avatar AS usravatar,  user.id,  user.address    FROM users  LEFT JOIN messages ON messages.user_id  =  user.id ;",
+            "SELECT  client.id_client AS id_client, client.full_name AS full_name, " +
+                    " client.phone     AS phone FROM room_in_reservation " +
+                    " LEFT JOIN reservation ON reservation.id_reservation = room_in_reservation.id_reservation " +
+                    " RIGHT JOIN client ON client.id_client = reservation.id_client  " +
+                    " FULL OUTER JOIN room ON room.id_room = room_in_reservation.id_room_in_reservation  " +
+                    " LEFT JOIN room_kind ON room_kind.id_room_kind = room.id_room_kind  " +
+                    " INNER JOIN hotel ON hotel.id_hotel = room.id_hotel " +
+                    " WHERE room_kind.name = 'Lux'   AND  hotel.name = 'Altay';",
+            "SELECT  client.id_client AS id_client, client.full_name AS full_name, client.phone     AS phone FROM room_in_reservation LEFT JOIN reservation ON reservation.id_reservation = room_in_reservation.id_reservation LEFT JOIN client ON client.id_client = reservation.id_client  LEFT JOIN room ON room.id_room = room_in_reservation.id_room_in_reservation   LEFT JOIN room_kind ON room_kind.id_room_kind = room.id_room_kind   LEFT JOIN hotel ON hotel.id_hotel = room.id_hotel  WHERE room_kind.name = '\u043b\u044e\u043a\u0441' AND hotel.name = '\u0410\u043b\u0442\u0430\u0439';"
+    ),
+    WHERE_CHAIN(
+            "SELECT    `user.email`   ,    user.avatar AS usravatar,  user.id,  user.address    FROM users WHERE  users.id  BETWEEN 50 AND 100 ;",
+            "SELECT    `user.email`   ,    user.avatar AS usravatar,  user.id,  user.address    FROM users WHERE  users.id NOT  BETWEEN 50  AND 100 ;",
+            "SELECT  client.id_client AS id_client, client.full_name AS full_name, " +
+                    " client.phone     AS phone FROM room_in_reservation " +
+                    " WHERE room_kind.name NOT LIKE 'Lux'   OR  hotel.name = 'Altay';",
+            "SELECT  client.id_client AS id_client, client.full_name AS full_name, " +
+                    " client.phone     AS phone FROM room_in_reservation " +
+                    " WHERE room_kind.id IN (1, 2, 3 , 4 )   OR  hotel.name = 'Altay';",
+            "SELECT  client.id_client AS id_client, client.full_name AS full_name, " +
+                    " client.phone     AS phone FROM room_in_reservation " +
+                    " WHERE  room_kind.id NOT IN (1)   OR  hotel.name  IS NOT NULL ;"
+    ),
+    ORDER_LIMIT_OFFSET(
+            "SELECT * FROM `product` ORDER BY calorific ASC;",
+            "SELECT * FROM `product` ORDER BY name, calorific ASC;",
+            "SELECT name, calorific FROM `product` ORDER BY name ASC;",
+            "SELECT    `user.email`   ,    user.avatar AS usravatar,  user.id,  user.address    FROM users ORDER BY  user.address  DESC   LIMIT 20 ;",
+            "SELECT    `user.email`   ,    user.avatar AS usravatar,  user.id,  user.address    FROM users ORDER BY  user.address  DESC   LIMIT 20 OFFSET 10 ;"
+    );
+
+    private final String[] statements;
+
+    QueryShape(String... statements) {
+        this.statements = statements;
+    }
+
+    public String[] getStatements() {
+        return statements;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sqlparser.benchmark;
+
+import com.sqlparser.service.SqlAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses every statement of one {@link QueryShape} per operation.
+ * Run with {@code gradlew jmh}; the gc profiler reports the allocation rate per shape.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SqlAnalyzerBenchmark {
+    @Param({"SIMPLE_SELECT", "MULTI_JOIN", "WHERE_CHAIN", "ORDER_LIMIT_OFFSET"})
+    private QueryShape shape;
+
+    private String[] statements;
+    private SqlAnalyzer sqlAnalyzer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        statements = shape.getStatements();
+        sqlAnalyzer = new SqlAnalyzer();
+        for (String statement : statements) {
+            new SqlAnalyzer(statement).analyze();
+        }
+    }
+
+    @Benchmark
+    public void analyze(Blackhole blackhole) throws Exception {
+        for (String statement : statements) {
+            blackhole.consume(new SqlAnalyzer(statement).analyze());
+        }
+    }
+
+    @Benchmark
+    public void analyzeReusingAnalyzer(Blackhole blackhole) throws Exception {
+        for (String statement : statements) {
+            blackhole.consume(sqlAnalyzer.reset(statement).analyze());
+        }
+    }
+}
@@ -1,54 +1,90 @@
 package com.sqlparser;
 
-import com.sqlparser.service.SqlAnalyzer;
+import com.sqlparser.model.StatementResult;
+import com.sqlparser.service.MappedSqlScript;
+import com.sqlparser.service.ParallelSqlParser;
+import com.sqlparser.service.SqlScriptParser;
+import com.sqlparser.service.SqlScriptSplitter;
+import com.sqlparser.service.StatementSource;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
 
 public class Main {
     public static final String ANSI_RESET = "\u001B[0m";
     public static final String ANSI_CYAN = "\u001B[36m";
+    public static final String BATCH_OPTION = "--mmap";
+    public static final String THREADS_OPTION = "--threads";
+    public static final String USAGE = "Usage: java -jar *jar [" + BATCH_OPTION + "] [" + THREADS_OPTION
+            + " <n>] <sql file path>, n >= 1";
 
     public static void main(String[] args) {
         try {
-            if (args.length < 1) {
-                throw new Exception("Usage: java -jar *jar <sql file path>");
-            }
-            final String filePath = args[0];
-
-            final List<String> sqlQueries = readFile(filePath);
-            final int[] line = {0};
-            sqlQueries.forEach(sqlQuery -> {
-                try {
-                    line[0]++;
-                    new SqlAnalyzer(sqlQuery).analyze();
-                } catch (Exception exception) {
-                    System.out.println(ANSI_CYAN + "Invalid query at line " + line[0] + ".g " + exception.getMessage() + ANSI_RESET) ;
+            boolean batch = false;
+            int threads = 1;
+            String filePath = null;
+            for (int i = 0; i < args.length; i++) {
+                if (BATCH_OPTION.equals(args[i])) {
+                    batch = true;
+                } else if (THREADS_OPTION.equals(args[i])) {
+                    threads = i + 1 < args.length ? threads(args[++i]) : 0;
+                    if (threads < 1) {
+                        System.err.println(USAGE);
+                        return;
+                    }
+                } else {
+                    filePath = args[i];
                 }
-            });
-
+            }
+            if (filePath == null) {
+                System.err.println(USAGE);
+                return;
+            }
+            run(Paths.get(filePath), batch, threads);
         } catch (Exception exception) {
             exception.printStackTrace();
         }
     }
 
-    private static List<String> readFile(String filePath) {
-        List<String> queries = new ArrayList<>();
-
-        try (Scanner scanner = new Scanner(new File(filePath))) {
-            while (scanner.hasNext()) {
+    /**
+     * The thread count given for {@link #THREADS_OPTION}, or {@code 0} if it is not a number.
+     */
+    private static int threads(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
 
-                final String line = scanner.nextLine();
-                queries.add(line);
-                System.out.println(line);
+    private static void run(Path path, boolean batch, int threads) throws Exception {
+        final long started = System.nanoTime();
+        long statements = 0;
+        long invalid = 0;
+        try (StatementSource source = batch
+                ? MappedSqlScript.open(path)
+                : new SqlScriptSplitter(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+             ParallelSqlParser parallelParser = threads > 1 ? new ParallelSqlParser(threads) : null) {
+            final Iterator<StatementResult> results = parallelParser != null
+                    ? parallelParser.parse(source)
+                    : new SqlScriptParser(source);
+            while (results.hasNext()) {
+                final StatementResult result = results.next();
+                statements++;
+                if (!result.isSuccess()) {
+                    invalid++;
+                    System.out.println(ANSI_CYAN + result + ANSI_RESET);
+                }
             }
-        } catch (FileNotFoundException exception) {
-            exception.printStackTrace();
         }
-
-        return queries;
+        if (batch) {
+            final double seconds = Math.max(System.nanoTime() - started, 1) / 1e9;
+            final double megabytes = Files.size(path) / (1024.0 * 1024.0);
+            System.out.printf("%d statements (%d invalid), %.1f MB in %.3f s: %.0f statements/s, %.1f MB/s%n",
+                    statements, invalid, megabytes, seconds, statements / seconds, megabytes / seconds);
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.sqlparser.engine;
+
+/**
+ * Up to {@link #SIZE} joined rows passed between operators. A joined row is one row number
+ * per table of the query, {@code -1} where an outer join extended it with NULLs; columns are
+ * only read when a predicate or the final projection needs them.
+ */
+final class Batch {
+    static final int SIZE = 1024;
+
+    /**
+     * Positions {@code 0..SIZE-1}, the selection of a whole batch.
+     */
+    static final int[] ALL = new int[SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            ALL[i] = i;
+        }
+    }
+
+    /**
+     * {@code rows[table][position]}.
+     */
+    final int[][] rows;
+    int size;
+
+    Batch(int tableCount) {
+        this.rows = new int[tableCount][SIZE];
+    }
+
+    /**
+     * Keeps the {@code count} rows at the ascending {@code positions}.
+     */
+    void retain(int[] positions, int count) {
+        for (int[] tableRows : rows) {
+            for (int i = 0; i < count; i++) {
+                tableRows[i] = tableRows[positions[i]];
+            }
+        }
+        size = count;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sqlparser.engine;
+
+/**
+ * Values of one table column, held in a primitive array indexed by row number.
+ */
+public abstract class Column {
+    Column() {
+    }
+
+    public abstract ColumnType getType();
+
+    public abstract int size();
+
+    public abstract boolean isNull(int row);
+
+    /**
+     * Boxed value, {@code null} for NULL. Meant for results and tests; operators read the arrays.
+     */
+    public abstract Object getValue(int row);
+
+    /**
+     * Column of {@code rows[0..count)} in that order, where row {@code -1} is NULL.
+     */
+    abstract Column gather(int[] rows, int count);
+
+    /**
+     * Copy of {@code nulls} for the gathered rows, {@code null} if none of them is NULL.
+     */
+    static boolean[] gatherNulls(boolean[] nulls, int[] rows, int count) {
+        boolean[] gathered = null;
+        for (int i = 0; i < count; i++) {
+            final int row = rows[i];
+            if (row < 0 || nulls != null && nulls[row]) {
+                if (gathered == null) {
+                    gathered = new boolean[count];
+                }
+                gathered[i] = true;
+            }
+        }
+        return gathered;
+    }
+
+    static void checkNulls(int size, boolean[] nulls) {
+        if (nulls != null && nulls.length != size) {
+            throw new IllegalArgumentException("Null flags for " + nulls.length + " rows, values for " + size);
+        }
+    }
+}
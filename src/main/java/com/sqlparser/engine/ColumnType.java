@@ -0,0 +1,8 @@
+package com.sqlparser.engine;
+
+public enum ColumnType {
+    INT,
+    LONG,
+    DOUBLE,
+    STRING
+}
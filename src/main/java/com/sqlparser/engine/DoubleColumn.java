@@ -0,0 +1,61 @@
+package com.sqlparser.engine;
+
+public final class DoubleColumn extends Column {
+    private final double[] values;
+    private final boolean[] nulls;
+
+    public DoubleColumn(double[] values) {
+        this(values, null);
+    }
+
+    /**
+     * @param nulls {@code true} for the rows that are NULL, or {@code null} if there are none
+     */
+    public DoubleColumn(double[] values, boolean[] nulls) {
+        checkNulls(values.length, nulls);
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.DOUBLE;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls != null && nulls[row];
+    }
+
+    public double getDouble(int row) {
+        return values[row];
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return isNull(row) ? null : Double.valueOf(values[row]);
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    boolean[] nulls() {
+        return nulls;
+    }
+
+    @Override
+    DoubleColumn gather(int[] rows, int count) {
+        final double[] gathered = new double[count];
+        for (int i = 0; i < count; i++) {
+            final int row = rows[i];
+            gathered[i] = row < 0 ? 0 : values[row];
+        }
+        return new DoubleColumn(gathered, gatherNulls(nulls, rows, count));
+    }
+}
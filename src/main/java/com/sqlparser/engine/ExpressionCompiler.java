@@ -0,0 +1,225 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.expression.And;
+import com.sqlparser.model.expression.Arithmetic;
+import com.sqlparser.model.expression.Between;
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.model.expression.In;
+import com.sqlparser.model.expression.IsNull;
+import com.sqlparser.model.expression.Like;
+import com.sqlparser.model.expression.Literal;
+import com.sqlparser.model.expression.Not;
+import com.sqlparser.model.expression.Or;
+import com.sqlparser.service.OperatorType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns parsed expressions into vectorized predicates and values over the tables of a {@link Scope}.
+ * Conditions on a dictionary-encoded column and constants are evaluated on its dictionary.
+ */
+final class ExpressionCompiler {
+    private final Scope scope;
+    private final int visibleTables;
+
+    /**
+     * @param visibleTables number of leading tables of {@code scope} columns may belong to
+     */
+    ExpressionCompiler(Scope scope, int visibleTables) {
+        this.scope = scope;
+        this.visibleTables = visibleTables;
+    }
+
+    VectorPredicate predicate(Expression expression) {
+        if (expression instanceof And || expression instanceof Or) {
+            return junction(expression);
+        }
+        if (expression instanceof Not) {
+            return new VectorPredicate.Not(predicate(((Not) expression).getOperand()));
+        }
+        if (expression instanceof Comparison) {
+            final Comparison comparison = (Comparison) expression;
+            return comparison(value(comparison.getLeft()), comparison.getOperator(), value(comparison.getRight()));
+        }
+        if (expression instanceof Between) {
+            final Between between = (Between) expression;
+            final VectorPredicate range = new VectorPredicate.Junction(new VectorPredicate[]{
+                    comparison(value(between.getOperand()), OperatorType.GREATER_THAN_OR_EQUAL_TO, value(between.getLower())),
+                    comparison(value(between.getOperand()), OperatorType.LESS_THAN_OR_EQUAL_TO, value(between.getUpper()))
+            }, true);
+            return between.isNegated() ? new VectorPredicate.Not(range) : range;
+        }
+        if (expression instanceof Like) {
+            final Like like = (Like) expression;
+            final VectorPredicate matches = like(value(like.getOperand()), value(like.getPattern()));
+            return like.isNegated() ? new VectorPredicate.Not(matches) : matches;
+        }
+        if (expression instanceof IsNull) {
+            return new VectorPredicate.IsNull(value(((IsNull) expression).getOperand()), ((IsNull) expression).isNegated());
+        }
+        if (expression instanceof In) {
+            final VectorPredicate in = in((In) expression);
+            return ((In) expression).isNegated() ? new VectorPredicate.Not(in) : in;
+        }
+        throw new IllegalArgumentException("Not a condition: " + expression.getText());
+    }
+
+    VectorExpression value(Expression expression) {
+        if (expression instanceof ColumnRef) {
+            final Scope.Binding binding = scope.resolve(((ColumnRef) expression).getName(), visibleTables);
+            return new VectorExpression.ColumnValue(binding.table, scope.getColumn(binding));
+        }
+        if (expression instanceof Literal) {
+            return constant((Literal) expression);
+        }
+        if (expression instanceof Arithmetic) {
+            final Arithmetic arithmetic = (Arithmetic) expression;
+            return new VectorExpression.ArithmeticValue(value(arithmetic.getLeft()), arithmetic.getOperator(),
+                    value(arithmetic.getRight()));
+        }
+        throw new IllegalArgumentException("Not a value: " + expression.getText());
+    }
+
+    static VectorExpression.Constant constant(Literal literal) {
+        switch (literal.getType()) {
+            case NUMBER: {
+                final String text = literal.getText();
+                if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                    try {
+                        return VectorExpression.Constant.of(Long.parseLong(text));
+                    } catch (NumberFormatException exception) {
+                        // Beyond long range: falls through to a double.
+                    }
+                }
+                return VectorExpression.Constant.of(Double.parseDouble(text));
+            }
+            case STRING:
+                return VectorExpression.Constant.of(literal.getValue().replace("''", "'"));
+            case BOOLEAN:
+                return VectorExpression.Constant.of("TRUE".equalsIgnoreCase(literal.getText()) ? 1L : 0L);
+            default:
+                return VectorExpression.Constant.NULL;
+        }
+    }
+
+    /**
+     * A chain of ANDs, or of ORs, as one junction of its terms. Walked iteratively, as
+     * the chain is as long as the condition.
+     */
+    private VectorPredicate junction(Expression expression) {
+        final boolean conjunction = expression instanceof And;
+        final List<VectorPredicate> terms = new ArrayList<>();
+        final ArrayDeque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            final Expression term = pending.pop();
+            if (conjunction && term instanceof And) {
+                pending.push(((And) term).getRight());
+                pending.push(((And) term).getLeft());
+            } else if (!conjunction && term instanceof Or) {
+                pending.push(((Or) term).getRight());
+                pending.push(((Or) term).getLeft());
+            } else {
+                terms.add(predicate(term));
+            }
+        }
+        return new VectorPredicate.Junction(terms.toArray(new VectorPredicate[0]), conjunction);
+    }
+
+    VectorPredicate comparison(VectorExpression left, OperatorType operator, VectorExpression right) {
+        if (right instanceof VectorExpression.Constant) {
+            return constantComparison(left, operator, (VectorExpression.Constant) right);
+        }
+        if (left instanceof VectorExpression.Constant) {
+            return constantComparison(right, VectorPredicate.swap(operator), (VectorExpression.Constant) left);
+        }
+        return new VectorPredicate.Comparison(left, operator, right);
+    }
+
+    private static VectorPredicate constantComparison(VectorExpression operand, OperatorType operator,
+                                                      VectorExpression.Constant constant) {
+        final StringColumn column = dictionaryColumn(operand);
+        if (column != null && !constant.isNull() && constant.getType() == ColumnType.STRING) {
+            final String[] dictionary = column.dictionary();
+            final boolean[] matches = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                matches[code] = VectorPredicate.test(operator, dictionary[code].compareTo(constant.getString()));
+            }
+            return new VectorPredicate.DictionaryMatch(((VectorExpression.ColumnValue) operand).getTable(), column, matches);
+        }
+        return new VectorPredicate.ConstantComparison(operand, operator, constant);
+    }
+
+    private static VectorPredicate like(VectorExpression operand, VectorExpression pattern) {
+        final StringColumn column = dictionaryColumn(operand);
+        if (column != null && pattern instanceof VectorExpression.Constant
+                && pattern.getType() == ColumnType.STRING && !((VectorExpression.Constant) pattern).isNull()) {
+            final String[] dictionary = column.dictionary();
+            final boolean[] matches = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                matches[code] = VectorPredicate.like(dictionary[code], ((VectorExpression.Constant) pattern).getString());
+            }
+            return new VectorPredicate.DictionaryMatch(((VectorExpression.ColumnValue) operand).getTable(), column, matches);
+        }
+        return new VectorPredicate.Like(operand, pattern);
+    }
+
+    /**
+     * {@code IN} a list of constants is a set lookup; any other list is a disjunction of equalities.
+     */
+    private VectorPredicate in(In in) {
+        final VectorExpression operand = value(in.getOperand());
+        final List<Expression> values = in.getValues();
+        final List<VectorExpression> compiled = new ArrayList<>(values.size());
+        boolean longs = operand.getType() == ColumnType.LONG;
+        boolean strings = dictionaryColumn(operand) != null;
+        for (Expression value : values) {
+            final VectorExpression item = value(value);
+            final boolean constant = item instanceof VectorExpression.Constant && !((VectorExpression.Constant) item).isNull();
+            longs &= constant && item.getType() == ColumnType.LONG;
+            strings &= constant && item.getType() == ColumnType.STRING;
+            compiled.add(item);
+        }
+        if (longs) {
+            final long[] sorted = new long[compiled.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = ((VectorExpression.Constant) compiled.get(i)).getLong();
+            }
+            Arrays.sort(sorted);
+            return new VectorPredicate.LongIn(operand, sorted);
+        }
+        if (strings) {
+            final Set<String> members = new HashSet<>();
+            for (VectorExpression item : compiled) {
+                members.add(((VectorExpression.Constant) item).getString());
+            }
+            final StringColumn column = dictionaryColumn(operand);
+            final String[] dictionary = column.dictionary();
+            final boolean[] matches = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                matches[code] = members.contains(dictionary[code]);
+            }
+            return new VectorPredicate.DictionaryMatch(((VectorExpression.ColumnValue) operand).getTable(), column, matches);
+        }
+        final VectorPredicate[] equalities = new VectorPredicate[compiled.size()];
+        for (int i = 0; i < equalities.length; i++) {
+            equalities[i] = comparison(i == 0 ? operand : value(in.getOperand()), OperatorType.EQUAL, compiled.get(i));
+        }
+        return new VectorPredicate.Junction(equalities, false);
+    }
+
+    private static StringColumn dictionaryColumn(VectorExpression expression) {
+        if (expression instanceof VectorExpression.ColumnValue
+                && ((VectorExpression.ColumnValue) expression).getColumn() instanceof StringColumn) {
+            return (StringColumn) ((VectorExpression.ColumnValue) expression).getColumn();
+        }
+        return null;
+    }
+}
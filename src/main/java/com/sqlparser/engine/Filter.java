@@ -0,0 +1,31 @@
+package com.sqlparser.engine;
+
+/**
+ * Rows of its input for which a predicate is true.
+ */
+final class Filter implements Operator {
+    private final Operator input;
+    private final VectorPredicate predicate;
+    private final int[] selection = new int[Batch.SIZE];
+
+    Filter(Operator input, VectorPredicate predicate) {
+        this.input = input;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public Batch next() {
+        Batch batch;
+        while ((batch = input.next()) != null) {
+            final int count = predicate.select(batch, Batch.ALL, batch.size, selection, true);
+            if (count == batch.size) {
+                return batch;
+            }
+            if (count > 0) {
+                batch.retain(selection, count);
+                return batch;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,334 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.JoinType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Joins input rows with the table rows whose integer key equals theirs, looked up in a
+ * {@link LongHashIndex} of the table. A condition beyond the key equality is evaluated on
+ * the pairs found. NULL keys match nothing.
+ * <p>
+ * If the index would exceed the memory budget, both sides are first partitioned by key into
+ * files and joined one partition at a time, each partition indexed on its own. Partitions
+ * fit the budget as long as no key is much more frequent than the others.
+ */
+final class HashJoin extends JoinOperator {
+    private static final int NOT_STARTED = -2;
+    private static final int MAX_PARTITIONS = 256;
+
+    private final Operator input;
+    private final VectorExpression probeKey;
+    private final Column buildKey;
+    private final long memoryBudget;
+    private final Path spillDirectory;
+    private final int tableCount;
+    private final Vector probeValues;
+
+    private LongHashIndex index;
+    private Partitions partitions;
+    private boolean started;
+    private boolean probeDone;
+    private int[][] probeRows;
+    private long[] probeKeys;
+    private boolean[] probeNulls;
+    private int probeSize;
+    private int probePosition;
+    private int entry = NOT_STARTED;
+
+    /**
+     * @param probeKey      integer key of the input rows
+     * @param buildKey      integer key column of {@code table}
+     * @param condition     evaluated on the pairs of equal keys, {@code null} to join every such pair
+     * @param memoryBudget  bytes the index may take before the join spills to disk
+     * @param spillDirectory where partitions are written, {@code null} for the default temporary directory
+     */
+    HashJoin(Operator input, int[] inputTables, VectorExpression probeKey, int table, Column buildKey,
+             JoinType joinType, VectorPredicate condition, int tableCount, long memoryBudget, Path spillDirectory) {
+        super(inputTables, table, buildKey.size(), joinType, condition, tableCount);
+        if (probeKey.getType() != ColumnType.LONG || !isIntegral(buildKey)) {
+            throw new IllegalArgumentException("Hash join keys must be integers");
+        }
+        this.input = input;
+        this.probeKey = probeKey;
+        this.buildKey = buildKey;
+        this.memoryBudget = memoryBudget;
+        this.spillDirectory = spillDirectory;
+        this.tableCount = tableCount;
+        this.probeValues = probeKey.newVector();
+    }
+
+    /**
+     * Partitions the join spilled to, {@code 1} if it ran in memory. Known once the first batch is taken.
+     */
+    int getPartitionCount() {
+        return partitions == null ? 1 : partitions.count;
+    }
+
+    @Override
+    boolean fill() {
+        if (!started) {
+            started = true;
+            start();
+        }
+        while (!isFull()) {
+            if (probePosition == probeSize) {
+                if (probeDone || !nextProbeRows()) {
+                    probeDone = true;
+                    return addUnmatchedTableRows();
+                }
+                continue;
+            }
+            if (entry == NOT_STARTED) {
+                entry = probeNulls[probePosition] ? -1 : index.first(probeKeys[probePosition]);
+            }
+            while (entry >= 0 && !isFull()) {
+                addPair(probeRows, probePosition, index.row(entry));
+                entry = index.next(entry);
+            }
+            if (isFull()) {
+                return true;
+            }
+            addInputEnd(probeRows, probePosition);
+            probePosition++;
+            entry = NOT_STARTED;
+        }
+        return true;
+    }
+
+    /**
+     * Indexes the table, or partitions both sides if the index would not fit the budget.
+     */
+    private void start() {
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (!buildKey.isNull(row)) {
+                count++;
+            }
+        }
+        final long bytes = LongHashIndex.estimateBytes(count);
+        if (bytes <= memoryBudget) {
+            final long[] keys = new long[count];
+            final int[] rows = new int[count];
+            int entryCount = 0;
+            for (int row = 0; row < rowCount; row++) {
+                if (!buildKey.isNull(row)) {
+                    keys[entryCount] = key(buildKey, row);
+                    rows[entryCount++] = row;
+                }
+            }
+            index = new LongHashIndex(keys, rows, count);
+            return;
+        }
+        final long wanted = Math.min(MAX_PARTITIONS, (bytes + memoryBudget - 1) / Math.max(memoryBudget, 1));
+        // Twice the partitions strictly needed, as keys never spread perfectly evenly.
+        partitions = new Partitions(Math.min(MAX_PARTITIONS, Integer.highestOneBit((int) wanted * 2 - 1) * 2), tableCount);
+        try {
+            partitions.write();
+        } catch (IOException exception) {
+            partitions.delete();
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Loads the next rows to probe with: the next input batch, or the next rows of the spilled partitions.
+     */
+    private boolean nextProbeRows() {
+        if (partitions != null) {
+            try {
+                return partitions.read();
+            } catch (IOException exception) {
+                partitions.delete();
+                throw new UncheckedIOException(exception);
+            }
+        }
+        final Batch batch = input.next();
+        if (batch == null) {
+            return false;
+        }
+        probeKey.evaluate(batch, Batch.ALL, batch.size, probeValues);
+        probeRows = batch.rows;
+        probeKeys = probeValues.longs;
+        probeNulls = probeValues.nulls;
+        probeSize = batch.size;
+        probePosition = 0;
+        return true;
+    }
+
+    /**
+     * Both sides split by key into one pair of files per partition: table rows as key and row,
+     * input rows as NULL flag, key and one row per input table. Input rows with a NULL key go
+     * to the first partition, and only if the join preserves them. Files are deleted once read.
+     */
+    private final class Partitions {
+        private final int count;
+        private final Path[] buildFiles;
+        private final Path[] probeFiles;
+        private final int[] buildCounts;
+        private final long[] probeCounts;
+        private final int[][] rows;
+        private final long[] keys = new long[Batch.SIZE];
+        private final boolean[] nulls = new boolean[Batch.SIZE];
+        private int partition = -1;
+        private DataInputStream probeIn;
+        private long probeLeft;
+
+        private Partitions(int count, int tableCount) {
+            this.count = count;
+            this.buildFiles = new Path[count];
+            this.probeFiles = new Path[count];
+            this.buildCounts = new int[count];
+            this.probeCounts = new long[count];
+            this.rows = new int[tableCount][Batch.SIZE];
+        }
+
+        private int partition(long key) {
+            return (int) (LongHashIndex.mix(key) >>> 40) & count - 1;
+        }
+
+        private void write() throws IOException {
+            final DataOutputStream[] out = new DataOutputStream[count];
+            try {
+                for (int p = 0; p < count; p++) {
+                    buildFiles[p] = createFile();
+                    out[p] = open(buildFiles[p]);
+                }
+                for (int row = 0; row < rowCount; row++) {
+                    if (!buildKey.isNull(row)) {
+                        final long key = key(buildKey, row);
+                        final int p = partition(key);
+                        out[p].writeLong(key);
+                        out[p].writeInt(row);
+                        buildCounts[p]++;
+                    }
+                }
+                close(out);
+                for (int p = 0; p < count; p++) {
+                    probeFiles[p] = createFile();
+                    out[p] = open(probeFiles[p]);
+                }
+                Batch batch;
+                while ((batch = input.next()) != null) {
+                    probeKey.evaluate(batch, Batch.ALL, batch.size, probeValues);
+                    for (int i = 0; i < batch.size; i++) {
+                        final boolean isNull = probeValues.nulls[i];
+                        if (isNull && !preservesInput()) {
+                            continue;
+                        }
+                        final int p = isNull ? 0 : partition(probeValues.longs[i]);
+                        out[p].writeBoolean(isNull);
+                        out[p].writeLong(probeValues.longs[i]);
+                        for (int inputTable : inputTables) {
+                            out[p].writeInt(batch.rows[inputTable][i]);
+                        }
+                        probeCounts[p]++;
+                    }
+                }
+            } finally {
+                close(out);
+            }
+        }
+
+        /**
+         * Reads the next input rows of the current partition, moving on to the next partition
+         * and indexing its table rows once the current one is done.
+         */
+        private boolean read() throws IOException {
+            while (probeLeft == 0) {
+                if (probeIn != null) {
+                    probeIn.close();
+                    probeIn = null;
+                    Files.delete(probeFiles[partition]);
+                }
+                // The index of the previous partition can go before the next one is read.
+                index = null;
+                if (partition + 1 == count) {
+                    return false;
+                }
+                partition++;
+                index = readIndex();
+                probeIn = new DataInputStream(new BufferedInputStream(Files.newInputStream(probeFiles[partition])));
+                probeLeft = probeCounts[partition];
+            }
+            final int size = (int) Math.min(Batch.SIZE, probeLeft);
+            for (int i = 0; i < size; i++) {
+                nulls[i] = probeIn.readBoolean();
+                keys[i] = probeIn.readLong();
+                for (int inputTable : inputTables) {
+                    rows[inputTable][i] = probeIn.readInt();
+                }
+            }
+            probeLeft -= size;
+            probeRows = rows;
+            probeKeys = keys;
+            probeNulls = nulls;
+            probeSize = size;
+            probePosition = 0;
+            return true;
+        }
+
+        private LongHashIndex readIndex() throws IOException {
+            final int size = buildCounts[partition];
+            final long[] buildKeys = new long[size];
+            final int[] buildRows = new int[size];
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(buildFiles[partition])))) {
+                for (int i = 0; i < size; i++) {
+                    buildKeys[i] = in.readLong();
+                    buildRows[i] = in.readInt();
+                }
+            }
+            Files.delete(buildFiles[partition]);
+            return new LongHashIndex(buildKeys, buildRows, size);
+        }
+
+        private Path createFile() throws IOException {
+            return spillDirectory == null ? Files.createTempFile("join", ".spill")
+                    : Files.createTempFile(spillDirectory, "join", ".spill");
+        }
+
+        private DataOutputStream open(Path file) throws IOException {
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+
+        private void close(DataOutputStream[] out) throws IOException {
+            for (int p = 0; p < count; p++) {
+                if (out[p] != null) {
+                    out[p].close();
+                    out[p] = null;
+                }
+            }
+        }
+
+        /**
+         * Deletes whatever files are left, after a failure.
+         */
+        private void delete() {
+            try {
+                if (probeIn != null) {
+                    probeIn.close();
+                }
+            } catch (IOException exception) {
+                // Deleting matters more.
+            }
+            for (int p = 0; p < count; p++) {
+                for (Path file : new Path[]{buildFiles[p], probeFiles[p]}) {
+                    try {
+                        if (file != null) {
+                            Files.deleteIfExists(file);
+                        }
+                    } catch (IOException exception) {
+                        // Best effort: the original failure is the one to report.
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sqlparser.engine;
+
+public final class IntColumn extends Column {
+    private final int[] values;
+    private final boolean[] nulls;
+
+    public IntColumn(int[] values) {
+        this(values, null);
+    }
+
+    /**
+     * @param nulls {@code true} for the rows that are NULL, or {@code null} if there are none
+     */
+    public IntColumn(int[] values, boolean[] nulls) {
+        checkNulls(values.length, nulls);
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.INT;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls != null && nulls[row];
+    }
+
+    public int getInt(int row) {
+        return values[row];
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return isNull(row) ? null : Integer.valueOf(values[row]);
+    }
+
+    int[] values() {
+        return values;
+    }
+
+    boolean[] nulls() {
+        return nulls;
+    }
+
+    @Override
+    IntColumn gather(int[] rows, int count) {
+        final int[] gathered = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int row = rows[i];
+            gathered[i] = row < 0 ? 0 : values[row];
+        }
+        return new IntColumn(gathered, gatherNulls(nulls, rows, count));
+    }
+}
@@ -0,0 +1,234 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.JoinType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Join of the rows of an input with the rows of a table, with the NULL extension of every
+ * {@link JoinType}. Subclasses decide which pairs to try; this class evaluates the condition
+ * on them a batch at a time and emits the joined rows.
+ * <p>
+ * A subclass fills a batch of candidates in order: the pairs of an input row, then an
+ * end-of-row marker, after which the row is NULL extended if none of its pairs matched
+ * and the join preserves the input; and table rows no later pair can match, which are NULL
+ * extended if unmatched and the join preserves the table. Table rows are only marked once
+ * the input is exhausted, so NULL-extended table rows come last.
+ */
+abstract class JoinOperator implements Operator {
+    private static final byte PAIR = 0;
+    private static final byte INPUT_END = 1;
+    private static final byte TABLE_ROW = 2;
+
+    final int[] inputTables;
+    final int table;
+    final int rowCount;
+    final JoinType joinType;
+    private final VectorPredicate condition;
+    private final Batch candidates;
+    private final byte[] kinds = new byte[Batch.SIZE];
+    private final int[] pairs = new int[Batch.SIZE];
+    private final int[] selection = new int[Batch.SIZE];
+    private final Batch output;
+    private final BitSet matchedRows;
+    private boolean matched;
+    private int unmatchedRow;
+
+    /**
+     * @param inputTables the tables whose rows the input produces
+     * @param table       the joined table
+     * @param condition   evaluated on every pair, {@code null} to accept every pair
+     */
+    JoinOperator(int[] inputTables, int table, int rowCount, JoinType joinType, VectorPredicate condition,
+                 int tableCount) {
+        this.inputTables = inputTables;
+        this.table = table;
+        this.rowCount = rowCount;
+        this.joinType = joinType;
+        this.condition = condition;
+        this.candidates = new Batch(tableCount);
+        this.output = new Batch(tableCount);
+        this.matchedRows = preservesTable() ? new BitSet(rowCount) : null;
+    }
+
+    /**
+     * Adds candidates until {@link #isFull()} or the input is exhausted.
+     *
+     * @return {@code false} once there will be no more candidates
+     */
+    abstract boolean fill();
+
+    static boolean isIntegral(Column column) {
+        return column.getType() == ColumnType.INT || column.getType() == ColumnType.LONG;
+    }
+
+    /**
+     * The value of an {@link #isIntegral integral} column at a row that is not NULL.
+     */
+    static long key(Column column, int row) {
+        return column.getType() == ColumnType.INT ? ((IntColumn) column).getInt(row) : ((LongColumn) column).getLong(row);
+    }
+
+    final boolean preservesInput() {
+        return joinType == JoinType.LEFT || joinType == JoinType.FULL_OUTER;
+    }
+
+    final boolean preservesTable() {
+        return joinType == JoinType.RIGHT || joinType == JoinType.FULL_OUTER;
+    }
+
+    final boolean isFull() {
+        return candidates.size == Batch.SIZE;
+    }
+
+    /**
+     * Pairs the input row at {@code position} of {@code inputRows}, laid out as {@link Batch#rows}, with a table row.
+     */
+    final void addPair(int[][] inputRows, int position, int tableRow) {
+        add(PAIR, inputRows, position, tableRow);
+    }
+
+    /**
+     * Pairs the input row at {@code position} with the {@code count} table rows from {@code firstTableRow} on.
+     */
+    final void addPairs(int[][] inputRows, int position, int firstTableRow, int count) {
+        final int start = candidates.size;
+        for (int inputTable : inputTables) {
+            Arrays.fill(candidates.rows[inputTable], start, start + count, inputRows[inputTable][position]);
+        }
+        final int[] tableRows = candidates.rows[table];
+        for (int i = 0; i < count; i++) {
+            tableRows[start + i] = firstTableRow + i;
+        }
+        Arrays.fill(kinds, start, start + count, PAIR);
+        candidates.size += count;
+    }
+
+    /**
+     * Room left for candidates.
+     */
+    final int capacity() {
+        return Batch.SIZE - candidates.size;
+    }
+
+    /**
+     * Ends the pairs of the input row at {@code position}. Call even if the row had no pairs.
+     */
+    final void addInputEnd(int[][] inputRows, int position) {
+        if (preservesInput()) {
+            add(INPUT_END, inputRows, position, -1);
+        }
+    }
+
+    /**
+     * Marks {@code tableRow} as out of reach of further pairs; a no-op unless the join preserves the table.
+     */
+    private void addTableRow(int tableRow) {
+        if (preservesTable()) {
+            add(TABLE_ROW, null, 0, tableRow);
+        }
+    }
+
+    /**
+     * {@code true} if a pair emitted so far matched {@code tableRow}. Pairs still among the
+     * candidates are not counted.
+     */
+    private boolean isMatched(int tableRow) {
+        return matchedRows != null && matchedRows.get(tableRow);
+    }
+
+    /**
+     * Once every input row has been paired, marks every table row as out of reach, from where
+     * the last call left off.
+     *
+     * @return what {@link #fill()} returns: {@code false} once every table row is marked
+     */
+    final boolean addUnmatchedTableRows() {
+        if (!preservesTable()) {
+            return false;
+        }
+        while (unmatchedRow < rowCount && !isFull()) {
+            if (!isMatched(unmatchedRow)) {
+                addTableRow(unmatchedRow);
+            }
+            unmatchedRow++;
+        }
+        return unmatchedRow < rowCount;
+    }
+
+    private void add(byte kind, int[][] inputRows, int position, int tableRow) {
+        final int index = candidates.size++;
+        kinds[index] = kind;
+        for (int inputTable : inputTables) {
+            candidates.rows[inputTable][index] = inputRows == null ? -1 : inputRows[inputTable][position];
+        }
+        candidates.rows[table][index] = tableRow;
+    }
+
+    @Override
+    public final Batch next() {
+        while (true) {
+            candidates.size = 0;
+            final boolean more = fill();
+            final int count = candidates.size;
+            if (count == 0) {
+                if (!more) {
+                    return null;
+                }
+                continue;
+            }
+            int pairCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (kinds[i] == PAIR) {
+                    pairs[pairCount++] = i;
+                }
+            }
+            final int[] accepted = condition == null || pairCount == 0 ? pairs : selection;
+            final int acceptedCount = condition == null || pairCount == 0 ? pairCount
+                    : condition.select(candidates, pairs, pairCount, selection, true);
+            output.size = 0;
+            final int[] tableRows = candidates.rows[table];
+            int next = 0;
+            for (int i = 0; i < count; i++) {
+                switch (kinds[i]) {
+                    case PAIR:
+                        if (next < acceptedCount && accepted[next] == i) {
+                            next++;
+                            matched = true;
+                            if (matchedRows != null) {
+                                matchedRows.set(tableRows[i]);
+                            }
+                            emit(i);
+                        }
+                        break;
+                    case INPUT_END:
+                        if (!matched) {
+                            emit(i);
+                        }
+                        matched = false;
+                        break;
+                    default:
+                        if (!matchedRows.get(tableRows[i])) {
+                            emit(i);
+                        }
+                        break;
+                }
+            }
+            if (output.size > 0) {
+                return output;
+            }
+            if (!more) {
+                return null;
+            }
+        }
+    }
+
+    private void emit(int candidate) {
+        final int index = output.size++;
+        for (int inputTable : inputTables) {
+            output.rows[inputTable][index] = candidates.rows[inputTable][candidate];
+        }
+        output.rows[table][index] = candidates.rows[table][candidate];
+    }
+}
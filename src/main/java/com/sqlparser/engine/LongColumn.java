@@ -0,0 +1,61 @@
+package com.sqlparser.engine;
+
+public final class LongColumn extends Column {
+    private final long[] values;
+    private final boolean[] nulls;
+
+    public LongColumn(long[] values) {
+        this(values, null);
+    }
+
+    /**
+     * @param nulls {@code true} for the rows that are NULL, or {@code null} if there are none
+     */
+    public LongColumn(long[] values, boolean[] nulls) {
+        checkNulls(values.length, nulls);
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.LONG;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls != null && nulls[row];
+    }
+
+    public long getLong(int row) {
+        return values[row];
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return isNull(row) ? null : Long.valueOf(values[row]);
+    }
+
+    long[] values() {
+        return values;
+    }
+
+    boolean[] nulls() {
+        return nulls;
+    }
+
+    @Override
+    LongColumn gather(int[] rows, int count) {
+        final long[] gathered = new long[count];
+        for (int i = 0; i < count; i++) {
+            final int row = rows[i];
+            gathered[i] = row < 0 ? 0 : values[row];
+        }
+        return new LongColumn(gathered, gatherNulls(nulls, rows, count));
+    }
+}
@@ -0,0 +1,88 @@
+package com.sqlparser.engine;
+
+import java.util.Arrays;
+
+/**
+ * Rows by an integer key, in open addressing over primitive arrays: no boxing and no
+ * object per row. Each distinct key owns a slot holding its chain of rows, in the order added.
+ */
+final class LongHashIndex {
+    private static final int END = -1;
+
+    private final int mask;
+    private final long[] slotKeys;
+    private final int[] slotHeads;
+    private final int[] rows;
+    private final int[] next;
+
+    /**
+     * Indexes the {@code count} {@code rows}, under {@code keys} at the same positions.
+     */
+    LongHashIndex(long[] keys, int[] rows, int count) {
+        final int capacity = capacity(count);
+        this.mask = capacity - 1;
+        this.slotKeys = new long[capacity];
+        this.slotHeads = new int[capacity];
+        this.rows = Arrays.copyOf(rows, count);
+        this.next = new int[count];
+        Arrays.fill(slotHeads, END);
+        // Entries are pushed onto the front of their chain: added backwards, chains run forwards.
+        for (int entry = count - 1; entry >= 0; entry--) {
+            final int slot = slot(keys[entry]);
+            slotKeys[slot] = keys[entry];
+            next[entry] = slotHeads[slot];
+            slotHeads[slot] = entry;
+        }
+    }
+
+    /**
+     * Bytes an index of {@code count} rows takes.
+     */
+    static long estimateBytes(int count) {
+        return (long) capacity(count) * (Long.BYTES + Integer.BYTES) + (long) count * 2 * Integer.BYTES;
+    }
+
+    /**
+     * At most half full, so probes stay short.
+     */
+    private static int capacity(int count) {
+        return Integer.highestOneBit(Math.max(count, 1) * 2 - 1) * 2;
+    }
+
+    /**
+     * Spreads the bits of {@code key}, as keys are often consecutive.
+     */
+    static long mix(long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return mixed ^ mixed >>> 32;
+    }
+
+    /**
+     * The slot of {@code key}, or the empty slot it would take.
+     */
+    private int slot(long key) {
+        int slot = (int) mix(key) & mask;
+        while (slotHeads[slot] != END && slotKeys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * @return the first entry of {@code key}, or a negative number if there is none
+     */
+    int first(long key) {
+        return slotHeads[slot(key)];
+    }
+
+    /**
+     * @return the entry after {@code entry} with the same key, or a negative number
+     */
+    int next(int entry) {
+        return next[entry];
+    }
+
+    int row(int entry) {
+        return rows[entry];
+    }
+}
@@ -0,0 +1,125 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.JoinType;
+
+/**
+ * Joins an input sorted by an integer key with a table sorted by an integer key column, in one
+ * pass over both: each input row is paired with the run of table rows of its key, found by
+ * binary search from the previous run. Needs no index, and keeps the order of the input.
+ * Input rows with a NULL key match nothing; the table key column has no NULLs.
+ */
+final class MergeJoin extends JoinOperator {
+    private static final int NOT_STARTED = -1;
+
+    private final Operator input;
+    private final VectorExpression probeKey;
+    private final Column buildKey;
+    private final Vector probeValues;
+
+    private Batch batch;
+    private int position;
+    private boolean inputDone;
+    private boolean hasRun;
+    private long runKey;
+    private int runStart;
+    private int runEnd;
+    private int pairRow = NOT_STARTED;
+
+    /**
+     * @param probeKey  integer key of the input rows, ascending
+     * @param buildKey  integer key column of {@code table}, see {@link #isSorted(Column)}
+     * @param condition evaluated on the pairs of equal keys, {@code null} to join every such pair
+     */
+    MergeJoin(Operator input, int[] inputTables, VectorExpression probeKey, int table, Column buildKey,
+              JoinType joinType, VectorPredicate condition, int tableCount) {
+        super(inputTables, table, buildKey.size(), joinType, condition, tableCount);
+        if (probeKey.getType() != ColumnType.LONG || !isIntegral(buildKey)) {
+            throw new IllegalArgumentException("Merge join keys must be integers");
+        }
+        this.input = input;
+        this.probeKey = probeKey;
+        this.buildKey = buildKey;
+        this.probeValues = probeKey.newVector();
+    }
+
+    /**
+     * {@code true} if {@code column} is an integer column without NULLs in ascending order.
+     */
+    static boolean isSorted(Column column) {
+        if (!isIntegral(column)) {
+            return false;
+        }
+        for (int row = 0; row < column.size(); row++) {
+            if (column.isNull(row) || row > 0 && key(column, row - 1) > key(column, row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws IllegalStateException if the input is not sorted by its key
+     */
+    @Override
+    boolean fill() {
+        while (true) {
+            if (inputDone) {
+                return addUnmatchedTableRows();
+            }
+            if (isFull()) {
+                return true;
+            }
+            if (batch == null || position == batch.size) {
+                batch = input.next();
+                position = 0;
+                inputDone = batch == null;
+                if (batch != null) {
+                    probeKey.evaluate(batch, Batch.ALL, batch.size, probeValues);
+                }
+                continue;
+            }
+            if (probeValues.nulls[position]) {
+                addInputEnd(batch.rows, position++);
+                continue;
+            }
+            if (pairRow == NOT_STARTED) {
+                final long key = probeValues.longs[position];
+                if (!hasRun || key != runKey) {
+                    if (hasRun && key < runKey) {
+                        throw new IllegalStateException("Merge join input is not sorted by its key");
+                    }
+                    runStart = search(key, runEnd);
+                    runEnd = key == Long.MAX_VALUE ? rowCount : search(key + 1, runStart);
+                    runKey = key;
+                    hasRun = true;
+                }
+                pairRow = runStart;
+            }
+            final int pairs = Math.min(capacity(), runEnd - pairRow);
+            addPairs(batch.rows, position, pairRow, pairs);
+            pairRow += pairs;
+            if (pairRow < runEnd || isFull()) {
+                return true;
+            }
+            addInputEnd(batch.rows, position++);
+            pairRow = NOT_STARTED;
+        }
+    }
+
+    /**
+     * First table row from {@code from} on with a key of at least {@code key}.
+     */
+    private int search(long key, int from) {
+        int low = from;
+        int high = rowCount;
+        while (low < high) {
+            final int middle = low + high >>> 1;
+            if (key(buildKey, middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
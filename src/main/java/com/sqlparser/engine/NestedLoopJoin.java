@@ -0,0 +1,55 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.JoinType;
+
+/**
+ * Joins each input row with every row of a table, evaluating the condition over batches of
+ * candidate pairs. Works for any condition, and without one as a cross join.
+ */
+final class NestedLoopJoin extends JoinOperator {
+    private final Operator input;
+
+    private Batch batch;
+    private int position;
+    private int row;
+    private boolean inputDone;
+
+    /**
+     * @param inputTables the tables whose rows {@code input} produces
+     * @param table       the joined table
+     * @param condition   {@code null} to join every pair
+     */
+    NestedLoopJoin(Operator input, int[] inputTables, int table, int rowCount, JoinType joinType,
+                   VectorPredicate condition, int tableCount) {
+        super(inputTables, table, rowCount, joinType, condition, tableCount);
+        this.input = input;
+    }
+
+    /**
+     * Pairs input rows, from the current one on, with table rows, from the current one on.
+     */
+    @Override
+    boolean fill() {
+        while (!isFull()) {
+            if (inputDone) {
+                return addUnmatchedTableRows();
+            }
+            if (batch == null || position == batch.size) {
+                batch = input.next();
+                position = 0;
+                inputDone = batch == null;
+                continue;
+            }
+            if (row < rowCount) {
+                final int pairs = Math.min(capacity(), rowCount - row);
+                addPairs(batch.rows, position, row, pairs);
+                row += pairs;
+                continue;
+            }
+            addInputEnd(batch.rows, position);
+            row = 0;
+            position++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sqlparser.engine;
+
+/**
+ * Pull-based operator. The returned batch is owned by the operator and only valid until the next call.
+ */
+interface Operator {
+    /**
+     * Next non-empty batch, or {@code null} once the input is exhausted.
+     */
+    Batch next();
+}
@@ -0,0 +1,274 @@
+package com.sqlparser.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Defines a {@link RowPredicate} class per compiled condition. Its handle sits in a
+ * {@code static final} field, which the JIT treats as a constant, so the handle tree is inlined
+ * into {@code test} like a method written for the condition; a handle in an instance field is
+ * invoked through the field on every row instead.
+ * <p>
+ * The class is written by hand, as it is three straight-line methods:
+ * <pre>
+ * final class CompiledPredicate$N implements RowPredicate {
+ *     private static final MethodHandle HANDLE = PredicateClass.handle(N);
+ *     public boolean test(int row) { return (boolean) HANDLE.invokeExact(row); }
+ * }
+ * </pre>
+ * The class is hidden, so it is unloaded with its last instance, and with it the column arrays
+ * the handle is bound to. Hidden classes need Java 15; older runtimes get a {@link FieldPredicate}
+ * instead, as an ordinary class would never be unloaded and would keep every compiled table alive.
+ */
+final class PredicateClass {
+    private static final String PACKAGE = "com/sqlparser/engine/";
+    private static final String HANDLE_TYPE = "java/lang/invoke/MethodHandle";
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    private static final int JAVA_11 = 55;
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ILOAD_1 = 0x1b;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int LDC_W = 0x13;
+
+    // Constant pool indexes of the class written by classFile().
+    private static final int THIS_CLASS = 2;
+    private static final int OBJECT_CLASS = 4;
+    private static final int ROW_PREDICATE_CLASS = 6;
+    private static final int HANDLE_NAME = 7;
+    private static final int HANDLE_DESCRIPTOR = 8;
+    private static final int INIT_NAME = 9;
+    private static final int VOID_DESCRIPTOR = 10;
+    private static final int CODE = 11;
+    private static final int OBJECT_INIT = 13;
+    private static final int TEST_NAME = 14;
+    private static final int TEST_DESCRIPTOR = 15;
+    private static final int HANDLE_FIELD = 17;
+    private static final int INVOKE_EXACT = 22;
+    private static final int CLINIT_NAME = 23;
+    private static final int HANDLE_METHOD = 29;
+    private static final int ID = 30;
+    private static final int CONSTANT_POOL_COUNT = 31;
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+    private static final Map<Integer, MethodHandle> PENDING = new ConcurrentHashMap<>();
+    private static final Method DEFINE_HIDDEN_CLASS;
+    private static final Object NO_OPTIONS;
+
+    static {
+        Method defineHiddenClass = null;
+        Object noOptions = null;
+        try {
+            final Class<?> option = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            noOptions = Array.newInstance(option, 0);
+            defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class,
+                    boolean.class, noOptions.getClass());
+        } catch (ReflectiveOperationException exception) {
+            // Before Java 15: predicates keep their handle in an instance field.
+        }
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        NO_OPTIONS = noOptions;
+    }
+
+    private PredicateClass() {
+    }
+
+    /**
+     * @param handle {@code (int)boolean}
+     */
+    static RowPredicate define(MethodHandle handle) {
+        if (DEFINE_HIDDEN_CLASS == null) {
+            return new FieldPredicate(handle);
+        }
+        final int id = IDS.incrementAndGet();
+        PENDING.put(id, handle);
+        try {
+            final byte[] classFile = classFile(PACKAGE + "CompiledPredicate$" + id, id);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final Class<?> type = ((MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, classFile, true,
+                    NO_OPTIONS)).lookupClass();
+            return (RowPredicate) type.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException exception) {
+            throw new IllegalStateException("Cannot define a predicate class", exception.getCause());
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Cannot define a predicate class", exception);
+        } finally {
+            PENDING.remove(id);
+        }
+    }
+
+    /**
+     * Hands the handle of predicate class {@code id} to its static initializer.
+     */
+    static MethodHandle handle(int id) {
+        final MethodHandle handle = PENDING.remove(id);
+        if (handle == null) {
+            throw new IllegalStateException("No handle for predicate class " + id);
+        }
+        return handle;
+    }
+
+    private static byte[] classFile(String name, int id) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(CLASS_FILE_MAGIC);
+            out.writeShort(0);
+            out.writeShort(JAVA_11);
+
+            out.writeShort(CONSTANT_POOL_COUNT);
+            utf8(out, name);                                          // 1
+            reference(out, CONSTANT_CLASS, 1);                        // 2 THIS_CLASS
+            utf8(out, "java/lang/Object");                            // 3
+            reference(out, CONSTANT_CLASS, 3);                        // 4 OBJECT_CLASS
+            utf8(out, PACKAGE + "RowPredicate");                      // 5
+            reference(out, CONSTANT_CLASS, 5);                        // 6 ROW_PREDICATE_CLASS
+            utf8(out, "HANDLE");                                      // 7 HANDLE_NAME
+            utf8(out, "L" + HANDLE_TYPE + ";");                       // 8 HANDLE_DESCRIPTOR
+            utf8(out, "<init>");                                      // 9 INIT_NAME
+            utf8(out, "()V");                                         // 10 VOID_DESCRIPTOR
+            utf8(out, "Code");                                        // 11 CODE
+            pair(out, CONSTANT_NAME_AND_TYPE, INIT_NAME, VOID_DESCRIPTOR);           // 12
+            pair(out, CONSTANT_METHODREF, OBJECT_CLASS, 12);                         // 13 OBJECT_INIT
+            utf8(out, "test");                                        // 14 TEST_NAME
+            utf8(out, "(I)Z");                                        // 15 TEST_DESCRIPTOR
+            pair(out, CONSTANT_NAME_AND_TYPE, HANDLE_NAME, HANDLE_DESCRIPTOR);       // 16
+            pair(out, CONSTANT_FIELDREF, THIS_CLASS, 16);                            // 17 HANDLE_FIELD
+            utf8(out, HANDLE_TYPE);                                   // 18
+            reference(out, CONSTANT_CLASS, 18);                       // 19
+            utf8(out, "invokeExact");                                 // 20
+            pair(out, CONSTANT_NAME_AND_TYPE, 20, TEST_DESCRIPTOR);                  // 21
+            pair(out, CONSTANT_METHODREF, 19, 21);                                   // 22 INVOKE_EXACT
+            utf8(out, "<clinit>");                                    // 23 CLINIT_NAME
+            utf8(out, PACKAGE + "PredicateClass");                    // 24
+            reference(out, CONSTANT_CLASS, 24);                       // 25
+            utf8(out, "handle");                                      // 26
+            utf8(out, "(I)L" + HANDLE_TYPE + ";");                    // 27
+            pair(out, CONSTANT_NAME_AND_TYPE, 26, 27);                               // 28
+            pair(out, CONSTANT_METHODREF, 25, 28);                                   // 29 HANDLE_METHOD
+            out.writeByte(CONSTANT_INTEGER);                          // 30 ID
+            out.writeInt(id);
+
+            out.writeShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(THIS_CLASS);
+            out.writeShort(OBJECT_CLASS);
+            out.writeShort(1);
+            out.writeShort(ROW_PREDICATE_CLASS);
+
+            out.writeShort(1);
+            out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+            out.writeShort(HANDLE_NAME);
+            out.writeShort(HANDLE_DESCRIPTOR);
+            out.writeShort(0);
+
+            out.writeShort(3);
+            method(out, ACC_PUBLIC, INIT_NAME, VOID_DESCRIPTOR, 1, 1,
+                    ALOAD_0,
+                    INVOKESPECIAL, OBJECT_INIT >> 8, OBJECT_INIT & 0xff,
+                    RETURN);
+            method(out, ACC_PUBLIC | ACC_FINAL, TEST_NAME, TEST_DESCRIPTOR, 2, 2,
+                    GETSTATIC, HANDLE_FIELD >> 8, HANDLE_FIELD & 0xff,
+                    ILOAD_1,
+                    INVOKEVIRTUAL, INVOKE_EXACT >> 8, INVOKE_EXACT & 0xff,
+                    IRETURN);
+            method(out, ACC_STATIC, CLINIT_NAME, VOID_DESCRIPTOR, 1, 0,
+                    LDC_W, ID >> 8, ID & 0xff,
+                    INVOKESTATIC, HANDLE_METHOD >> 8, HANDLE_METHOD & 0xff,
+                    PUTSTATIC, HANDLE_FIELD >> 8, HANDLE_FIELD & 0xff,
+                    RETURN);
+
+            out.writeShort(0);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void utf8(DataOutputStream out, String value) throws IOException {
+        out.writeByte(CONSTANT_UTF8);
+        out.writeUTF(value);
+    }
+
+    private static void reference(DataOutputStream out, int tag, int index) throws IOException {
+        out.writeByte(tag);
+        out.writeShort(index);
+    }
+
+    private static void pair(DataOutputStream out, int tag, int first, int second) throws IOException {
+        out.writeByte(tag);
+        out.writeShort(first);
+        out.writeShort(second);
+    }
+
+    /**
+     * A method of straight-line code, which needs no stack map frames.
+     */
+    private static void method(DataOutputStream out, int access, int name, int descriptor, int maxStack,
+                               int maxLocals, int... code) throws IOException {
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(CODE);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        for (int b : code) {
+            out.writeByte(b);
+        }
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    /**
+     * The handle in an instance field: read on every row and not inlined as a constant, but
+     * unloaded with the predicate.
+     */
+    static final class FieldPredicate implements RowPredicate {
+        private final MethodHandle handle;
+
+        FieldPredicate(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public boolean test(int row) {
+            try {
+                return (boolean) handle.invokeExact(row);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                // Compiled handles throw nothing checked.
+                throw new IllegalStateException(throwable);
+            }
+        }
+    }
+}
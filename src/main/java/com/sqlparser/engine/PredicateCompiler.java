@@ -0,0 +1,814 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.TableRef;
+import com.sqlparser.model.expression.And;
+import com.sqlparser.model.expression.Arithmetic;
+import com.sqlparser.model.expression.ArithmeticOperator;
+import com.sqlparser.model.expression.Between;
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.model.expression.In;
+import com.sqlparser.model.expression.IsNull;
+import com.sqlparser.model.expression.Like;
+import com.sqlparser.model.expression.Literal;
+import com.sqlparser.model.expression.Not;
+import com.sqlparser.model.expression.Or;
+import com.sqlparser.service.OperatorType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles WHERE conditions on one table into {@link RowPredicate}s that test a row at a time.
+ * A condition becomes a tree of {@link MethodHandle} combinators over the column arrays, held
+ * as a constant by a {@link RowPredicate} class defined for it at runtime (on Java 15 and later),
+ * which the JIT compiles like a method written for that condition, without walking the expression.
+ * <p>
+ * Constant subexpressions are folded. Conditions on a dictionary-encoded column and constants
+ * are evaluated once per distinct value. The terms of each AND and OR are ordered so that cheap
+ * terms likely to decide the row run first, by how often each is true and false on a sample of
+ * the table. NULLs follow SQL, as in {@link QueryEngine}.
+ */
+public final class PredicateCompiler {
+    static final RowPredicate ALWAYS = row -> true;
+    static final RowPredicate NEVER = row -> false;
+
+    private static final int SAMPLE_SIZE = 1024;
+    private static final double LIKE_COST = 8;
+    // Keeps a term that never decides the row from dividing by zero: it is simply ordered last.
+    private static final double MIN_PROBABILITY = 1e-6;
+
+    private static final MethodHandle TRUE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, int.class);
+    private static final MethodHandle FALSE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, int.class);
+    private static final MethodHandle NOT;
+    private static final MethodHandle STRING_VALUE;
+    private static final MethodHandle IS_NULL_CODE;
+    private static final MethodHandle DICTIONARY_MATCH;
+    private static final MethodHandle CONTAINS;
+    private static final MethodHandle LIKE;
+    private static final MethodHandle LONG_COMPARE;
+    private static final MethodHandle DOUBLE_COMPARE;
+    private static final MethodHandle STRING_COMPARE;
+    private static final MethodHandle LONG_TO_STRING;
+    private static final MethodHandle DOUBLE_TO_STRING;
+    private static final MethodHandle CONCAT;
+    private static final MethodHandle IS_ZERO;
+    private static final Map<OperatorType, MethodHandle> SIGN_TESTS = new EnumMap<>(OperatorType.class);
+    private static final Map<ArithmeticOperator, MethodHandle> LONG_OPERATIONS = new EnumMap<>(ArithmeticOperator.class);
+    private static final Map<ArithmeticOperator, MethodHandle> DOUBLE_OPERATIONS = new EnumMap<>(ArithmeticOperator.class);
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final Class<?> self = PredicateCompiler.class;
+            NOT = lookup.findStatic(self, "not", MethodType.methodType(boolean.class, boolean.class));
+            STRING_VALUE = lookup.findStatic(self, "stringValue",
+                    MethodType.methodType(String.class, int[].class, String[].class, int.class));
+            IS_NULL_CODE = lookup.findStatic(self, "isNullCode", MethodType.methodType(boolean.class, int[].class, int.class));
+            DICTIONARY_MATCH = lookup.findStatic(self, "dictionaryMatch",
+                    MethodType.methodType(boolean.class, int[].class, boolean[].class, int.class));
+            CONTAINS = lookup.findStatic(self, "contains", MethodType.methodType(boolean.class, long[].class, long.class));
+            LIKE = lookup.findStatic(VectorPredicate.class, "like",
+                    MethodType.methodType(boolean.class, String.class, String.class));
+            LONG_COMPARE = lookup.findStatic(Long.class, "compare", MethodType.methodType(int.class, long.class, long.class));
+            DOUBLE_COMPARE = lookup.findStatic(Double.class, "compare",
+                    MethodType.methodType(int.class, double.class, double.class));
+            STRING_COMPARE = lookup.findVirtual(String.class, "compareTo", MethodType.methodType(int.class, String.class));
+            LONG_TO_STRING = lookup.findStatic(Long.class, "toString", MethodType.methodType(String.class, long.class));
+            DOUBLE_TO_STRING = lookup.findStatic(Double.class, "toString", MethodType.methodType(String.class, double.class));
+            CONCAT = lookup.findVirtual(String.class, "concat", MethodType.methodType(String.class, String.class));
+            IS_ZERO = lookup.findStatic(self, "isZero", MethodType.methodType(boolean.class, double.class));
+            final MethodType signTest = MethodType.methodType(boolean.class, int.class);
+            SIGN_TESTS.put(OperatorType.LESS_THAN, lookup.findStatic(self, "negative", signTest));
+            SIGN_TESTS.put(OperatorType.LESS_THAN_OR_EQUAL_TO, lookup.findStatic(self, "notPositive", signTest));
+            SIGN_TESTS.put(OperatorType.EQUAL, lookup.findStatic(self, "zero", signTest));
+            SIGN_TESTS.put(OperatorType.NOT_EQUAL, lookup.findStatic(self, "nonZero", signTest));
+            SIGN_TESTS.put(OperatorType.GREATER_THAN, lookup.findStatic(self, "positive", signTest));
+            SIGN_TESTS.put(OperatorType.GREATER_THAN_OR_EQUAL_TO, lookup.findStatic(self, "notNegative", signTest));
+            final MethodType longOperation = MethodType.methodType(long.class, long.class, long.class);
+            final MethodType doubleOperation = MethodType.methodType(double.class, double.class, double.class);
+            for (ArithmeticOperator operator : new ArithmeticOperator[]{
+                    ArithmeticOperator.ADD, ArithmeticOperator.SUBTRACT, ArithmeticOperator.MULTIPLY}) {
+                final String name = operator.name().toLowerCase();
+                LONG_OPERATIONS.put(operator, lookup.findStatic(self, name, longOperation));
+                DOUBLE_OPERATIONS.put(operator, lookup.findStatic(self, name, doubleOperation));
+            }
+            DOUBLE_OPERATIONS.put(ArithmeticOperator.DIVIDE, lookup.findStatic(self, "divide", doubleOperation));
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final Scope scope;
+    private final int[] sample;
+
+    /**
+     * Compiles conditions on the columns of {@code table}, which is sampled for the order of terms.
+     */
+    public PredicateCompiler(Table table) {
+        this.scope = new Scope(List.of(new TableRef(table.getName(), null)), List.of(table));
+        final int rowCount = table.getRowCount();
+        this.sample = new int[Math.min(SAMPLE_SIZE, rowCount)];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = (int) ((long) i * rowCount / sample.length);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the condition references unknown columns, or uses a
+     *                                  construct the engine does not run
+     */
+    public RowPredicate compile(Expression condition) {
+        return predicate(condition(condition));
+    }
+
+    /**
+     * Compiles conditions that must all hold, as {@link com.sqlparser.model.Query#getWhereConditions()}.
+     *
+     * @throws IllegalArgumentException if a condition references unknown columns, or uses a
+     *                                  construct the engine does not run
+     */
+    public RowPredicate compile(List<Expression> conditions) {
+        final List<Condition> terms = new ArrayList<>(conditions.size());
+        for (Expression condition : conditions) {
+            terms.add(condition(condition));
+        }
+        return predicate(junction(terms, true));
+    }
+
+    private static RowPredicate predicate(Condition condition) {
+        final Test test = condition.whenTrue;
+        if (test.handle == null) {
+            return test.value ? ALWAYS : NEVER;
+        }
+        return PredicateClass.define(test.handle);
+    }
+
+    private Condition condition(Expression expression) {
+        if (expression instanceof And || expression instanceof Or) {
+            return junction(expression);
+        }
+        if (expression instanceof Not) {
+            return condition(((Not) expression).getOperand()).negate();
+        }
+        if (expression instanceof Comparison) {
+            final Comparison comparison = (Comparison) expression;
+            return comparison(value(comparison.getLeft()), comparison.getOperator(), value(comparison.getRight()));
+        }
+        if (expression instanceof Between) {
+            final Between between = (Between) expression;
+            final Value operand = value(between.getOperand());
+            final Condition range = junction(List.of(
+                    comparison(operand, OperatorType.GREATER_THAN_OR_EQUAL_TO, value(between.getLower())),
+                    comparison(operand, OperatorType.LESS_THAN_OR_EQUAL_TO, value(between.getUpper()))), true);
+            return between.isNegated() ? range.negate() : range;
+        }
+        if (expression instanceof Like) {
+            final Like like = (Like) expression;
+            final Condition matches = like(value(like.getOperand()), value(like.getPattern()));
+            return like.isNegated() ? matches.negate() : matches;
+        }
+        if (expression instanceof IsNull) {
+            final Condition isNull = isNull(value(((IsNull) expression).getOperand()));
+            return ((IsNull) expression).isNegated() ? isNull.negate() : isNull;
+        }
+        if (expression instanceof In) {
+            final Condition in = in((In) expression);
+            return ((In) expression).isNegated() ? in.negate() : in;
+        }
+        throw new IllegalArgumentException("Not a condition: " + expression.getText());
+    }
+
+    private Value value(Expression expression) {
+        if (expression instanceof ColumnRef) {
+            return column(scope.getColumn(scope.resolve(((ColumnRef) expression).getName(), 1)));
+        }
+        if (expression instanceof Literal) {
+            return Value.of(ExpressionCompiler.constant((Literal) expression));
+        }
+        if (expression instanceof Arithmetic) {
+            final Arithmetic arithmetic = (Arithmetic) expression;
+            return arithmetic(value(arithmetic.getLeft()), arithmetic.getOperator(), value(arithmetic.getRight()));
+        }
+        throw new IllegalArgumentException("Not a value: " + expression.getText());
+    }
+
+    private static Value column(Column column) {
+        final MethodType longValue = MethodType.methodType(long.class, int.class);
+        switch (column.getType()) {
+            case INT:
+                return new Value(ColumnType.LONG,
+                        MethodHandles.arrayElementGetter(int[].class).bindTo(((IntColumn) column).values()).asType(longValue),
+                        nulls(((IntColumn) column).nulls()), null, null, 1);
+            case LONG:
+                return new Value(ColumnType.LONG, MethodHandles.arrayElementGetter(long[].class).bindTo(((LongColumn) column).values()),
+                        nulls(((LongColumn) column).nulls()), null, null, 1);
+            case DOUBLE:
+                return new Value(ColumnType.DOUBLE,
+                        MethodHandles.arrayElementGetter(double[].class).bindTo(((DoubleColumn) column).values()),
+                        nulls(((DoubleColumn) column).nulls()), null, null, 1);
+            default: {
+                final StringColumn strings = (StringColumn) column;
+                return new Value(ColumnType.STRING,
+                        MethodHandles.insertArguments(STRING_VALUE, 0, strings.codes(), strings.dictionary()),
+                        IS_NULL_CODE.bindTo(strings.codes()), null, strings, 1);
+            }
+        }
+    }
+
+    private static MethodHandle nulls(boolean[] nulls) {
+        return nulls == null ? null : MethodHandles.arrayElementGetter(boolean[].class).bindTo(nulls);
+    }
+
+    /**
+     * Same types and NULLs as {@link VectorExpression.ArithmeticValue}.
+     */
+    private static Value arithmetic(Value left, ArithmeticOperator operator, Value right) {
+        if (operator != ArithmeticOperator.CONCAT && (left.type == ColumnType.STRING || right.type == ColumnType.STRING)) {
+            throw new IllegalArgumentException("Operator " + operator.getSymbol() + " needs numbers");
+        }
+        final ColumnType type = operator == ArithmeticOperator.CONCAT ? ColumnType.STRING
+                : operator != ArithmeticOperator.DIVIDE && left.type == ColumnType.LONG
+                && right.type == ColumnType.LONG ? ColumnType.LONG : ColumnType.DOUBLE;
+        if (left.constant != null && right.constant != null) {
+            return Value.of(fold(left.constant, operator, right.constant, type));
+        }
+        MethodHandle isNull = or(left.isNull, right.isNull);
+        final MethodHandle handle;
+        if (type == ColumnType.STRING) {
+            handle = combine(CONCAT, text(left), text(right));
+        } else if (type == ColumnType.LONG) {
+            handle = combine(LONG_OPERATIONS.get(operator), left.handle, right.handle);
+        } else {
+            handle = combine(DOUBLE_OPERATIONS.get(operator), asDouble(left), asDouble(right));
+            if (operator == ArithmeticOperator.DIVIDE) {
+                isNull = or(isNull, MethodHandles.filterReturnValue(asDouble(right), IS_ZERO));
+            }
+        }
+        return new Value(type, handle, isNull, null, null, left.cost + right.cost + 1);
+    }
+
+    private static VectorExpression.Constant fold(VectorExpression.Constant left, ArithmeticOperator operator,
+                                                  VectorExpression.Constant right, ColumnType type) {
+        if (left.isNull() || right.isNull()) {
+            return VectorExpression.Constant.NULL;
+        }
+        if (type == ColumnType.STRING) {
+            return VectorExpression.Constant.of(text(left) + text(right));
+        }
+        if (type == ColumnType.LONG) {
+            switch (operator) {
+                case ADD:
+                    return VectorExpression.Constant.of(left.getLong() + right.getLong());
+                case SUBTRACT:
+                    return VectorExpression.Constant.of(left.getLong() - right.getLong());
+                default:
+                    return VectorExpression.Constant.of(left.getLong() * right.getLong());
+            }
+        }
+        switch (operator) {
+            case ADD:
+                return VectorExpression.Constant.of(left.getDouble() + right.getDouble());
+            case SUBTRACT:
+                return VectorExpression.Constant.of(left.getDouble() - right.getDouble());
+            case MULTIPLY:
+                return VectorExpression.Constant.of(left.getDouble() * right.getDouble());
+            default:
+                return right.getDouble() == 0 ? VectorExpression.Constant.NULL
+                        : VectorExpression.Constant.of(left.getDouble() / right.getDouble());
+        }
+    }
+
+    private static String text(VectorExpression.Constant constant) {
+        switch (constant.getType()) {
+            case LONG:
+                return Long.toString(constant.getLong());
+            case DOUBLE:
+                return Double.toString(constant.getDouble());
+            default:
+                return constant.getString();
+        }
+    }
+
+    private static MethodHandle text(Value value) {
+        switch (value.type) {
+            case LONG:
+                return MethodHandles.filterReturnValue(value.handle, LONG_TO_STRING);
+            case DOUBLE:
+                return MethodHandles.filterReturnValue(value.handle, DOUBLE_TO_STRING);
+            default:
+                return value.handle;
+        }
+    }
+
+    private static MethodHandle asDouble(Value value) {
+        return value.handle.asType(MethodType.methodType(double.class, int.class));
+    }
+
+    /**
+     * {@code operation(left(row), right(row))} as a handle of the row.
+     */
+    private static MethodHandle combine(MethodHandle operation, MethodHandle left, MethodHandle right) {
+        return MethodHandles.permuteArguments(MethodHandles.filterArguments(operation, 0, left, right),
+                MethodType.methodType(operation.type().returnType(), int.class), 0, 0);
+    }
+
+    /**
+     * {@code true} where either handle is; a {@code null} handle is never true.
+     */
+    private static MethodHandle or(MethodHandle first, MethodHandle second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return MethodHandles.guardWithTest(first, TRUE, second);
+    }
+
+    private static Condition comparison(Value left, OperatorType operator, Value right) {
+        if (left.isNullConstant() || right.isNullConstant()) {
+            return Condition.UNKNOWN;
+        }
+        if ((left.type == ColumnType.STRING) != (right.type == ColumnType.STRING)) {
+            throw new IllegalArgumentException("Cannot compare " + left.type + " with " + right.type);
+        }
+        if (left.constant != null && right.constant != null) {
+            return Condition.of(VectorPredicate.test(operator, compare(left.constant, right.constant)));
+        }
+        if (left.constant != null) {
+            return comparison(right, VectorPredicate.swap(operator), left);
+        }
+        if (right.constant != null && left.column != null) {
+            final String[] dictionary = left.column.dictionary();
+            final boolean[] matches = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                matches[code] = VectorPredicate.test(operator, dictionary[code].compareTo(right.constant.getString()));
+            }
+            return dictionary(left.column, matches);
+        }
+        final MethodHandle comparison;
+        if (left.type == ColumnType.STRING) {
+            comparison = combine(STRING_COMPARE, left.handle, right.handle);
+        } else if (left.type == ColumnType.LONG && right.type == ColumnType.LONG) {
+            comparison = combine(LONG_COMPARE, left.handle, right.handle);
+        } else {
+            comparison = combine(DOUBLE_COMPARE, asDouble(left), asDouble(right));
+        }
+        final MethodHandle isNull = or(left.isNull, right.isNull);
+        final double cost = left.cost + right.cost + 1;
+        return new Condition(
+                notNull(MethodHandles.filterReturnValue(comparison, SIGN_TESTS.get(operator)), isNull, cost),
+                notNull(MethodHandles.filterReturnValue(comparison, SIGN_TESTS.get(VectorPredicate.negate(operator))), isNull, cost));
+    }
+
+    private static int compare(VectorExpression.Constant left, VectorExpression.Constant right) {
+        if (left.getType() == ColumnType.STRING) {
+            return left.getString().compareTo(right.getString());
+        }
+        if (left.getType() == ColumnType.LONG && right.getType() == ColumnType.LONG) {
+            return Long.compare(left.getLong(), right.getLong());
+        }
+        return Double.compare(left.getDouble(), right.getDouble());
+    }
+
+    /**
+     * {@code test}, but false where {@code isNull}.
+     */
+    private static Test notNull(MethodHandle test, MethodHandle isNull, double cost) {
+        return new Test(isNull == null ? test : MethodHandles.guardWithTest(isNull, FALSE, test), cost);
+    }
+
+    /**
+     * Condition on a dictionary-encoded column: true for the codes that {@code matches}, false
+     * for the others, NULL for NULL.
+     */
+    private static Condition dictionary(StringColumn column, boolean[] matches) {
+        final boolean[] misses = new boolean[matches.length];
+        boolean any = false;
+        boolean all = true;
+        for (int code = 0; code < matches.length; code++) {
+            misses[code] = !matches[code];
+            any |= matches[code];
+            all &= matches[code];
+        }
+        final int[] codes = column.codes();
+        return new Condition(
+                any ? new Test(MethodHandles.insertArguments(DICTIONARY_MATCH, 0, codes, matches), 1) : Test.NEVER,
+                all ? Test.NEVER : new Test(MethodHandles.insertArguments(DICTIONARY_MATCH, 0, codes, misses), 1));
+    }
+
+    private static Condition like(Value operand, Value pattern) {
+        if (operand.isNullConstant() || pattern.isNullConstant()) {
+            return Condition.UNKNOWN;
+        }
+        if (operand.type != ColumnType.STRING || pattern.type != ColumnType.STRING) {
+            throw new IllegalArgumentException("LIKE needs strings");
+        }
+        if (operand.constant != null && pattern.constant != null) {
+            return Condition.of(VectorPredicate.like(operand.constant.getString(), pattern.constant.getString()));
+        }
+        if (pattern.constant != null && operand.column != null) {
+            final String[] dictionary = operand.column.dictionary();
+            final boolean[] matches = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                matches[code] = VectorPredicate.like(dictionary[code], pattern.constant.getString());
+            }
+            return dictionary(operand.column, matches);
+        }
+        final MethodHandle matches = pattern.constant != null
+                ? MethodHandles.filterReturnValue(operand.handle,
+                MethodHandles.insertArguments(LIKE, 1, pattern.constant.getString()))
+                : combine(LIKE, operand.handle, pattern.handle);
+        final MethodHandle isNull = or(operand.isNull, pattern.isNull);
+        final double cost = operand.cost + pattern.cost + LIKE_COST;
+        return new Condition(notNull(matches, isNull, cost),
+                notNull(MethodHandles.filterReturnValue(matches, NOT), isNull, cost));
+    }
+
+    /**
+     * {@code IS NULL}, which is never NULL itself.
+     */
+    private static Condition isNull(Value operand) {
+        if (operand.constant != null) {
+            return Condition.of(operand.constant.isNull());
+        }
+        if (operand.isNull == null) {
+            return Condition.FALSE;
+        }
+        return new Condition(new Test(operand.isNull, operand.cost),
+                new Test(MethodHandles.filterReturnValue(operand.isNull, NOT), operand.cost));
+    }
+
+    /**
+     * {@code IN} a list of constants is a set lookup; any other list is a disjunction of equalities.
+     */
+    private Condition in(In in) {
+        final Value operand = value(in.getOperand());
+        final List<Value> items = new ArrayList<>(in.getValues().size());
+        boolean longs = operand.type == ColumnType.LONG && operand.constant == null;
+        boolean strings = operand.column != null;
+        for (Expression expression : in.getValues()) {
+            final Value item = value(expression);
+            final boolean constant = item.constant != null && !item.constant.isNull();
+            longs &= constant && item.type == ColumnType.LONG;
+            strings &= constant && item.type == ColumnType.STRING;
+            items.add(item);
+        }
+        if (longs) {
+            final long[] sorted = new long[items.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = items.get(i).constant.getLong();
+            }
+            Arrays.sort(sorted);
+            final MethodHandle contains = MethodHandles.filterReturnValue(operand.handle, CONTAINS.bindTo(sorted));
+            final double cost = operand.cost + 1 + Math.log(sorted.length + 1) / Math.log(2);
+            return new Condition(notNull(contains, operand.isNull, cost),
+                    notNull(MethodHandles.filterReturnValue(contains, NOT), operand.isNull, cost));
+        }
+        if (strings) {
+            final Set<String> members = new HashSet<>();
+            for (Value item : items) {
+                members.add(item.constant.getString());
+            }
+            final String[] dictionary = operand.column.dictionary();
+            final boolean[] matches = new boolean[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                matches[code] = members.contains(dictionary[code]);
+            }
+            return dictionary(operand.column, matches);
+        }
+        final List<Condition> equalities = new ArrayList<>(items.size());
+        for (Value item : items) {
+            equalities.add(comparison(operand, OperatorType.EQUAL, item));
+        }
+        return junction(equalities, false);
+    }
+
+    /**
+     * A chain of ANDs, or of ORs, as one junction of its terms. Walked iteratively, as
+     * the chain is as long as the condition.
+     */
+    private Condition junction(Expression expression) {
+        final boolean conjunction = expression instanceof And;
+        final List<Condition> terms = new ArrayList<>();
+        final ArrayDeque<Expression> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            final Expression term = pending.pop();
+            if (conjunction && term instanceof And) {
+                pending.push(((And) term).getRight());
+                pending.push(((And) term).getLeft());
+            } else if (!conjunction && term instanceof Or) {
+                pending.push(((Or) term).getRight());
+                pending.push(((Or) term).getLeft());
+            } else {
+                terms.add(condition(term));
+            }
+        }
+        return junction(terms, conjunction);
+    }
+
+    /**
+     * A conjunction is true where all its terms are and false where any is; a disjunction the other way round.
+     */
+    private Condition junction(List<Condition> terms, boolean conjunction) {
+        final List<Test> whenTrue = new ArrayList<>(terms.size());
+        final List<Test> whenFalse = new ArrayList<>(terms.size());
+        for (Condition term : terms) {
+            whenTrue.add(term.whenTrue);
+            whenFalse.add(term.whenFalse);
+        }
+        return conjunction ? new Condition(all(whenTrue), any(whenFalse)) : new Condition(any(whenTrue), all(whenFalse));
+    }
+
+    /**
+     * True where every test is, stopping at the first that is not.
+     */
+    private Test all(List<Test> tests) {
+        final List<Test> remaining = new ArrayList<>(tests.size());
+        for (Test test : tests) {
+            if (test.handle == null) {
+                if (!test.value) {
+                    return Test.NEVER;
+                }
+            } else {
+                remaining.add(test);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return Test.ALWAYS;
+        }
+        order(remaining, false);
+        MethodHandle chain = remaining.get(remaining.size() - 1).handle;
+        double cost = remaining.get(remaining.size() - 1).cost;
+        for (int i = remaining.size() - 2; i >= 0; i--) {
+            chain = MethodHandles.guardWithTest(remaining.get(i).handle, chain, FALSE);
+            cost += remaining.get(i).cost;
+        }
+        return new Test(chain, cost);
+    }
+
+    /**
+     * True where any test is, stopping at the first that is.
+     */
+    private Test any(List<Test> tests) {
+        final List<Test> remaining = new ArrayList<>(tests.size());
+        for (Test test : tests) {
+            if (test.handle == null) {
+                if (test.value) {
+                    return Test.ALWAYS;
+                }
+            } else {
+                remaining.add(test);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return Test.NEVER;
+        }
+        order(remaining, true);
+        MethodHandle chain = remaining.get(remaining.size() - 1).handle;
+        double cost = remaining.get(remaining.size() - 1).cost;
+        for (int i = remaining.size() - 2; i >= 0; i--) {
+            chain = MethodHandles.guardWithTest(remaining.get(i).handle, TRUE, chain);
+            cost += remaining.get(i).cost;
+        }
+        return new Test(chain, cost);
+    }
+
+    /**
+     * Orders the tests of a chain that stops at the first test giving {@code stop}: by cost per
+     * chance of stopping there, so cheap tests that often decide come first. Ties keep the written order.
+     */
+    private void order(List<Test> tests, boolean stop) {
+        if (tests.size() > 1) {
+            tests.sort(Comparator.comparingDouble(test -> {
+                final double probability = probability(test);
+                return test.cost / Math.max(stop ? probability : 1 - probability, MIN_PROBABILITY);
+            }));
+        }
+    }
+
+    /**
+     * Share of the sampled rows {@code test} is true for, a half if the table is empty.
+     */
+    private double probability(Test test) {
+        if (Double.isNaN(test.probability)) {
+            int hits = 0;
+            for (int row : sample) {
+                if (invoke(test.handle, row)) {
+                    hits++;
+                }
+            }
+            test.probability = sample.length == 0 ? 0.5 : (double) hits / sample.length;
+        }
+        return test.probability;
+    }
+
+    private static boolean invoke(MethodHandle test, int row) {
+        try {
+            return (boolean) test.invokeExact(row);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            // The handles only call the methods below, which throw nothing checked.
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+
+    private static String stringValue(int[] codes, String[] dictionary, int row) {
+        final int code = codes[row];
+        return code < 0 ? null : dictionary[code];
+    }
+
+    private static boolean isNullCode(int[] codes, int row) {
+        return codes[row] < 0;
+    }
+
+    private static boolean dictionaryMatch(int[] codes, boolean[] matches, int row) {
+        final int code = codes[row];
+        return code >= 0 && matches[code];
+    }
+
+    private static boolean contains(long[] sorted, long value) {
+        return Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    private static boolean isZero(double value) {
+        return value == 0;
+    }
+
+    private static boolean negative(int comparison) {
+        return comparison < 0;
+    }
+
+    private static boolean notPositive(int comparison) {
+        return comparison <= 0;
+    }
+
+    private static boolean zero(int comparison) {
+        return comparison == 0;
+    }
+
+    private static boolean nonZero(int comparison) {
+        return comparison != 0;
+    }
+
+    private static boolean positive(int comparison) {
+        return comparison > 0;
+    }
+
+    private static boolean notNegative(int comparison) {
+        return comparison >= 0;
+    }
+
+    private static long add(long left, long right) {
+        return left + right;
+    }
+
+    private static long subtract(long left, long right) {
+        return left - right;
+    }
+
+    private static long multiply(long left, long right) {
+        return left * right;
+    }
+
+    private static double add(double left, double right) {
+        return left + right;
+    }
+
+    private static double subtract(double left, double right) {
+        return left - right;
+    }
+
+    private static double multiply(double left, double right) {
+        return left * right;
+    }
+
+    private static double divide(double left, double right) {
+        return left / right;
+    }
+
+    /**
+     * A value of a row: a handle returning {@code long}, {@code double} or {@code String} by
+     * {@link #type}, and one telling whether it is NULL.
+     */
+    private static final class Value {
+        private final ColumnType type;
+        private final MethodHandle handle;
+        /**
+         * {@code null} if the value is never NULL.
+         */
+        private final MethodHandle isNull;
+        /**
+         * The value if it is the same for every row, else {@code null}.
+         */
+        private final VectorExpression.Constant constant;
+        /**
+         * The column if the value is a dictionary-encoded column, else {@code null}.
+         */
+        private final StringColumn column;
+        private final double cost;
+
+        private Value(ColumnType type, MethodHandle handle, MethodHandle isNull, VectorExpression.Constant constant,
+                      StringColumn column, double cost) {
+            this.type = type;
+            this.handle = handle;
+            this.isNull = isNull;
+            this.constant = constant;
+            this.column = column;
+            this.cost = cost;
+        }
+
+        private static Value of(VectorExpression.Constant constant) {
+            final Object value;
+            final Class<?> javaType;
+            switch (constant.getType()) {
+                case LONG:
+                    value = constant.getLong();
+                    javaType = long.class;
+                    break;
+                case DOUBLE:
+                    value = constant.getDouble();
+                    javaType = double.class;
+                    break;
+                default:
+                    value = constant.getString();
+                    javaType = String.class;
+                    break;
+            }
+            return new Value(constant.getType(),
+                    MethodHandles.dropArguments(MethodHandles.constant(javaType, value), 0, int.class),
+                    constant.isNull() ? TRUE : null, constant, null, 0);
+        }
+
+        private boolean isNullConstant() {
+            return constant != null && constant.isNull();
+        }
+    }
+
+    /**
+     * A handle of the row returning {@code boolean}, or a constant.
+     */
+    private static final class Test {
+        private static final Test ALWAYS = new Test(null, true, 0);
+        private static final Test NEVER = new Test(null, false, 0);
+
+        /**
+         * {@code null} if the test is the constant {@link #value}.
+         */
+        private final MethodHandle handle;
+        private final boolean value;
+        private final double cost;
+        private double probability = Double.NaN;
+
+        private Test(MethodHandle handle, double cost) {
+            this(handle, false, cost);
+        }
+
+        private Test(MethodHandle handle, boolean value, double cost) {
+            this.handle = handle;
+            this.value = value;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * A condition as two tests, where it is TRUE and where it is FALSE; it is NULL where neither
+     * holds. NOT swaps them.
+     */
+    private static final class Condition {
+        private static final Condition TRUE = new Condition(Test.ALWAYS, Test.NEVER);
+        private static final Condition FALSE = new Condition(Test.NEVER, Test.ALWAYS);
+        private static final Condition UNKNOWN = new Condition(Test.NEVER, Test.NEVER);
+
+        private final Test whenTrue;
+        private final Test whenFalse;
+
+        private Condition(Test whenTrue, Test whenFalse) {
+            this.whenTrue = whenTrue;
+            this.whenFalse = whenFalse;
+        }
+
+        private static Condition of(boolean value) {
+            return value ? TRUE : FALSE;
+        }
+
+        private Condition negate() {
+            return new Condition(whenFalse, whenTrue);
+        }
+    }
+}
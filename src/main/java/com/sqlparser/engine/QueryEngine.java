@@ -0,0 +1,426 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.GroupBy;
+import com.sqlparser.model.Join;
+import com.sqlparser.model.JoinType;
+import com.sqlparser.model.Limit;
+import com.sqlparser.model.OrderBy;
+import com.sqlparser.model.Query;
+import com.sqlparser.model.SortDirection;
+import com.sqlparser.model.TableRef;
+import com.sqlparser.model.expression.And;
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.model.expression.Literal;
+import com.sqlparser.model.expression.LiteralType;
+import com.sqlparser.service.OperatorType;
+import com.sqlparser.service.SqlAnalyzer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs parsed queries against registered in-memory tables.
+ * <p>
+ * Tables are joined left to right in the order written, FROM sources first; joins on an integer
+ * key equality use a hash or merge join, other joins a nested loop join. Joins and the WHERE
+ * condition run a {@link Batch} of joined rows at a time, as row numbers; columns are only
+ * copied for the rows of the result. GROUP BY keeps the first row of each group, so every
+ * selected column must be grouped. ORDER BY sorts NULLs first, as MySQL does. Registering
+ * tables and executing queries are thread-safe.
+ */
+public final class QueryEngine {
+    private static final String ALL_COLUMNS = "*";
+    private static final String ALIAS_SEPARATOR = " AS ";
+    private static final long DEFAULT_JOIN_MEMORY_BUDGET = 256L << 20;
+
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    private volatile long joinMemoryBudget = DEFAULT_JOIN_MEMORY_BUDGET;
+    private volatile Path spillDirectory;
+
+    /**
+     * Makes {@code table} available to queries under its name, replacing a table of that name.
+     */
+    public QueryEngine register(Table table) {
+        tables.put(table.getName(), table);
+        return this;
+    }
+
+    /**
+     * Bytes the index of one hash join may take; beyond it the join partitions both sides to
+     * disk and joins a partition at a time. 256 MB by default.
+     *
+     * @throws IllegalArgumentException if {@code bytes} is not positive
+     */
+    public QueryEngine setJoinMemoryBudget(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Join memory budget must be positive: " + bytes);
+        }
+        this.joinMemoryBudget = bytes;
+        return this;
+    }
+
+    /**
+     * Directory hash joins spill to, {@code null} for the default temporary directory.
+     */
+    public QueryEngine setSpillDirectory(Path directory) {
+        this.spillDirectory = directory;
+        return this;
+    }
+
+    /**
+     * @return {@code null} if no table of that name is registered
+     */
+    public Table getTable(String name) {
+        return tables.get(name);
+    }
+
+    /**
+     * Parses and runs {@code statement}.
+     *
+     * @throws Exception if the statement is invalid, see {@link SqlAnalyzer#analyze()}
+     */
+    public Table execute(String statement) throws Exception {
+        return execute(new SqlAnalyzer(statement).analyze());
+    }
+
+    /**
+     * Runs {@code query} and returns its result as a table named {@code result}.
+     *
+     * @throws IllegalArgumentException if the query references unknown tables or columns, or
+     *                                  uses a construct the engine does not run
+     */
+    public Table execute(Query query) {
+        final Scope scope = scope(query);
+        final List<Output> outputs = outputs(query, scope);
+        final int[][] rows = collect(plan(query, scope), scope.size());
+        int[] order = all(rows[0].length);
+        if (query.getGroupByClause() != null) {
+            order = group(query.getGroupByClause(), outputs, scope, rows, order);
+        }
+        if (query.getOrderByClause() != null) {
+            order = sort(query.getOrderByClause(), outputs, scope, rows, order);
+        }
+        if (query.getLimit() != null) {
+            order = limit(query.getLimit(), order);
+        }
+        return project(outputs, scope, rows, order);
+    }
+
+    private Scope scope(Query query) {
+        final List<TableRef> references = new ArrayList<>();
+        for (String fromSource : query.getFromSources()) {
+            references.add(TableRef.of(fromSource));
+        }
+        for (Join join : query.getJoins()) {
+            references.add(new TableRef(join.getJoinTable(), join.getAlias()));
+        }
+        final List<Table> queryTables = new ArrayList<>(references.size());
+        for (TableRef reference : references) {
+            final Table table = tables.get(reference.getName());
+            if (table == null) {
+                throw new IllegalArgumentException("Unknown table " + reference.getName());
+            }
+            queryTables.add(table);
+        }
+        return new Scope(references, queryTables);
+    }
+
+    private Operator plan(Query query, Scope scope) {
+        final int tableCount = scope.size();
+        final int fromCount = query.getFromSources().size();
+        Operator plan = new Scan(0, scope.getTable(0).getRowCount(), tableCount);
+        for (int table = 1; table < fromCount; table++) {
+            plan = new NestedLoopJoin(plan, all(table), table, scope.getTable(table).getRowCount(),
+                    JoinType.INNER, null, tableCount);
+        }
+        final List<Join> joins = query.getJoins();
+        for (int j = 0; j < joins.size(); j++) {
+            plan = join(plan, joins.get(j), fromCount + j, scope);
+        }
+        if (!query.getWhereConditions().isEmpty()) {
+            final ExpressionCompiler compiler = new ExpressionCompiler(scope, tableCount);
+            plan = new Filter(plan, conjunction(query.getWhereConditions(), compiler));
+        }
+        return plan;
+    }
+
+    /**
+     * A join whose condition has an equality of integer columns, one of the joined table and one
+     * of the tables before it, is a merge join if both columns are sorted and the other side is
+     * the first table alone, and a hash join otherwise. The rest of the condition is evaluated on
+     * the pairs of equal keys. Any other join is a nested loop join.
+     */
+    private Operator join(Operator plan, Join join, int table, Scope scope) {
+        final int tableCount = scope.size();
+        final ExpressionCompiler compiler = new ExpressionCompiler(scope, table + 1);
+        final Expression condition = join.getEffectiveCondition();
+        final List<Expression> terms = condition == null ? new ArrayList<>() : And.conjuncts(condition);
+        for (int i = 0; i < terms.size(); i++) {
+            final Scope.Binding[] key = equiKey(terms.get(i), scope, table);
+            if (key == null) {
+                continue;
+            }
+            terms.remove(i);
+            final VectorPredicate residual = terms.isEmpty() ? null : conjunction(terms, compiler);
+            final Column probeColumn = scope.getColumn(key[0]);
+            final VectorExpression probeKey = new VectorExpression.ColumnValue(key[0].table, probeColumn);
+            final Column buildKey = scope.getColumn(key[1]);
+            if (plan instanceof Scan && key[0].table == 0
+                    && MergeJoin.isSorted(probeColumn) && MergeJoin.isSorted(buildKey)) {
+                return new MergeJoin(plan, all(table), probeKey, table, buildKey, join.getJoinType(), residual,
+                        tableCount);
+            }
+            return new HashJoin(plan, all(table), probeKey, table, buildKey, join.getJoinType(), residual,
+                    tableCount, joinMemoryBudget, spillDirectory);
+        }
+        return new NestedLoopJoin(plan, all(table), table, scope.getTable(table).getRowCount(), join.getJoinType(),
+                condition == null ? null : compiler.predicate(condition), tableCount);
+    }
+
+    private static VectorPredicate conjunction(List<Expression> terms, ExpressionCompiler compiler) {
+        if (terms.size() == 1) {
+            return compiler.predicate(terms.get(0));
+        }
+        final VectorPredicate[] predicates = new VectorPredicate[terms.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = compiler.predicate(terms.get(i));
+        }
+        return new VectorPredicate.Junction(predicates, true);
+    }
+
+    /**
+     * For {@code a = b} on integer columns, one of {@code table} and one of a table before it:
+     * the binding of the earlier column, then that of the column of {@code table}.
+     */
+    private static Scope.Binding[] equiKey(Expression term, Scope scope, int table) {
+        if (!(term instanceof Comparison) || ((Comparison) term).getOperator() != OperatorType.EQUAL) {
+            return null;
+        }
+        final Expression left = ((Comparison) term).getLeft();
+        final Expression right = ((Comparison) term).getRight();
+        if (!(left instanceof ColumnRef) || !(right instanceof ColumnRef)) {
+            return null;
+        }
+        final Scope.Binding first = scope.resolve(((ColumnRef) left).getName(), table + 1);
+        final Scope.Binding second = scope.resolve(((ColumnRef) right).getName(), table + 1);
+        if (!JoinOperator.isIntegral(scope.getColumn(first)) || !JoinOperator.isIntegral(scope.getColumn(second))) {
+            return null;
+        }
+        if (first.table < table && second.table == table) {
+            return new Scope.Binding[]{first, second};
+        }
+        if (second.table < table && first.table == table) {
+            return new Scope.Binding[]{second, first};
+        }
+        return null;
+    }
+
+    /**
+     * Drains the plan into one row number array per table.
+     */
+    private static int[][] collect(Operator plan, int tableCount) {
+        int[][] rows = new int[tableCount][Batch.SIZE];
+        int size = 0;
+        Batch batch;
+        while ((batch = plan.next()) != null) {
+            if (size + batch.size > rows[0].length) {
+                final int capacity = Math.max(rows[0].length * 2, size + batch.size);
+                for (int table = 0; table < tableCount; table++) {
+                    rows[table] = Arrays.copyOf(rows[table], capacity);
+                }
+            }
+            for (int table = 0; table < tableCount; table++) {
+                System.arraycopy(batch.rows[table], 0, rows[table], size, batch.size);
+            }
+            size += batch.size;
+        }
+        for (int table = 0; table < tableCount; table++) {
+            rows[table] = Arrays.copyOf(rows[table], size);
+        }
+        return rows;
+    }
+
+    private static List<Output> outputs(Query query, Scope scope) {
+        final List<Output> outputs = new ArrayList<>();
+        for (String column : query.getColumns()) {
+            if (ALL_COLUMNS.equals(column)) {
+                for (int table = 0; table < scope.size(); table++) {
+                    final List<String> names = scope.getTable(table).getColumnNames();
+                    for (int i = 0; i < names.size(); i++) {
+                        outputs.add(new Output(names.get(i), new Scope.Binding(table, i), true));
+                    }
+                }
+                continue;
+            }
+            final int separator = column.lastIndexOf(ALIAS_SEPARATOR);
+            final String name = separator < 0 ? column : column.substring(0, separator);
+            final String outputName = separator < 0 ? column : column.substring(separator + ALIAS_SEPARATOR.length());
+            outputs.add(new Output(outputName, scope.resolve(name, scope.size()), false));
+        }
+        return outputs;
+    }
+
+    /**
+     * First row of each group, in the order the groups first occur.
+     */
+    private static int[] group(GroupBy groupBy, List<Output> outputs, Scope scope, int[][] rows, int[] order) {
+        final List<Scope.Binding> keys = new ArrayList<>();
+        for (ColumnRef column : groupBy.getColumns()) {
+            keys.add(scope.resolve(column.getName(), scope.size()));
+        }
+        for (Output output : outputs) {
+            if (output.expanded || !keys.contains(output.binding)) {
+                throw new IllegalArgumentException("Column " + output.name + " is not in GROUP BY");
+            }
+        }
+        final Set<List<Object>> seen = new HashSet<>();
+        final int[] kept = new int[order.length];
+        int count = 0;
+        for (int row : order) {
+            final Object[] key = new Object[keys.size()];
+            for (int k = 0; k < key.length; k++) {
+                final Scope.Binding binding = keys.get(k);
+                final int tableRow = rows[binding.table][row];
+                key[k] = tableRow < 0 ? null : scope.getColumn(binding).getValue(tableRow);
+            }
+            if (seen.add(Arrays.asList(key))) {
+                kept[count++] = row;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    private static int[] sort(OrderBy orderBy, List<Output> outputs, Scope scope, int[][] rows, int[] order) {
+        Comparator<Integer> comparator = null;
+        for (int i = 0; i < orderBy.getItems().size(); i++) {
+            final Scope.Binding binding = sortKey(orderBy.getItems().get(i), outputs, scope);
+            Comparator<Integer> key = keyComparator(scope.getColumn(binding), rows[binding.table]);
+            if (orderBy.getDirection(i) == SortDirection.DESC) {
+                key = key.reversed();
+            }
+            comparator = comparator == null ? key : comparator.thenComparing(key);
+        }
+        final Integer[] boxed = new Integer[order.length];
+        for (int i = 0; i < order.length; i++) {
+            boxed[i] = order[i];
+        }
+        Arrays.sort(boxed, comparator);
+        final int[] sorted = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    /**
+     * Column an ORDER BY item sorts by: a selected column by position or output name, or any column.
+     */
+    private static Scope.Binding sortKey(Expression item, List<Output> outputs, Scope scope) {
+        if (item instanceof Literal && ((Literal) item).getType() == LiteralType.NUMBER) {
+            final int position = Integer.parseInt(item.getText());
+            if (position < 1 || position > outputs.size()) {
+                throw new IllegalArgumentException("ORDER BY position " + position + " is not in the select list");
+            }
+            return outputs.get(position - 1).binding;
+        }
+        if (!(item instanceof ColumnRef)) {
+            throw new IllegalArgumentException("Cannot order by " + item.getText());
+        }
+        final String name = ((ColumnRef) item).getName();
+        for (Output output : outputs) {
+            if (!output.expanded && output.name.equals(name)) {
+                return output.binding;
+            }
+        }
+        return scope.resolve(name, scope.size());
+    }
+
+    /**
+     * Orders joined rows by a column's value, NULLs first. Strings compare by dictionary rank.
+     */
+    private static Comparator<Integer> keyComparator(Column column, int[] tableRows) {
+        switch (column.getType()) {
+            case INT: {
+                final IntColumn ints = (IntColumn) column;
+                return nullsFirst(column, tableRows, (first, second) -> Integer.compare(ints.getInt(first), ints.getInt(second)));
+            }
+            case LONG: {
+                final LongColumn longs = (LongColumn) column;
+                return nullsFirst(column, tableRows, (first, second) -> Long.compare(longs.getLong(first), longs.getLong(second)));
+            }
+            case DOUBLE: {
+                final DoubleColumn doubles = (DoubleColumn) column;
+                return nullsFirst(column, tableRows, (first, second) -> Double.compare(doubles.getDouble(first), doubles.getDouble(second)));
+            }
+            default: {
+                final int[] codes = ((StringColumn) column).codes();
+                final int[] ranks = ((StringColumn) column).ranks();
+                return nullsFirst(column, tableRows, (first, second) -> Integer.compare(ranks[codes[first]], ranks[codes[second]]));
+            }
+        }
+    }
+
+    private static Comparator<Integer> nullsFirst(Column column, int[] tableRows, Comparator<Integer> values) {
+        return (first, second) -> {
+            final int firstRow = tableRows[first];
+            final int secondRow = tableRows[second];
+            final boolean firstNull = firstRow < 0 || column.isNull(firstRow);
+            final boolean secondNull = secondRow < 0 || column.isNull(secondRow);
+            if (firstNull || secondNull) {
+                return Boolean.compare(!firstNull, !secondNull);
+            }
+            return values.compare(firstRow, secondRow);
+        };
+    }
+
+    private static int[] limit(Limit limit, int[] order) {
+        final int from = Math.min(limit.getOffset(), order.length);
+        final int to = (int) Math.min(order.length, (long) from + limit.getLimit());
+        return Arrays.copyOfRange(order, from, to);
+    }
+
+    private static Table project(List<Output> outputs, Scope scope, int[][] rows, int[] order) {
+        final Table.Builder result = Table.builder("result");
+        final int[] tableRows = new int[order.length];
+        for (Output output : outputs) {
+            final int[] joinedRows = rows[output.binding.table];
+            for (int i = 0; i < order.length; i++) {
+                tableRows[i] = joinedRows[order[i]];
+            }
+            result.addColumn(output.name, scope.getColumn(output.binding).gather(tableRows, order.length));
+        }
+        return result.build();
+    }
+
+    private static int[] all(int count) {
+        final int[] all = new int[count];
+        for (int i = 0; i < count; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    private static final class Output {
+        private final String name;
+        private final Scope.Binding binding;
+        private final boolean expanded;
+
+        /**
+         * @param expanded {@code true} for the columns {@code *} stands for
+         */
+        private Output(String name, Scope.Binding binding, boolean expanded) {
+            this.name = name;
+            this.binding = binding;
+            this.expanded = expanded;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.sqlparser.engine;
+
+/**
+ * Condition on the rows of one table, as compiled by {@link PredicateCompiler}.
+ */
+@FunctionalInterface
+public interface RowPredicate {
+    /**
+     * @return {@code true} if the condition is TRUE for {@code row}; FALSE and NULL both reject it
+     */
+    boolean test(int row);
+}
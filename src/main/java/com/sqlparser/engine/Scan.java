@@ -0,0 +1,32 @@
+package com.sqlparser.engine;
+
+/**
+ * Every row of one table, in row order.
+ */
+final class Scan implements Operator {
+    private final int table;
+    private final int rowCount;
+    private final Batch batch;
+    private int position;
+
+    Scan(int table, int rowCount, int tableCount) {
+        this.table = table;
+        this.rowCount = rowCount;
+        this.batch = new Batch(tableCount);
+    }
+
+    @Override
+    public Batch next() {
+        if (position >= rowCount) {
+            return null;
+        }
+        final int count = Math.min(Batch.SIZE, rowCount - position);
+        final int[] rows = batch.rows[table];
+        for (int i = 0; i < count; i++) {
+            rows[i] = position + i;
+        }
+        position += count;
+        batch.size = count;
+        return batch;
+    }
+}
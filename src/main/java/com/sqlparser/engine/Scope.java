@@ -0,0 +1,101 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.TableRef;
+
+import java.util.List;
+
+/**
+ * Tables of a query in join order, for resolving column names. A qualified name
+ * {@code q.column} looks {@code q} up among the aliases, then the table names; an unqualified
+ * one must belong to exactly one table.
+ */
+final class Scope {
+    private final List<TableRef> references;
+    private final List<Table> tables;
+
+    Scope(List<TableRef> references, List<Table> tables) {
+        this.references = references;
+        this.tables = tables;
+    }
+
+    int size() {
+        return tables.size();
+    }
+
+    Table getTable(int table) {
+        return tables.get(table);
+    }
+
+    /**
+     * Resolves {@code name} among the first {@code visibleTables} tables: a join condition
+     * only sees the tables joined so far.
+     */
+    Binding resolve(String name, int visibleTables) {
+        final int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            final String qualifier = name.substring(0, dot);
+            final String columnName = name.substring(dot + 1);
+            int table = -1;
+            for (int i = 0; i < visibleTables && table < 0; i++) {
+                if (qualifier.equals(references.get(i).getReference())) {
+                    table = i;
+                }
+            }
+            for (int i = 0; i < visibleTables && table < 0; i++) {
+                if (qualifier.equals(references.get(i).getName())) {
+                    table = i;
+                }
+            }
+            if (table < 0) {
+                throw new IllegalArgumentException("Unknown table " + qualifier + " in column " + name);
+            }
+            final int column = tables.get(table).getColumnIndex(columnName);
+            if (column < 0) {
+                throw new IllegalArgumentException("Unknown column " + name);
+            }
+            return new Binding(table, column);
+        }
+        Binding binding = null;
+        for (int i = 0; i < visibleTables; i++) {
+            final int column = tables.get(i).getColumnIndex(name);
+            if (column < 0) {
+                continue;
+            }
+            if (binding != null) {
+                throw new IllegalArgumentException("Ambiguous column " + name);
+            }
+            binding = new Binding(i, column);
+        }
+        if (binding == null) {
+            throw new IllegalArgumentException("Unknown column " + name);
+        }
+        return binding;
+    }
+
+    Column getColumn(Binding binding) {
+        return tables.get(binding.table).getColumn(binding.column);
+    }
+
+    static final class Binding {
+        final int table;
+        final int column;
+
+        Binding(int table, int column) {
+            this.table = table;
+            this.column = column;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Binding binding = (Binding) o;
+            return table == binding.table && column == binding.column;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * table + column;
+        }
+    }
+}
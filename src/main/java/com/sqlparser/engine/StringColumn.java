@@ -0,0 +1,103 @@
+package com.sqlparser.engine;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded strings: each row holds the code of its value in a dictionary of the
+ * distinct values, or {@code -1} for NULL. Predicates on the column are evaluated once per
+ * dictionary entry and then looked up by code.
+ */
+public final class StringColumn extends Column {
+    private final int[] codes;
+    private final String[] dictionary;
+
+    /**
+     * @param values {@code null} elements are NULL
+     */
+    public StringColumn(String[] values) {
+        final Map<String, Integer> codesByValue = new HashMap<>();
+        final int[] codes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            codes[i] = values[i] == null ? -1 : codesByValue.computeIfAbsent(values[i], value -> codesByValue.size());
+        }
+        final String[] dictionary = new String[codesByValue.size()];
+        for (Map.Entry<String, Integer> entry : codesByValue.entrySet()) {
+            dictionary[entry.getValue()] = entry.getKey();
+        }
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    StringColumn(int[] codes, String[] dictionary) {
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.STRING;
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return codes[row] < 0;
+    }
+
+    public String getString(int row) {
+        final int code = codes[row];
+        return code < 0 ? null : dictionary[code];
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return getString(row);
+    }
+
+    /**
+     * Number of distinct values.
+     */
+    public int getDictionarySize() {
+        return dictionary.length;
+    }
+
+    int[] codes() {
+        return codes;
+    }
+
+    String[] dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Rank of each dictionary entry in sorted order, so codes compare as their strings do.
+     */
+    int[] ranks() {
+        final Integer[] order = new Integer[dictionary.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> dictionary[first].compareTo(dictionary[second]));
+        final int[] ranks = new int[dictionary.length];
+        for (int i = 0; i < order.length; i++) {
+            ranks[order[i]] = i;
+        }
+        return ranks;
+    }
+
+    @Override
+    StringColumn gather(int[] rows, int count) {
+        final int[] gathered = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int row = rows[i];
+            gathered[i] = row < 0 ? -1 : codes[row];
+        }
+        return new StringColumn(gathered, dictionary);
+    }
+}
@@ -0,0 +1,120 @@
+package com.sqlparser.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Named, immutable set of equally sized columns. Query results are tables too.
+ */
+public final class Table {
+    private final String name;
+    private final List<String> columnNames;
+    private final List<Column> columns;
+    private final int rowCount;
+
+    private Table(String name, List<String> columnNames, List<Column> columns, int rowCount) {
+        this.name = name;
+        this.columnNames = List.copyOf(columnNames);
+        this.columns = List.copyOf(columns);
+        this.rowCount = rowCount;
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public Column getColumn(int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * @return {@code null} if the table has no such column
+     */
+    public Column getColumn(String columnName) {
+        final int index = getColumnIndex(columnName);
+        return index < 0 ? null : columns.get(index);
+    }
+
+    /**
+     * Index of the first column named {@code columnName}, or {@code -1}.
+     */
+    public int getColumnIndex(String columnName) {
+        return columnNames.indexOf(columnName);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public Object getValue(int row, int column) {
+        return columns.get(column).getValue(row);
+    }
+
+    public Object getValue(int row, String columnName) {
+        final Column column = getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown column " + columnName + " in table " + name);
+        }
+        return column.getValue(row);
+    }
+
+    @Override
+    public String toString() {
+        return "Table{name='" + name + "', columns=" + columnNames + ", rowCount=" + rowCount + '}';
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<Column> columns = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Adds a column; every column must have as many rows as the first.
+         */
+        public Builder addColumn(String columnName, Column column) {
+            if (!columns.isEmpty() && column.size() != columns.get(0).size()) {
+                throw new IllegalArgumentException("Column " + columnName + " has " + column.size()
+                        + " rows, table " + name + " has " + columns.get(0).size());
+            }
+            columnNames.add(columnName);
+            columns.add(column);
+            return this;
+        }
+
+        public Builder addColumn(String columnName, int[] values) {
+            return addColumn(columnName, new IntColumn(values));
+        }
+
+        public Builder addColumn(String columnName, long[] values) {
+            return addColumn(columnName, new LongColumn(values));
+        }
+
+        public Builder addColumn(String columnName, double[] values) {
+            return addColumn(columnName, new DoubleColumn(values));
+        }
+
+        public Builder addColumn(String columnName, String[] values) {
+            return addColumn(columnName, new StringColumn(values));
+        }
+
+        public Table build() {
+            return new Table(name, columnNames, columns, columns.isEmpty() ? 0 : columns.get(0).size());
+        }
+    }
+}
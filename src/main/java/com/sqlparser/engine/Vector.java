@@ -0,0 +1,44 @@
+package com.sqlparser.engine;
+
+/**
+ * Values of an expression for the selected rows of a batch, in selection order. Integers of
+ * any width are evaluated as {@link ColumnType#LONG}.
+ */
+final class Vector {
+    final ColumnType type;
+    final long[] longs;
+    final double[] doubles;
+    final String[] strings;
+    final boolean[] nulls = new boolean[Batch.SIZE];
+
+    Vector(ColumnType type) {
+        this.type = type;
+        this.longs = type == ColumnType.LONG ? new long[Batch.SIZE] : null;
+        this.doubles = type == ColumnType.DOUBLE ? new double[Batch.SIZE] : null;
+        this.strings = type == ColumnType.STRING ? new String[Batch.SIZE] : null;
+    }
+
+    /**
+     * Values as doubles: {@link #doubles}, or {@code scratch} filled from {@link #longs}.
+     */
+    double[] asDoubles(double[] scratch, int count) {
+        if (doubles != null) {
+            return doubles;
+        }
+        for (int i = 0; i < count; i++) {
+            scratch[i] = longs[i];
+        }
+        return scratch;
+    }
+
+    String asString(int index) {
+        switch (type) {
+            case LONG:
+                return Long.toString(longs[index]);
+            case DOUBLE:
+                return Double.toString(doubles[index]);
+            default:
+                return strings[index];
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.expression.ArithmeticOperator;
+
+/**
+ * Value expression evaluated a batch at a time into a {@link Vector}.
+ */
+abstract class VectorExpression {
+    /**
+     * {@link ColumnType#LONG}, {@link ColumnType#DOUBLE} or {@link ColumnType#STRING}.
+     */
+    abstract ColumnType getType();
+
+    /**
+     * Evaluates the rows at {@code selection[0..count)} into {@code out[0..count)}.
+     */
+    abstract void evaluate(Batch batch, int[] selection, int count, Vector out);
+
+    Vector newVector() {
+        return new Vector(getType());
+    }
+
+    static final class ColumnValue extends VectorExpression {
+        private final int table;
+        private final Column column;
+
+        ColumnValue(int table, Column column) {
+            this.table = table;
+            this.column = column;
+        }
+
+        int getTable() {
+            return table;
+        }
+
+        Column getColumn() {
+            return column;
+        }
+
+        @Override
+        ColumnType getType() {
+            return column.getType() == ColumnType.INT ? ColumnType.LONG : column.getType();
+        }
+
+        @Override
+        void evaluate(Batch batch, int[] selection, int count, Vector out) {
+            final int[] rows = batch.rows[table];
+            final boolean[] nulls = out.nulls;
+            switch (column.getType()) {
+                case INT: {
+                    final int[] values = ((IntColumn) column).values();
+                    final boolean[] columnNulls = ((IntColumn) column).nulls();
+                    final long[] longs = out.longs;
+                    for (int i = 0; i < count; i++) {
+                        final int row = rows[selection[i]];
+                        final boolean missing = row < 0 || columnNulls != null && columnNulls[row];
+                        nulls[i] = missing;
+                        longs[i] = missing ? 0 : values[row];
+                    }
+                    break;
+                }
+                case LONG: {
+                    final long[] values = ((LongColumn) column).values();
+                    final boolean[] columnNulls = ((LongColumn) column).nulls();
+                    final long[] longs = out.longs;
+                    for (int i = 0; i < count; i++) {
+                        final int row = rows[selection[i]];
+                        final boolean missing = row < 0 || columnNulls != null && columnNulls[row];
+                        nulls[i] = missing;
+                        longs[i] = missing ? 0 : values[row];
+                    }
+                    break;
+                }
+                case DOUBLE: {
+                    final double[] values = ((DoubleColumn) column).values();
+                    final boolean[] columnNulls = ((DoubleColumn) column).nulls();
+                    final double[] doubles = out.doubles;
+                    for (int i = 0; i < count; i++) {
+                        final int row = rows[selection[i]];
+                        final boolean missing = row < 0 || columnNulls != null && columnNulls[row];
+                        nulls[i] = missing;
+                        doubles[i] = missing ? 0 : values[row];
+                    }
+                    break;
+                }
+                default: {
+                    final int[] codes = ((StringColumn) column).codes();
+                    final String[] dictionary = ((StringColumn) column).dictionary();
+                    final String[] strings = out.strings;
+                    for (int i = 0; i < count; i++) {
+                        final int row = rows[selection[i]];
+                        final int code = row < 0 ? -1 : codes[row];
+                        nulls[i] = code < 0;
+                        strings[i] = code < 0 ? null : dictionary[code];
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    static final class Constant extends VectorExpression {
+        static final Constant NULL = new Constant(ColumnType.LONG, 0, 0, null, true);
+
+        private final ColumnType type;
+        private final long longValue;
+        private final double doubleValue;
+        private final String stringValue;
+        private final boolean isNull;
+
+        private Constant(ColumnType type, long longValue, double doubleValue, String stringValue, boolean isNull) {
+            this.type = type;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.stringValue = stringValue;
+            this.isNull = isNull;
+        }
+
+        static Constant of(long value) {
+            return new Constant(ColumnType.LONG, value, value, null, false);
+        }
+
+        static Constant of(double value) {
+            return new Constant(ColumnType.DOUBLE, 0, value, null, false);
+        }
+
+        static Constant of(String value) {
+            return new Constant(ColumnType.STRING, 0, 0, value, false);
+        }
+
+        boolean isNull() {
+            return isNull;
+        }
+
+        long getLong() {
+            return longValue;
+        }
+
+        /**
+         * The value of a numeric constant as a double.
+         */
+        double getDouble() {
+            return type == ColumnType.LONG ? longValue : doubleValue;
+        }
+
+        String getString() {
+            return stringValue;
+        }
+
+        @Override
+        ColumnType getType() {
+            return type;
+        }
+
+        @Override
+        void evaluate(Batch batch, int[] selection, int count, Vector out) {
+            for (int i = 0; i < count; i++) {
+                out.nulls[i] = isNull;
+            }
+            switch (type) {
+                case LONG:
+                    for (int i = 0; i < count; i++) {
+                        out.longs[i] = longValue;
+                    }
+                    break;
+                case DOUBLE:
+                    for (int i = 0; i < count; i++) {
+                        out.doubles[i] = doubleValue;
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        out.strings[i] = stringValue;
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * {@code +, -, *} over integers stay integers; {@code /} and anything involving a double
+     * give doubles, {@code ||} gives strings. NULL operands and division by zero give NULL.
+     */
+    static final class ArithmeticValue extends VectorExpression {
+        private final VectorExpression left;
+        private final ArithmeticOperator operator;
+        private final VectorExpression right;
+        private final ColumnType type;
+        private final Vector leftValues;
+        private final Vector rightValues;
+        private final double[] leftDoubles = new double[Batch.SIZE];
+        private final double[] rightDoubles = new double[Batch.SIZE];
+
+        ArithmeticValue(VectorExpression left, ArithmeticOperator operator, VectorExpression right) {
+            if (operator != ArithmeticOperator.CONCAT
+                    && (left.getType() == ColumnType.STRING || right.getType() == ColumnType.STRING)) {
+                throw new IllegalArgumentException("Operator " + operator.getSymbol() + " needs numbers");
+            }
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+            this.type = operator == ArithmeticOperator.CONCAT ? ColumnType.STRING
+                    : operator != ArithmeticOperator.DIVIDE && left.getType() == ColumnType.LONG
+                    && right.getType() == ColumnType.LONG ? ColumnType.LONG : ColumnType.DOUBLE;
+            this.leftValues = left.newVector();
+            this.rightValues = right.newVector();
+        }
+
+        @Override
+        ColumnType getType() {
+            return type;
+        }
+
+        @Override
+        void evaluate(Batch batch, int[] selection, int count, Vector out) {
+            left.evaluate(batch, selection, count, leftValues);
+            right.evaluate(batch, selection, count, rightValues);
+            final boolean[] nulls = out.nulls;
+            for (int i = 0; i < count; i++) {
+                nulls[i] = leftValues.nulls[i] | rightValues.nulls[i];
+            }
+            if (type == ColumnType.STRING) {
+                for (int i = 0; i < count; i++) {
+                    out.strings[i] = nulls[i] ? null : leftValues.asString(i) + rightValues.asString(i);
+                }
+            } else if (type == ColumnType.LONG) {
+                evaluateLongs(leftValues.longs, rightValues.longs, count, out.longs);
+            } else {
+                evaluateDoubles(leftValues.asDoubles(leftDoubles, count), rightValues.asDoubles(rightDoubles, count),
+                        count, out);
+            }
+        }
+
+        private void evaluateLongs(long[] left, long[] right, int count, long[] out) {
+            switch (operator) {
+                case ADD:
+                    for (int i = 0; i < count; i++) {
+                        out[i] = left[i] + right[i];
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int i = 0; i < count; i++) {
+                        out[i] = left[i] - right[i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        out[i] = left[i] * right[i];
+                    }
+                    break;
+            }
+        }
+
+        private void evaluateDoubles(double[] left, double[] right, int count, Vector out) {
+            final double[] doubles = out.doubles;
+            switch (operator) {
+                case ADD:
+                    for (int i = 0; i < count; i++) {
+                        doubles[i] = left[i] + right[i];
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int i = 0; i < count; i++) {
+                        doubles[i] = left[i] - right[i];
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int i = 0; i < count; i++) {
+                        doubles[i] = left[i] * right[i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        out.nulls[i] |= right[i] == 0;
+                        doubles[i] = left[i] / right[i];
+                    }
+                    break;
+            }
+        }
+    }
+}
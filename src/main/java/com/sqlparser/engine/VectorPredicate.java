@@ -0,0 +1,521 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.service.OperatorType;
+
+import java.util.Arrays;
+
+/**
+ * Condition evaluated a batch at a time. SQL conditions have three values, so a predicate
+ * selects the rows where it is definitely true, or definitely false; NULL comparisons are
+ * neither.
+ */
+abstract class VectorPredicate {
+    /**
+     * Writes to {@code out} the positions among the ascending {@code selection[0..count)} where
+     * the predicate is {@code value}, in order, and returns their number.
+     * {@code out} is never {@code selection}.
+     */
+    abstract int select(Batch batch, int[] selection, int count, int[] out, boolean value);
+
+    static boolean test(OperatorType operator, int comparison) {
+        switch (operator) {
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_OR_EQUAL_TO:
+                return comparison <= 0;
+            case EQUAL:
+                return comparison == 0;
+            case NOT_EQUAL:
+                return comparison != 0;
+            case GREATER_THAN:
+                return comparison > 0;
+            default:
+                return comparison >= 0;
+        }
+    }
+
+    /**
+     * Operator true exactly where {@code operator} is false, for non-NULL operands.
+     */
+    static OperatorType negate(OperatorType operator) {
+        switch (operator) {
+            case LESS_THAN:
+                return OperatorType.GREATER_THAN_OR_EQUAL_TO;
+            case LESS_THAN_OR_EQUAL_TO:
+                return OperatorType.GREATER_THAN;
+            case EQUAL:
+                return OperatorType.NOT_EQUAL;
+            case NOT_EQUAL:
+                return OperatorType.EQUAL;
+            case GREATER_THAN:
+                return OperatorType.LESS_THAN_OR_EQUAL_TO;
+            default:
+                return OperatorType.LESS_THAN;
+        }
+    }
+
+    /**
+     * Operator for the operands swapped: {@code a < b} is {@code b > a}.
+     */
+    static OperatorType swap(OperatorType operator) {
+        switch (operator) {
+            case LESS_THAN:
+                return OperatorType.GREATER_THAN;
+            case LESS_THAN_OR_EQUAL_TO:
+                return OperatorType.GREATER_THAN_OR_EQUAL_TO;
+            case GREATER_THAN:
+                return OperatorType.LESS_THAN;
+            case GREATER_THAN_OR_EQUAL_TO:
+                return OperatorType.LESS_THAN_OR_EQUAL_TO;
+            default:
+                return operator;
+        }
+    }
+
+    /**
+     * SQL {@code LIKE}: {@code %} matches any run of characters, {@code _} any one character.
+     */
+    static boolean like(String value, String pattern) {
+        int v = 0;
+        int p = 0;
+        int starPattern = -1;
+        int starValue = 0;
+        while (v < value.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '_' || pattern.charAt(p) == value.charAt(v))
+                    && pattern.charAt(p) != '%') {
+                v++;
+                p++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '%') {
+                starPattern = p++;
+                starValue = v;
+            } else if (starPattern >= 0) {
+                p = starPattern + 1;
+                v = ++starValue;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '%') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * Comparison of two arbitrary expressions.
+     */
+    static final class Comparison extends VectorPredicate {
+        private final VectorExpression left;
+        private final OperatorType operator;
+        private final VectorExpression right;
+        private final Vector leftValues;
+        private final Vector rightValues;
+        private final double[] leftDoubles = new double[Batch.SIZE];
+        private final double[] rightDoubles = new double[Batch.SIZE];
+
+        Comparison(VectorExpression left, OperatorType operator, VectorExpression right) {
+            if ((left.getType() == ColumnType.STRING) != (right.getType() == ColumnType.STRING)) {
+                throw new IllegalArgumentException("Cannot compare " + left.getType() + " with " + right.getType());
+            }
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+            this.leftValues = left.newVector();
+            this.rightValues = right.newVector();
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            left.evaluate(batch, selection, count, leftValues);
+            right.evaluate(batch, selection, count, rightValues);
+            final boolean[] leftNulls = leftValues.nulls;
+            final boolean[] rightNulls = rightValues.nulls;
+            int selected = 0;
+            if (leftValues.type == ColumnType.STRING) {
+                for (int i = 0; i < count; i++) {
+                    if (!leftNulls[i] && !rightNulls[i]
+                            && test(operator, leftValues.strings[i].compareTo(rightValues.strings[i])) == value) {
+                        out[selected++] = selection[i];
+                    }
+                }
+            } else if (leftValues.type == ColumnType.LONG && rightValues.type == ColumnType.LONG) {
+                for (int i = 0; i < count; i++) {
+                    if (!leftNulls[i] && !rightNulls[i]
+                            && test(operator, Long.compare(leftValues.longs[i], rightValues.longs[i])) == value) {
+                        out[selected++] = selection[i];
+                    }
+                }
+            } else {
+                final double[] leftNumbers = leftValues.asDoubles(leftDoubles, count);
+                final double[] rightNumbers = rightValues.asDoubles(rightDoubles, count);
+                for (int i = 0; i < count; i++) {
+                    if (!leftNulls[i] && !rightNulls[i]
+                            && test(operator, Double.compare(leftNumbers[i], rightNumbers[i])) == value) {
+                        out[selected++] = selection[i];
+                    }
+                }
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * Comparison of an expression with a constant, one branch-free loop per operator.
+     */
+    static final class ConstantComparison extends VectorPredicate {
+        private final VectorExpression operand;
+        private final OperatorType operator;
+        private final VectorExpression.Constant constant;
+        private final Vector values;
+        private final double[] doubles = new double[Batch.SIZE];
+
+        ConstantComparison(VectorExpression operand, OperatorType operator, VectorExpression.Constant constant) {
+            if (!constant.isNull() && (operand.getType() == ColumnType.STRING) != (constant.getType() == ColumnType.STRING)) {
+                throw new IllegalArgumentException("Cannot compare " + operand.getType() + " with " + constant.getType());
+            }
+            this.operand = operand;
+            this.operator = operator;
+            this.constant = constant;
+            this.values = operand.newVector();
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            if (constant.isNull()) {
+                return 0;
+            }
+            operand.evaluate(batch, selection, count, values);
+            final OperatorType effective = value ? operator : negate(operator);
+            if (values.type == ColumnType.STRING) {
+                return selectStrings(values.strings, values.nulls, selection, count, effective, constant.getString(), out);
+            }
+            if (values.type == ColumnType.LONG && constant.getType() == ColumnType.LONG) {
+                return selectLongs(values.longs, values.nulls, selection, count, effective, constant.getLong(), out);
+            }
+            return selectDoubles(values.asDoubles(doubles, count), values.nulls, selection, count, effective,
+                    constant.getDouble(), out);
+        }
+
+        private static int selectLongs(long[] values, boolean[] nulls, int[] selection, int count,
+                                       OperatorType operator, long constant, int[] out) {
+            int selected = 0;
+            switch (operator) {
+                case LESS_THAN:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] < constant ? 1 : 0;
+                    }
+                    break;
+                case LESS_THAN_OR_EQUAL_TO:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] <= constant ? 1 : 0;
+                    }
+                    break;
+                case EQUAL:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] == constant ? 1 : 0;
+                    }
+                    break;
+                case NOT_EQUAL:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] != constant ? 1 : 0;
+                    }
+                    break;
+                case GREATER_THAN:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] > constant ? 1 : 0;
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] >= constant ? 1 : 0;
+                    }
+                    break;
+            }
+            return selected;
+        }
+
+        private static int selectDoubles(double[] values, boolean[] nulls, int[] selection, int count,
+                                         OperatorType operator, double constant, int[] out) {
+            int selected = 0;
+            switch (operator) {
+                case LESS_THAN:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] < constant ? 1 : 0;
+                    }
+                    break;
+                case LESS_THAN_OR_EQUAL_TO:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] <= constant ? 1 : 0;
+                    }
+                    break;
+                case EQUAL:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] == constant ? 1 : 0;
+                    }
+                    break;
+                case NOT_EQUAL:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] != constant ? 1 : 0;
+                    }
+                    break;
+                case GREATER_THAN:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] > constant ? 1 : 0;
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        out[selected] = selection[i];
+                        selected += !nulls[i] & values[i] >= constant ? 1 : 0;
+                    }
+                    break;
+            }
+            return selected;
+        }
+
+        private static int selectStrings(String[] values, boolean[] nulls, int[] selection, int count,
+                                         OperatorType operator, String constant, int[] out) {
+            int selected = 0;
+            for (int i = 0; i < count; i++) {
+                if (!nulls[i] && test(operator, values[i].compareTo(constant))) {
+                    out[selected++] = selection[i];
+                }
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * Condition on a dictionary-encoded column alone, evaluated once per distinct value:
+     * rows are then selected by looking up their codes.
+     */
+    static final class DictionaryMatch extends VectorPredicate {
+        private final int table;
+        private final int[] codes;
+        private final boolean[] matches;
+
+        /**
+         * @param matches the condition for each dictionary entry
+         */
+        DictionaryMatch(int table, StringColumn column, boolean[] matches) {
+            this.table = table;
+            this.codes = column.codes();
+            this.matches = matches;
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            final int[] rows = batch.rows[table];
+            int selected = 0;
+            for (int i = 0; i < count; i++) {
+                final int row = rows[selection[i]];
+                final int code = row < 0 ? -1 : codes[row];
+                if (code >= 0 && matches[code] == value) {
+                    out[selected++] = selection[i];
+                }
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * Integer expression {@code IN} a list of integer constants, by binary search.
+     */
+    static final class LongIn extends VectorPredicate {
+        private final VectorExpression operand;
+        private final long[] sortedValues;
+        private final Vector values;
+
+        LongIn(VectorExpression operand, long[] sortedValues) {
+            this.operand = operand;
+            this.sortedValues = sortedValues;
+            this.values = operand.newVector();
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            operand.evaluate(batch, selection, count, values);
+            int selected = 0;
+            for (int i = 0; i < count; i++) {
+                if (!values.nulls[i] && (Arrays.binarySearch(sortedValues, values.longs[i]) >= 0) == value) {
+                    out[selected++] = selection[i];
+                }
+            }
+            return selected;
+        }
+    }
+
+    static final class Like extends VectorPredicate {
+        private final VectorExpression operand;
+        private final VectorExpression pattern;
+        private final Vector values;
+        private final Vector patterns;
+
+        Like(VectorExpression operand, VectorExpression pattern) {
+            if (operand.getType() != ColumnType.STRING || pattern.getType() != ColumnType.STRING) {
+                throw new IllegalArgumentException("LIKE needs strings");
+            }
+            this.operand = operand;
+            this.pattern = pattern;
+            this.values = operand.newVector();
+            this.patterns = pattern.newVector();
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            operand.evaluate(batch, selection, count, values);
+            pattern.evaluate(batch, selection, count, patterns);
+            int selected = 0;
+            for (int i = 0; i < count; i++) {
+                if (!values.nulls[i] && !patterns.nulls[i] && like(values.strings[i], patterns.strings[i]) == value) {
+                    out[selected++] = selection[i];
+                }
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * {@code IS NULL}, which is never NULL itself.
+     */
+    static final class IsNull extends VectorPredicate {
+        private final VectorExpression operand;
+        private final boolean negated;
+        private final Vector values;
+
+        IsNull(VectorExpression operand, boolean negated) {
+            this.operand = operand;
+            this.negated = negated;
+            this.values = operand.newVector();
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            operand.evaluate(batch, selection, count, values);
+            final boolean wanted = value != negated;
+            int selected = 0;
+            for (int i = 0; i < count; i++) {
+                out[selected] = selection[i];
+                selected += values.nulls[i] == wanted ? 1 : 0;
+            }
+            return selected;
+        }
+    }
+
+    static final class Not extends VectorPredicate {
+        private final VectorPredicate operand;
+
+        Not(VectorPredicate operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            return operand.select(batch, selection, count, out, !value);
+        }
+    }
+
+    /**
+     * AND or OR of any number of conditions. A conjunction is true where all its terms are and
+     * false where any is; a disjunction the other way round. Each term only sees the rows
+     * still undecided.
+     */
+    static final class Junction extends VectorPredicate {
+        private final VectorPredicate[] terms;
+        private final boolean conjunction;
+        private final int[] remaining = new int[Batch.SIZE];
+        private final int[] found = new int[Batch.SIZE];
+        private int[] decided = new int[Batch.SIZE];
+        private int[] merged = new int[Batch.SIZE];
+
+        Junction(VectorPredicate[] terms, boolean conjunction) {
+            this.terms = terms;
+            this.conjunction = conjunction;
+        }
+
+        @Override
+        int select(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            if (value == conjunction) {
+                return selectAll(batch, selection, count, out, value);
+            }
+            System.arraycopy(selection, 0, remaining, 0, count);
+            int remainingCount = count;
+            int decidedCount = 0;
+            for (VectorPredicate term : terms) {
+                final int foundCount = term.select(batch, remaining, remainingCount, found, value);
+                if (foundCount == 0) {
+                    continue;
+                }
+                decidedCount = union(decided, decidedCount, found, foundCount, merged);
+                final int[] swap = decided;
+                decided = merged;
+                merged = swap;
+                remainingCount = subtract(remaining, remainingCount, found, foundCount);
+                if (remainingCount == 0) {
+                    break;
+                }
+            }
+            System.arraycopy(decided, 0, out, 0, decidedCount);
+            return decidedCount;
+        }
+
+        /**
+         * Positions where every term is {@code value}: each term narrows the positions of the one before.
+         */
+        private int selectAll(Batch batch, int[] selection, int count, int[] out, boolean value) {
+            int[] input = selection;
+            for (int i = 0; i < terms.length && count > 0; i++) {
+                final int[] output = i == terms.length - 1 ? out : input == remaining ? found : remaining;
+                count = terms[i].select(batch, input, count, output, value);
+                input = output;
+            }
+            if (input != out) {
+                System.arraycopy(input, 0, out, 0, count);
+            }
+            return count;
+        }
+
+        private static int union(int[] first, int firstCount, int[] second, int secondCount, int[] out) {
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < firstCount && j < secondCount) {
+                out[k++] = first[i] < second[j] ? first[i++] : second[j++];
+            }
+            while (i < firstCount) {
+                out[k++] = first[i++];
+            }
+            while (j < secondCount) {
+                out[k++] = second[j++];
+            }
+            return k;
+        }
+
+        /**
+         * Removes from {@code positions} the ones in {@code removed}, a subset, in place.
+         */
+        private static int subtract(int[] positions, int count, int[] removed, int removedCount) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count; i++) {
+                if (j < removedCount && removed[j] == positions[i]) {
+                    j++;
+                } else {
+                    positions[kept++] = positions[i];
+                }
+            }
+            return kept;
+        }
+    }
+}
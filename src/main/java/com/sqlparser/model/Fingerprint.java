@@ -0,0 +1,47 @@
+package com.sqlparser.model;
+
+/**
+ * Normalized form of a statement: constants replaced by {@code ?}, lists of constants in
+ * {@code IN (...)} collapsed to one {@code ?}, keywords upper-cased and tokens separated by
+ * single spaces, e.g. {@code SELECT id FROM users WHERE id IN (?) LIMIT ?;}. Statements that
+ * differ only in constants, whitespace or comments share a fingerprint.
+ */
+public final class Fingerprint {
+    private final String text;
+    private final long hash;
+
+    public Fingerprint(String text, long hash) {
+        this.text = text;
+        this.hash = hash;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of {@link #getText()}.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x %s", hash, text);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Fingerprint that = (Fingerprint) o;
+        return hash == that.hash &&
+                text.equals(that.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sqlparser.model;
+
+import com.sqlparser.model.expression.ColumnRef;
+
+import java.util.List;
+
+public class GroupBy {
+    private final int startPosition;
+    private final List<ColumnRef> columns;
+
+    public GroupBy(int startPosition, List<ColumnRef> columns) {
+        this.startPosition = startPosition;
+        this.columns = List.copyOf(columns);
+    }
+
+    public int getStartPosition() {
+        return startPosition;
+    }
+
+    public List<ColumnRef> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("GROUP BY ").append(startPosition).append(' ');
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(columns.get(i));
+        }
+        return result.toString();
+    }
+}
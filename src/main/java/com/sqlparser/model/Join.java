@@ -1,5 +1,10 @@
 package com.sqlparser.model;
 
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.service.OperatorType;
+
 import java.util.Objects;
 
 public class Join {
@@ -7,12 +12,27 @@ public class Join {
     private final String joinTable;
     private final String joinLeftTableKey;
     private final String joinRightTableKey;
+    private final String alias;
+    private final Expression condition;
 
     public Join(JoinType joinType, String joinTable, String joinTableKey, String thisTableJoinKey) {
+        this(joinType, joinTable, null, joinTableKey, thisTableJoinKey, null);
+    }
+
+    /**
+     * @param alias        {@code null} if the table has none
+     * @param joinTableKey left column of the first {@code column = column} term of the ON condition,
+     *                     {@code null} if it has none; likewise {@code thisTableJoinKey}
+     * @param condition    the whole ON condition, which may combine several columns and other operators
+     */
+    public Join(JoinType joinType, String joinTable, String alias, String joinTableKey, String thisTableJoinKey,
+                Expression condition) {
         this.joinType = joinType;
         this.joinTable = joinTable;
+        this.alias = alias;
         this.joinLeftTableKey = joinTableKey;
         this.joinRightTableKey = thisTableJoinKey;
+        this.condition = condition;
     }
 
     public JoinType getJoinType() {
@@ -31,6 +51,34 @@ public class Join {
         return joinRightTableKey;
     }
 
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * Parsed ON condition, {@code null} for joins not created by the parser. Not part of
+     * {@link #equals(Object)}, which compares the table, alias and keys.
+     */
+    public Expression getCondition() {
+        return condition;
+    }
+
+    /**
+     * The ON condition, or the equality of the key columns of a join created without one;
+     * {@code null} if it has neither.
+     */
+    public Expression getEffectiveCondition() {
+        if (condition != null) {
+            return condition;
+        }
+        if (joinLeftTableKey == null || joinRightTableKey == null) {
+            return null;
+        }
+        final String text = joinLeftTableKey + " = " + joinRightTableKey;
+        return new Comparison(text, new ColumnRef(text, 0, joinLeftTableKey.length()), OperatorType.EQUAL,
+                joinLeftTableKey.length() + 1, new ColumnRef(text, joinLeftTableKey.length() + 3, text.length()));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -38,13 +86,14 @@ public class Join {
         Join join = (Join) o;
         return joinType == join.joinType &&
                 Objects.equals(joinTable, join.joinTable) &&
+                Objects.equals(alias, join.alias) &&
                 Objects.equals(joinLeftTableKey, join.joinLeftTableKey) &&
                 Objects.equals(joinRightTableKey, join.joinRightTableKey);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(joinType, joinTable, joinLeftTableKey, joinRightTableKey);
+        return Objects.hash(joinType, joinTable, alias, joinLeftTableKey, joinRightTableKey);
     }
 
     @Override
@@ -52,6 +101,7 @@ public class Join {
         return "Join{" +
                 "joinType=" + joinType +
                 ", joinTable='" + joinTable + '\'' +
+                (alias == null ? "" : ", alias='" + alias + '\'') +
                 ", joinTableKey='" + joinLeftTableKey + '\'' +
                 ", thisTableJoinKey='" + joinRightTableKey + '\'' +
                 '}';
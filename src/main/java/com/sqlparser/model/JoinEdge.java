@@ -0,0 +1,55 @@
+package com.sqlparser.model;
+
+import com.sqlparser.model.expression.Expression;
+
+import java.util.List;
+
+/**
+ * Pair of tables connected by one or more predicates of ON or WHERE conditions.
+ * Every predicate references columns of both tables and of no other table.
+ */
+public final class JoinEdge {
+    private final TableRef left;
+    private final TableRef right;
+    private final List<Expression> predicates;
+    private final int equalityCount;
+
+    public JoinEdge(TableRef left, TableRef right, List<Expression> predicates, int equalityCount) {
+        this.left = left;
+        this.right = right;
+        this.predicates = List.copyOf(predicates);
+        this.equalityCount = equalityCount;
+    }
+
+    public TableRef getLeft() {
+        return left;
+    }
+
+    public TableRef getRight() {
+        return right;
+    }
+
+    public List<Expression> getPredicates() {
+        return predicates;
+    }
+
+    /**
+     * Number of {@code column = column} predicates; a multi-column key counts each of its columns.
+     */
+    public int getEqualityCount() {
+        return equalityCount;
+    }
+
+    /**
+     * {@code true} if the tables are joined on at least one column equality, so a hash or
+     * merge join applies; {@code false} if only by other comparisons.
+     */
+    public boolean isEquiJoin() {
+        return equalityCount > 0;
+    }
+
+    @Override
+    public String toString() {
+        return left.getReference() + " - " + right.getReference() + " " + predicates;
+    }
+}
@@ -0,0 +1,42 @@
+package com.sqlparser.model;
+
+import java.util.List;
+
+/**
+ * Order in which to join the tables of a query, with its estimated cost.
+ */
+public final class JoinOrder {
+    private final List<TableRef> tables;
+    private final double estimatedRows;
+    private final double estimatedCost;
+
+    public JoinOrder(List<TableRef> tables, double estimatedRows, double estimatedCost) {
+        this.tables = List.copyOf(tables);
+        this.estimatedRows = estimatedRows;
+        this.estimatedCost = estimatedCost;
+    }
+
+    public List<TableRef> getTables() {
+        return tables;
+    }
+
+    /**
+     * Estimated rows of the whole join.
+     */
+    public double getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * Sum of the estimated rows produced by each step: the rows of the first table, then the
+     * result of each join. Comparable between orders of the same query only.
+     */
+    public double getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    @Override
+    public String toString() {
+        return "JoinOrder{tables=" + tables + ", estimatedRows=" + estimatedRows + ", estimatedCost=" + estimatedCost + '}';
+    }
+}
@@ -4,12 +4,11 @@ import java.util.Objects;
 
 public class Limit {
     private final int limit;
-    private int offset = 0;
+    private final int offset;
     private final int startPosition;
 
     public Limit(int limit, int startPosition) {
-        this.limit = limit;
-        this.startPosition = startPosition;
+        this(limit, 0, startPosition);
     }
 
     public Limit(int limit, int offset, int startPosition) {
@@ -0,0 +1,63 @@
+package com.sqlparser.model;
+
+import com.sqlparser.model.expression.Expression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OrderBy {
+    private final int startPosition;
+    private final List<Expression> items;
+    private final List<SortDirection> directions;
+
+    /**
+     * @param items      column references or column numbers
+     * @param directions the direction of each item, {@code null} where the statement does not specify one
+     */
+    public OrderBy(int startPosition, List<Expression> items, List<SortDirection> directions) {
+        if (directions.size() != items.size()) {
+            throw new IllegalArgumentException("Expected " + items.size() + " sort directions, got " + directions.size());
+        }
+        this.startPosition = startPosition;
+        this.items = List.copyOf(items);
+        this.directions = Collections.unmodifiableList(new ArrayList<>(directions));
+    }
+
+    public int getStartPosition() {
+        return startPosition;
+    }
+
+    public List<Expression> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the direction of each of {@link #getItems()}, {@code null} where the statement does not specify one
+     */
+    public List<SortDirection> getDirections() {
+        return directions;
+    }
+
+    /**
+     * @return the direction of the item at {@code index}, {@code null} if the statement does not specify one
+     */
+    public SortDirection getDirection(int index) {
+        return directions.get(index);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("ORDER BY ").append(startPosition).append(' ');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(items.get(i));
+            if (directions.get(i) != null) {
+                result.append(' ').append(directions.get(i));
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.sqlparser.model;
+
+/**
+ * Syntax error found while parsing a statement. Only offsets are recorded when the error is
+ * created; the line, column, found text and message are derived from the statement on request.
+ */
+public class ParseError {
+    private final ParseErrorCode code;
+    private final CharSequence source;
+    private final int offset;
+    private final int foundStart;
+    private final int foundEnd;
+    private final String expected;
+    private int line;
+    private int column;
+
+    /**
+     * @param offset     position the error is reported at
+     * @param foundStart start of the token found at the error
+     * @param foundEnd   end of the token found at the error
+     * @param expected   expected token or keyword, {@code null} if any of several would do
+     */
+    public ParseError(ParseErrorCode code, CharSequence source, int offset, int foundStart, int foundEnd, String expected) {
+        this.code = code;
+        this.source = source;
+        this.offset = offset;
+        this.foundStart = foundStart;
+        this.foundEnd = foundEnd;
+        this.expected = expected;
+    }
+
+    public ParseErrorCode getCode() {
+        return code;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * 1-based line of {@link #getOffset()} within the statement.
+     */
+    public int getLine() {
+        locate();
+        return line;
+    }
+
+    /**
+     * 1-based column of {@link #getOffset()} within its line.
+     */
+    public int getColumn() {
+        locate();
+        return column;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * Text of the token found at the error, empty at the end of the statement.
+     */
+    public String getFound() {
+        return source.subSequence(foundStart, foundEnd).toString();
+    }
+
+    public String getMessage() {
+        switch (code) {
+            case EMPTY_QUERY:
+                return "Query isEmpty";
+            case MISSING_TERMINATOR:
+                return "Query must contains ';' at the end. " + source;
+            case UNEXPECTED_END:
+                return "Invalid query";
+            case EXPECTED_TOKEN:
+                return "Invalid token '" + foundChar() + "' at " + offset + " position. Expected '" + expected + "'";
+            case UNCLOSED_STRING:
+                return "Unclosed string value started at " + offset + " position";
+            case INVALID_NUMBER:
+                return "Invalid digit. Position " + offset;
+            case RESERVED_WORD:
+                return "Reserved word '" + getFound() + "' at position " + offset + " must be quoted to be used as a name";
+            case NESTING_TOO_DEEP:
+                return "Nesting too deep at position " + offset + ". At most " + expected + " levels are allowed";
+            default:
+                return "Invalid character '" + foundChar() + "' at position " + offset;
+        }
+    }
+
+    private char foundChar() {
+        return foundStart < source.length() ? source.charAt(foundStart) : '\0';
+    }
+
+    private void locate() {
+        if (line != 0) {
+            return;
+        }
+        int currentLine = 1;
+        int lineStart = 0;
+        final int end = Math.min(offset, source.length());
+        for (int i = 0; i < end; i++) {
+            if (source.charAt(i) == '\n') {
+                currentLine++;
+                lineStart = i + 1;
+            }
+        }
+        column = offset - lineStart + 1;
+        line = currentLine;
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
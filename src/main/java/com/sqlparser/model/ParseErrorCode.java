@@ -0,0 +1,13 @@
+package com.sqlparser.model;
+
+public enum ParseErrorCode {
+    EMPTY_QUERY,
+    MISSING_TERMINATOR,
+    UNEXPECTED_END,
+    INVALID_CHARACTER,
+    EXPECTED_TOKEN,
+    UNCLOSED_STRING,
+    INVALID_NUMBER,
+    RESERVED_WORD,
+    NESTING_TOO_DEEP
+}
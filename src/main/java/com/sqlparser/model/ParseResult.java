@@ -0,0 +1,56 @@
+package com.sqlparser.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of parsing one statement: a {@link Query}, or the errors that prevented it.
+ */
+public class ParseResult {
+    private final Query query;
+    private final List<ParseError> errors;
+
+    private ParseResult(Query query, List<ParseError> errors) {
+        this.query = query;
+        this.errors = errors;
+    }
+
+    public static ParseResult success(Query query) {
+        return new ParseResult(query, Collections.emptyList());
+    }
+
+    public static ParseResult failure(ParseError error) {
+        return new ParseResult(null, Collections.singletonList(error));
+    }
+
+    public static ParseResult failure(List<ParseError> errors) {
+        return new ParseResult(null, Collections.unmodifiableList(errors));
+    }
+
+    /**
+     * Failure that still carries the query assembled from the clauses that did parse.
+     */
+    public static ParseResult recovered(Query partialQuery, List<ParseError> errors) {
+        return new ParseResult(partialQuery, Collections.unmodifiableList(errors));
+    }
+
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Parsed query; for a failure the partial query of a recovering parse, otherwise {@code null}.
+     */
+    public Query getQuery() {
+        return query;
+    }
+
+    public List<ParseError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? String.valueOf(query) : errors.get(0).getMessage();
+    }
+}
@@ -1,77 +1,192 @@
 package com.sqlparser.model;
 
+import com.sqlparser.model.expression.Expression;
+
 import java.util.ArrayList;
 import java.util.List;
 
-public class Query {
-    private final List<String> columns = new ArrayList<>();
-    private final List<String> fromSources = new ArrayList<>();
-    private final List<Join> joins = new ArrayList<>();
-    private final List<String> whereClauses = new ArrayList<>();
-    private String groupBy;
-    private String orderBy;
-    private Limit limit;
-//    private List<Source> fromSources;
-//    private List<Join> joins;
-//    private List<WhereClause> whereClauses;
-//    private List<String> groupByColumns;
-//    private List<Sort> sortColumns;
-//    private Integer limit;
-//    private Integer offset;
-
-    public void addColumn(final String column) {
-        this.columns.add(column);
+/**
+ * Immutable parse result. Lists are exact-sized and unmodifiable and absent clauses share the
+ * empty list. The query owns its text: from input that is not a String the parser copies the
+ * text the query keeps, so a query parsed from a char array, a {@code ByteBuffer} or a
+ * {@code MappedSqlScript} outlives the buffer and can be cached and published to other threads
+ * as is. Expressions added to a {@link Builder}
+ * by hand keep whatever source they were created with.
+ * Instances are assembled with a {@link Builder}.
+ */
+public final class Query {
+    private final List<String> columns;
+    private final List<String> fromSources;
+    private final List<Join> joins;
+    private final List<Expression> whereConditions;
+    private final GroupBy groupBy;
+    private final OrderBy orderBy;
+    private final Limit limit;
+    private final Fingerprint fingerprint;
+
+    private Query(Builder builder) {
+        this.columns = copy(builder.columns);
+        this.fromSources = copy(builder.fromSources);
+        this.joins = copy(builder.joins);
+        this.whereConditions = copy(builder.whereConditions);
+        this.groupBy = builder.groupBy;
+        this.orderBy = builder.orderBy;
+        this.limit = builder.limit;
+        this.fingerprint = builder.fingerprint;
     }
 
-    public List<String> getColumns() {
-        return columns;
+    /**
+     * Like {@link List#copyOf}, without the intermediate array for the common one and two element lists.
+     */
+    private static <E> List<E> copy(List<E> list) {
+        switch (list.size()) {
+            case 0:
+                return List.of();
+            case 1:
+                return List.of(list.get(0));
+            case 2:
+                return List.of(list.get(0), list.get(1));
+            default:
+                return List.copyOf(list);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
-    public void addFromSource(final String fromSource) {
-        this.fromSources.add(fromSource);
+    public List<String> getColumns() {
+        return columns;
     }
 
     public List<String> getFromSources() {
         return fromSources;
     }
 
-    public void addWhere(final String where) {
-        this.whereClauses.add(where);
+    public List<Expression> getWhereConditions() {
+        return whereConditions;
     }
 
+    /**
+     * Textual form of {@link #getWhereConditions()}, e.g. {@code users.id BETWEEN 111 50 100}.
+     */
     public List<String> getWhereClauses() {
+        final List<String> whereClauses = new ArrayList<>(whereConditions.size());
+        for (Expression whereCondition : whereConditions) {
+            whereClauses.add(whereCondition.toString());
+        }
         return whereClauses;
     }
 
-    public void addGroupBy(String groupBy) {
-        this.groupBy = groupBy;
-    }
-
-    public String getGroupBy() {
+    public GroupBy getGroupByClause() {
         return groupBy;
     }
 
-    public void addOrderBy(String orderBy) {
-        this.orderBy = orderBy;
+    /**
+     * Textual form of {@link #getGroupByClause()}, e.g. {@code GROUP BY 94 user.address}.
+     */
+    public String getGroupBy() {
+        return groupBy == null ? null : groupBy.toString();
     }
 
-    public String getOrderBy() {
+    public OrderBy getOrderByClause() {
         return orderBy;
     }
 
-    public void addLimit(Limit limit) {
-        this.limit = limit;
+    /**
+     * Textual form of {@link #getOrderByClause()}, e.g. {@code ORDER BY 94 user.address DESC}.
+     */
+    public String getOrderBy() {
+        return orderBy == null ? null : orderBy.toString();
     }
 
     public Limit getLimit() {
         return limit;
     }
 
-    public void setJoin(final Join join) {
-        this.joins.add(join);
-    }
-
     public List<Join> getJoins() {
         return joins;
     }
-}
\ No newline at end of file
+
+    /**
+     * Normalized statement text and hash, or {@code null} unless
+     * {@link com.sqlparser.service.SqlAnalyzer#setFingerprinting(boolean) fingerprinting} is on.
+     */
+    public Fingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Collects the clauses of a query while it is parsed. {@link #build()} copies them into
+     * a {@link Query}; {@link #clear()} makes the builder reusable for the next statement.
+     */
+    public static final class Builder {
+        private final List<String> columns = new ArrayList<>();
+        private final List<String> fromSources = new ArrayList<>();
+        private final List<Join> joins = new ArrayList<>();
+        private final List<Expression> whereConditions = new ArrayList<>();
+        private GroupBy groupBy;
+        private OrderBy orderBy;
+        private Limit limit;
+        private Fingerprint fingerprint;
+
+        private Builder() {
+        }
+
+        public Builder addColumn(final String column) {
+            this.columns.add(column);
+            return this;
+        }
+
+        public Builder addFromSource(final String fromSource) {
+            this.fromSources.add(fromSource);
+            return this;
+        }
+
+        public Builder addJoin(final Join join) {
+            this.joins.add(join);
+            return this;
+        }
+
+        public Builder addWhere(final Expression where) {
+            this.whereConditions.add(where);
+            return this;
+        }
+
+        public Builder groupBy(GroupBy groupBy) {
+            this.groupBy = groupBy;
+            return this;
+        }
+
+        public Builder orderBy(OrderBy orderBy) {
+            this.orderBy = orderBy;
+            return this;
+        }
+
+        public Builder limit(Limit limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder fingerprint(Fingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+            return this;
+        }
+
+        public Query build() {
+            return new Query(this);
+        }
+
+        public Builder clear() {
+            columns.clear();
+            fromSources.clear();
+            joins.clear();
+            whereConditions.clear();
+            groupBy = null;
+            orderBy = null;
+            limit = null;
+            fingerprint = null;
+            return this;
+        }
+    }
+}
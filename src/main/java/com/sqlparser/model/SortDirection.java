@@ -0,0 +1,6 @@
+package com.sqlparser.model;
+
+public enum SortDirection {
+    ASC,
+    DESC
+}
@@ -0,0 +1,64 @@
+package com.sqlparser.model;
+
+import java.util.List;
+
+/**
+ * Outcome of one statement of a script: the parsed {@link Query}, or the errors it failed with.
+ */
+public class StatementResult {
+    private final int statementNumber;
+    private final int line;
+    private CharSequence statement;
+    private final ParseResult result;
+
+    public StatementResult(int statementNumber, int line, CharSequence statement, ParseResult result) {
+        this.statementNumber = statementNumber;
+        this.line = line;
+        // A failed statement is reported from its text; a successful one is only copied if asked for.
+        this.statement = result.isSuccess() ? statement : statement.toString();
+        this.result = result;
+    }
+
+    public int getStatementNumber() {
+        return statementNumber;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Statement text, copied on the first call. Until then the result of a successful statement
+     * of a memory-mapped script refers to the mapping, which stays mapped, and on Windows the file
+     * locked, while the result is reachable; the {@link Query} owns its text either way.
+     */
+    public CharSequence getStatement() {
+        if (!(statement instanceof String)) {
+            statement = statement.toString();
+        }
+        return statement;
+    }
+
+    public boolean isSuccess() {
+        return result.isSuccess();
+    }
+
+    public Query getQuery() {
+        return result.getQuery();
+    }
+
+    public List<ParseError> getErrors() {
+        return result.getErrors();
+    }
+
+    public ParseResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "Statement " + statementNumber + " at line " + line
+                : "Invalid query at line " + line + ". " + result.getErrors().get(0).getMessage();
+    }
+}
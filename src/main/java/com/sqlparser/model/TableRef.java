@@ -0,0 +1,63 @@
+package com.sqlparser.model;
+
+import java.util.Objects;
+
+/**
+ * Table of a FROM or JOIN clause, under its optional alias.
+ */
+public final class TableRef {
+    private static final String ALIAS_SEPARATOR = " AS ";
+
+    private final String name;
+    private final String alias;
+
+    public TableRef(String name, String alias) {
+        this.name = name;
+        this.alias = alias;
+    }
+
+    /**
+     * Table of a {@link Query#getFromSources() FROM source}, written {@code name} or {@code name AS alias}.
+     */
+    public static TableRef of(String fromSource) {
+        final int separator = fromSource.lastIndexOf(ALIAS_SEPARATOR);
+        return separator < 0 ? new TableRef(fromSource, null)
+                : new TableRef(fromSource.substring(0, separator), fromSource.substring(separator + ALIAS_SEPARATOR.length()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return {@code null} if the table has none
+     */
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * Name the rest of the statement qualifies columns with: the alias, or else the table name.
+     */
+    public String getReference() {
+        return alias == null ? name : alias;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final TableRef tableRef = (TableRef) o;
+        return name.equals(tableRef.name) && Objects.equals(alias, tableRef.alias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, alias);
+    }
+
+    @Override
+    public String toString() {
+        return alias == null ? name : name + " AS " + alias;
+    }
+}
@@ -0,0 +1,64 @@
+package com.sqlparser.model.expression;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+public class And extends Expression {
+    private final Expression left;
+    private final int keywordPosition;
+    private final Expression right;
+
+    public And(CharSequence source, Expression left, int keywordPosition, Expression right) {
+        super(source, left.getStart(), right.getEnd());
+        this.left = left;
+        this.keywordPosition = keywordPosition;
+        this.right = right;
+    }
+
+    public Expression getLeft() {
+        return left;
+    }
+
+    public int getKeywordPosition() {
+        return keywordPosition;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
+    /**
+     * Terms of the AND chain of {@code condition} in the order they are written, or {@code condition}
+     * alone. Iterative, as the chain is as long as the condition.
+     */
+    public static List<Expression> conjuncts(Expression condition) {
+        final List<Expression> conjuncts = new ArrayList<>();
+        final ArrayDeque<Expression> pending = new ArrayDeque<>();
+        pending.push(condition);
+        while (!pending.isEmpty()) {
+            final Expression expression = pending.pop();
+            if (expression instanceof And) {
+                pending.push(((And) expression).getRight());
+                pending.push(((And) expression).getLeft());
+            } else {
+                conjuncts.add(expression);
+            }
+        }
+        return conjuncts;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitAnd(this);
+    }
+
+    @Override
+    public String toString() {
+        return operand(left) + " AND " + keywordPosition + " " + operand(right);
+    }
+
+    private static String operand(Expression expression) {
+        return expression instanceof Or ? "(" + expression + ")" : expression.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.sqlparser.model.expression;
+
+public class Arithmetic extends Expression {
+    private final Expression left;
+    private final ArithmeticOperator operator;
+    private final Expression right;
+
+    public Arithmetic(CharSequence source, Expression left, ArithmeticOperator operator, Expression right) {
+        super(source, left.getStart(), right.getEnd());
+        this.left = left;
+        this.operator = operator;
+        this.right = right;
+    }
+
+    public Expression getLeft() {
+        return left;
+    }
+
+    public ArithmeticOperator getOperator() {
+        return operator;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitArithmetic(this);
+    }
+
+    @Override
+    public String toString() {
+        return operand(left, false) + " " + operator.getSymbol() + " " + operand(right, true);
+    }
+
+    /**
+     * An operand in parentheses if it binds less tightly than this operator, or as tightly on
+     * the right, where the grouping differs from the default left to right.
+     */
+    private String operand(Expression expression, boolean right) {
+        if (expression instanceof Arithmetic) {
+            final int precedence = ((Arithmetic) expression).operator.getPrecedence();
+            if (precedence < operator.getPrecedence() || right && precedence == operator.getPrecedence()) {
+                return "(" + expression + ")";
+            }
+        }
+        return expression.toString();
+    }
+}
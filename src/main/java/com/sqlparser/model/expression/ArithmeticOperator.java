@@ -0,0 +1,28 @@
+package com.sqlparser.model.expression;
+
+public enum ArithmeticOperator {
+    ADD("+", 2),
+    SUBTRACT("-", 2),
+    MULTIPLY("*", 3),
+    DIVIDE("/", 3),
+    CONCAT("||", 1);
+
+    private final String symbol;
+    private final int precedence;
+
+    ArithmeticOperator(String symbol, int precedence) {
+        this.symbol = symbol;
+        this.precedence = precedence;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * How tightly the operator binds; operators of equal precedence group from the left.
+     */
+    public int getPrecedence() {
+        return precedence;
+    }
+}
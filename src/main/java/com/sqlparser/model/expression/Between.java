@@ -0,0 +1,48 @@
+package com.sqlparser.model.expression;
+
+public class Between extends Expression {
+    private final Expression operand;
+    private final boolean negated;
+    private final int keywordPosition;
+    private final Expression lower;
+    private final Expression upper;
+
+    public Between(CharSequence source, Expression operand, boolean negated, int keywordPosition, Expression lower, Expression upper) {
+        super(source, operand.getStart(), upper.getEnd());
+        this.operand = operand;
+        this.negated = negated;
+        this.keywordPosition = keywordPosition;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    public Expression getOperand() {
+        return operand;
+    }
+
+    public boolean isNegated() {
+        return negated;
+    }
+
+    public int getKeywordPosition() {
+        return keywordPosition;
+    }
+
+    public Expression getLower() {
+        return lower;
+    }
+
+    public Expression getUpper() {
+        return upper;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitBetween(this);
+    }
+
+    @Override
+    public String toString() {
+        return operand + " " + (negated ? " NOT " : "") + "BETWEEN " + keywordPosition + " " + lower + " " + upper;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sqlparser.model.expression;
+
+public class ColumnRef extends Expression {
+    public ColumnRef(CharSequence source, int start, int end) {
+        super(source, start, end);
+    }
+
+    /**
+     * Column name without the surrounding backticks, e.g. {@code user.email}.
+     */
+    public String getName() {
+        final CharSequence source = getSource();
+        if (source.charAt(getStart()) == '`') {
+            return source.subSequence(getStart() + 1, getEnd() - 1).toString();
+        }
+        return getText();
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitColumnRef(this);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,44 @@
+package com.sqlparser.model.expression;
+
+import com.sqlparser.service.OperatorType;
+
+public class Comparison extends Expression {
+    private final Expression left;
+    private final OperatorType operator;
+    private final int operatorPosition;
+    private final Expression right;
+
+    public Comparison(CharSequence source, Expression left, OperatorType operator, int operatorPosition, Expression right) {
+        super(source, left.getStart(), right.getEnd());
+        this.left = left;
+        this.operator = operator;
+        this.operatorPosition = operatorPosition;
+        this.right = right;
+    }
+
+    public Expression getLeft() {
+        return left;
+    }
+
+    public OperatorType getOperator() {
+        return operator;
+    }
+
+    public int getOperatorPosition() {
+        return operatorPosition;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitComparison(this);
+    }
+
+    @Override
+    public String toString() {
+        return left + " " + operator + " " + operatorPosition + " " + right;
+    }
+}
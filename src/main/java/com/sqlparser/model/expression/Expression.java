@@ -0,0 +1,35 @@
+package com.sqlparser.model.expression;
+
+/**
+ * Node of a parsed expression. Nodes keep {@code start}/{@code end} offsets into the
+ * statement they were parsed from; text is only materialized on request.
+ */
+public abstract class Expression {
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+
+    protected Expression(CharSequence source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public String getText() {
+        return source.subSequence(start, end).toString();
+    }
+
+    protected CharSequence getSource() {
+        return source;
+    }
+
+    public abstract <R> R accept(ExpressionVisitor<R> visitor);
+}
@@ -0,0 +1,25 @@
+package com.sqlparser.model.expression;
+
+public interface ExpressionVisitor<R> {
+    R visitColumnRef(ColumnRef columnRef);
+
+    R visitLiteral(Literal literal);
+
+    R visitArithmetic(Arithmetic arithmetic);
+
+    R visitComparison(Comparison comparison);
+
+    R visitBetween(Between between);
+
+    R visitIn(In in);
+
+    R visitLike(Like like);
+
+    R visitIsNull(IsNull isNull);
+
+    R visitAnd(And and);
+
+    R visitOr(Or or);
+
+    R visitNot(Not not);
+}
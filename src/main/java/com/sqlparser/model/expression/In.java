@@ -0,0 +1,55 @@
+package com.sqlparser.model.expression;
+
+import java.util.List;
+
+public class In extends Expression {
+    private final Expression operand;
+    private final boolean negated;
+    private final int keywordPosition;
+    private final List<Expression> values;
+
+    public In(CharSequence source, Expression operand, boolean negated, int keywordPosition, List<Expression> values, int end) {
+        super(source, operand.getStart(), end);
+        this.operand = operand;
+        this.negated = negated;
+        this.keywordPosition = keywordPosition;
+        this.values = List.copyOf(values);
+    }
+
+    public Expression getOperand() {
+        return operand;
+    }
+
+    public boolean isNegated() {
+        return negated;
+    }
+
+    public int getKeywordPosition() {
+        return keywordPosition;
+    }
+
+    public List<Expression> getValues() {
+        return values;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitIn(this);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        // The double space before NOT is the rendering of the original string-based parser, which
+        // WhereTest pins for IN, BETWEEN and LIKE alike; where clause strings stay comparable.
+        result.append(operand).append(' ').append(negated ? " NOT " : "").append("IN ").append(keywordPosition).append(' ');
+        final List<Expression> values = getValues();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(values.get(i));
+        }
+        return result.toString();
+    }
+}
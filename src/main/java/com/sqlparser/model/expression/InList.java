@@ -0,0 +1,103 @@
+package com.sqlparser.model.expression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * {@code IN} list made only of integer literals or only of string literals, stored without
+ * a node per value: integers in a {@code long[]}, strings as offsets into the statement.
+ * {@link #getValues()} materializes {@link Literal} nodes on demand for code that walks
+ * any {@link In}.
+ */
+public class InList extends In {
+    private final LiteralType type;
+    private final int[] starts;
+    private final long[] numbers;
+
+    /**
+     * @param type    {@link LiteralType#NUMBER} or {@link LiteralType#STRING}
+     * @param starts  offset of each value in {@code source}, the opening quote for strings
+     * @param numbers the values of a {@code NUMBER} list, {@code null} for strings
+     */
+    public InList(CharSequence source, Expression operand, boolean negated, int keywordPosition,
+                  LiteralType type, int[] starts, long[] numbers, int end) {
+        super(source, operand, negated, keywordPosition, Collections.emptyList(), end);
+        this.type = type;
+        this.starts = starts;
+        this.numbers = numbers;
+    }
+
+    public LiteralType getType() {
+        return type;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public long getLong(int index) {
+        if (numbers == null) {
+            throw new UnsupportedOperationException("Not a NUMBER list");
+        }
+        return numbers[index];
+    }
+
+    public LongStream longs() {
+        if (numbers == null) {
+            throw new UnsupportedOperationException("Not a NUMBER list");
+        }
+        return LongStream.of(numbers);
+    }
+
+    /**
+     * Value without quotes, as {@link Literal#getValue()} returns it; the text as written for numbers.
+     */
+    public String getString(int index) {
+        final int start = starts[index];
+        final int end = valueEnd(start);
+        if (type == LiteralType.STRING) {
+            return getSource().subSequence(start + 1, end - 1).toString();
+        }
+        return getSource().subSequence(start, end).toString();
+    }
+
+    public Literal getValue(int index) {
+        final int start = starts[index];
+        return new Literal(getSource(), start, valueEnd(start), type);
+    }
+
+    /**
+     * A new list of {@link Literal} nodes, one per value.
+     */
+    @Override
+    public List<Expression> getValues() {
+        final List<Expression> values = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            values.add(getValue(i));
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    private int valueEnd(int start) {
+        final CharSequence source = getSource();
+        int position = start;
+        if (type == LiteralType.STRING) {
+            position++;
+            while (true) {
+                if (source.charAt(position++) == '\'') {
+                    if (position < source.length() && source.charAt(position) == '\'') {
+                        position++;
+                    } else {
+                        return position;
+                    }
+                }
+            }
+        }
+        while (position < source.length() && source.charAt(position) >= '0' && source.charAt(position) <= '9') {
+            position++;
+        }
+        return position;
+    }
+}
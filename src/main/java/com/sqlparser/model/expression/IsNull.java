@@ -0,0 +1,30 @@
+package com.sqlparser.model.expression;
+
+public class IsNull extends Expression {
+    private final Expression operand;
+    private final boolean negated;
+
+    public IsNull(CharSequence source, Expression operand, boolean negated, int end) {
+        super(source, operand.getStart(), end);
+        this.operand = operand;
+        this.negated = negated;
+    }
+
+    public Expression getOperand() {
+        return operand;
+    }
+
+    public boolean isNegated() {
+        return negated;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitIsNull(this);
+    }
+
+    @Override
+    public String toString() {
+        return operand + "  IS " + (negated ? "NOT " : "") + "NULL";
+    }
+}
@@ -0,0 +1,42 @@
+package com.sqlparser.model.expression;
+
+public class Like extends Expression {
+    private final Expression operand;
+    private final boolean negated;
+    private final int keywordPosition;
+    private final Expression pattern;
+
+    public Like(CharSequence source, Expression operand, boolean negated, int keywordPosition, Expression pattern) {
+        super(source, operand.getStart(), pattern.getEnd());
+        this.operand = operand;
+        this.negated = negated;
+        this.keywordPosition = keywordPosition;
+        this.pattern = pattern;
+    }
+
+    public Expression getOperand() {
+        return operand;
+    }
+
+    public boolean isNegated() {
+        return negated;
+    }
+
+    public int getKeywordPosition() {
+        return keywordPosition;
+    }
+
+    public Expression getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitLike(this);
+    }
+
+    @Override
+    public String toString() {
+        return operand + " " + (negated ? " NOT " : "") + "LIKE " + keywordPosition + " " + pattern;
+    }
+}
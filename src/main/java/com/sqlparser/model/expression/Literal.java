@@ -0,0 +1,37 @@
+package com.sqlparser.model.expression;
+
+public class Literal extends Expression {
+    private final LiteralType type;
+
+    public Literal(CharSequence source, int start, int end, LiteralType type) {
+        super(source, start, end);
+        this.type = type;
+    }
+
+    public LiteralType getType() {
+        return type;
+    }
+
+    /**
+     * Literal value without quotes; the text as written for other literal types.
+     */
+    public String getValue() {
+        if (type == LiteralType.STRING) {
+            return getSource().subSequence(getStart() + 1, getEnd() - 1).toString();
+        }
+        return getText();
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitLiteral(this);
+    }
+
+    @Override
+    public String toString() {
+        if (type == LiteralType.NULL) {
+            return "NULL " + getStart();
+        }
+        return getText();
+    }
+}
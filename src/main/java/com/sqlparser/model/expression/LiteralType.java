@@ -0,0 +1,8 @@
+package com.sqlparser.model.expression;
+
+public enum LiteralType {
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL
+}
@@ -0,0 +1,27 @@
+package com.sqlparser.model.expression;
+
+public class Not extends Expression {
+    private final Expression operand;
+
+    public Not(CharSequence source, int start, Expression operand) {
+        super(source, start, operand.getEnd());
+        this.operand = operand;
+    }
+
+    public Expression getOperand() {
+        return operand;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitNot(this);
+    }
+
+    @Override
+    public String toString() {
+        if (operand instanceof And || operand instanceof Or) {
+            return "NOT (" + operand + ")";
+        }
+        return "NOT " + operand;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sqlparser.model.expression;
+
+public class Or extends Expression {
+    private final Expression left;
+    private final int keywordPosition;
+    private final Expression right;
+
+    public Or(CharSequence source, Expression left, int keywordPosition, Expression right) {
+        super(source, left.getStart(), right.getEnd());
+        this.left = left;
+        this.keywordPosition = keywordPosition;
+        this.right = right;
+    }
+
+    public Expression getLeft() {
+        return left;
+    }
+
+    public int getKeywordPosition() {
+        return keywordPosition;
+    }
+
+    public Expression getRight() {
+        return right;
+    }
+
+    @Override
+    public <R> R accept(ExpressionVisitor<R> visitor) {
+        return visitor.visitOr(this);
+    }
+
+    @Override
+    public String toString() {
+        return left + " OR " + keywordPosition + " " + right;
+    }
+}
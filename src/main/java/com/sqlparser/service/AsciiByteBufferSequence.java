@@ -0,0 +1,82 @@
+package com.sqlparser.service;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads an ASCII-only byte buffer in place, one byte per char. Buffers holding
+ * multi-byte UTF-8 sequences are decoded once into a char array by {@link #utf8(ByteBuffer)}.
+ */
+final class AsciiByteBufferSequence implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    private AsciiByteBufferSequence(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Views the remaining bytes of {@code utf8} as chars without changing its position.
+     */
+    static CharSequence utf8(ByteBuffer utf8) throws CharacterCodingException {
+        final int start = utf8.position();
+        final int end = utf8.limit();
+        for (int i = start; i < end; i++) {
+            if (utf8.get(i) < 0) {
+                return decode(utf8);
+            }
+        }
+        return new AsciiByteBufferSequence(utf8, start, end - start);
+    }
+
+    private static CharSequence decode(ByteBuffer utf8) throws CharacterCodingException {
+        final char[] chars = new char[utf8.remaining()];
+        final CharBuffer out = CharBuffer.wrap(chars);
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        CoderResult result = decoder.decode(utf8.duplicate(), out, true);
+        if (!result.isError()) {
+            result = decoder.flush(out);
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        return new CharArraySequence(chars, 0, out.position());
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return (char) buffer.get(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new AsciiByteBufferSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) buffer.get(offset + i);
+        }
+        return new String(chars);
+    }
+}
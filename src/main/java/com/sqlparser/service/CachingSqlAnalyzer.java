@@ -0,0 +1,76 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.ParseResult;
+import com.sqlparser.model.Query;
+
+/**
+ * Thread-safe front end to {@link SqlAnalyzer} that returns the cached {@link Query}
+ * for a statement seen before instead of parsing it again. Only valid statements are cached;
+ * invalid ones are parsed each time so their errors carry the caller's input.
+ */
+public final class CachingSqlAnalyzer {
+    private final QueryCache cache;
+    private final ParserListener listener;
+    private final ThreadLocal<SqlAnalyzer> analyzers = ThreadLocal.withInitial(this::newAnalyzer);
+
+    public CachingSqlAnalyzer() {
+        this(new QueryCache());
+    }
+
+    public CachingSqlAnalyzer(QueryCache cache) {
+        this(cache, null);
+    }
+
+    /**
+     * @param listener receives cache lookups and the timings of statements actually parsed,
+     *                 or {@code null}
+     */
+    public CachingSqlAnalyzer(QueryCache cache, ParserListener listener) {
+        this.cache = cache;
+        this.listener = listener;
+    }
+
+    /**
+     * Same contract as {@link SqlAnalyzer#analyze()}.
+     */
+    public Query analyze(String statement) throws Exception {
+        final Query cached = lookup(statement);
+        if (cached != null) {
+            return cached;
+        }
+        return cache.put(statement, analyzers.get().reset(statement).analyze());
+    }
+
+    /**
+     * Same contract as {@link SqlAnalyzer#parse()}.
+     */
+    public ParseResult parse(String statement) {
+        final Query cached = lookup(statement);
+        if (cached != null) {
+            return ParseResult.success(cached);
+        }
+        final ParseResult result = analyzers.get().reset(statement).parse();
+        if (result.isSuccess()) {
+            cache.put(statement, result.getQuery());
+        }
+        return result;
+    }
+
+    public QueryCache getCache() {
+        return cache;
+    }
+
+    private Query lookup(String statement) {
+        final Query cached = cache.get(statement);
+        if (listener != null) {
+            listener.cacheLookup(cached != null);
+        }
+        return cached;
+    }
+
+    private SqlAnalyzer newAnalyzer() {
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+        sqlAnalyzer.setListener(listener);
+        return sqlAnalyzer;
+    }
+}
@@ -0,0 +1,53 @@
+package com.sqlparser.service;
+
+/**
+ * Precomputed character classes. ASCII is answered from a bitmask table; other
+ * characters follow the Unicode identifier rules of {@link Character}.
+ */
+final class CharClass {
+    static final int LETTER = 1;
+    static final int DIGIT = 1 << 1;
+    static final int IDENTIFIER_PART = 1 << 2;
+    static final int WHITESPACE = 1 << 3;
+
+    private static final byte[] ASCII = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ASCII[c] |= LETTER | IDENTIFIER_PART;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            ASCII[c] |= LETTER | IDENTIFIER_PART;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ASCII[c] |= DIGIT | IDENTIFIER_PART;
+        }
+        ASCII['_'] |= IDENTIFIER_PART;
+        mark(" \t\r\n", WHITESPACE);
+    }
+
+    private CharClass() {
+    }
+
+    private static void mark(String chars, int charClass) {
+        for (int i = 0; i < chars.length(); i++) {
+            ASCII[chars.charAt(i)] |= charClass;
+        }
+    }
+
+    static boolean isLetter(char c) {
+        return c < 128 ? (ASCII[c] & LETTER) != 0 : Character.isUnicodeIdentifierStart(c);
+    }
+
+    static boolean isDigit(char c) {
+        return c < 128 && (ASCII[c] & DIGIT) != 0;
+    }
+
+    static boolean isIdentifierPart(char c) {
+        return c < 128 ? (ASCII[c] & IDENTIFIER_PART) != 0 : Character.isUnicodeIdentifierPart(c);
+    }
+
+    static boolean isWhitespace(char c) {
+        return c < 128 && (ASCII[c] & WHITESPACE) != 0;
+    }
+}
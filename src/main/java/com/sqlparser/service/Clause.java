@@ -0,0 +1,14 @@
+package com.sqlparser.service;
+
+/**
+ * Clauses of a {@code SELECT} statement, in the order the analyzer parses them.
+ */
+public enum Clause {
+    SELECT,
+    FROM,
+    JOIN,
+    WHERE,
+    GROUP_BY,
+    ORDER_BY,
+    LIMIT
+}
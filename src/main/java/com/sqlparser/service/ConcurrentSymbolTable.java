@@ -0,0 +1,112 @@
+package com.sqlparser.service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe {@link SymbolTable}. Lookups hash and compare the span in place and take no
+ * lock, so a name seen before costs no allocation; only new names are copied, under a lock.
+ * Once {@code maxSize} names are held, new names are returned as plain copies.
+ */
+public final class ConcurrentSymbolTable implements SymbolTable {
+    public static final int DEFAULT_MAX_SIZE = 1 << 20;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int maxSize;
+    private volatile AtomicReferenceArray<Node> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private volatile int size;
+
+    public ConcurrentSymbolTable() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ConcurrentSymbolTable(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size must not be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String intern(CharSequence chars, int start, int end) {
+        final int hash = hash(chars, start, end);
+        final String symbol = find(table, hash, chars, start, end);
+        return symbol != null ? symbol : add(hash, chars, start, end);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private synchronized String add(int hash, CharSequence chars, int start, int end) {
+        AtomicReferenceArray<Node> current = table;
+        final String existing = find(current, hash, chars, start, end);
+        if (existing != null) {
+            return existing;
+        }
+        final String symbol = chars.subSequence(start, end).toString();
+        if (size >= maxSize) {
+            return symbol;
+        }
+        if (size >= current.length() - (current.length() >>> 2)) {
+            current = resize(current);
+        }
+        final int index = hash & (current.length() - 1);
+        current.set(index, new Node(symbol, hash, current.get(index)));
+        size++;
+        return symbol;
+    }
+
+    private AtomicReferenceArray<Node> resize(AtomicReferenceArray<Node> current) {
+        final AtomicReferenceArray<Node> resized = new AtomicReferenceArray<>(current.length() << 1);
+        for (int i = 0; i < current.length(); i++) {
+            for (Node node = current.get(i); node != null; node = node.next) {
+                final int index = node.hash & (resized.length() - 1);
+                resized.set(index, new Node(node.symbol, node.hash, resized.get(index)));
+            }
+        }
+        table = resized;
+        return resized;
+    }
+
+    private static String find(AtomicReferenceArray<Node> table, int hash, CharSequence chars, int start, int end) {
+        for (Node node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+            if (node.hash == hash && matches(node.symbol, chars, start, end)) {
+                return node.symbol;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String symbol, CharSequence chars, int start, int end) {
+        if (symbol.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < symbol.length(); i++) {
+            if (symbol.charAt(i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Node {
+        private final String symbol;
+        private final int hash;
+        private final Node next;
+
+        private Node(String symbol, int hash, Node next) {
+            this.symbol = symbol;
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+}
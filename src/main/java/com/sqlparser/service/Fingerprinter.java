@@ -0,0 +1,114 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.Fingerprint;
+
+/**
+ * Builds a {@link Fingerprint} from the tokens the analyzer consumes, so normalizing costs
+ * no second scan of the statement. The buffer is reused across statements.
+ */
+final class Fingerprinter {
+    static final char PLACEHOLDER = '?';
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final StringBuilder text = new StringBuilder(128);
+    private boolean spaceBefore;
+
+    void reset() {
+        text.setLength(0);
+        spaceBefore = false;
+    }
+
+    /**
+     * Appends the current token of {@code lexer}, replacing string and number literals by
+     * {@link #PLACEHOLDER} unless {@code verbatim}.
+     */
+    void token(SqlLexer lexer, boolean verbatim) {
+        switch (lexer.getType()) {
+            case KEYWORD:
+                separate(true);
+                text.append(lexer.getKeyword().name());
+                break;
+            case STRING:
+            case NUMBER:
+                separate(true);
+                if (verbatim) {
+                    text.append(lexer.getInput(), lexer.getStart(), lexer.getEnd());
+                } else {
+                    text.append(PLACEHOLDER);
+                }
+                break;
+            case OPERATOR:
+            case PUNCTUATION:
+                symbol(lexer);
+                break;
+            case END:
+                break;
+            default:
+                separate(true);
+                text.append(lexer.getInput(), lexer.getStart(), lexer.getEnd());
+                break;
+        }
+    }
+
+    /**
+     * Position to {@link #collapse(int)} back to.
+     */
+    int mark() {
+        return text.length();
+    }
+
+    /**
+     * Replaces everything appended since {@code mark} by a single {@link #PLACEHOLDER}.
+     */
+    void collapse(int mark) {
+        text.setLength(mark);
+        text.append(PLACEHOLDER);
+        spaceBefore = true;
+    }
+
+    Fingerprint finish() {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return new Fingerprint(text.toString(), hash);
+    }
+
+    private void symbol(SqlLexer lexer) {
+        if (lexer.getEnd() - lexer.getStart() == 1) {
+            switch (lexer.firstChar()) {
+                case ',':
+                case ';':
+                case ')':
+                    separate(false);
+                    text.append(lexer.firstChar());
+                    return;
+                case '.':
+                    separate(false);
+                    text.append('.');
+                    spaceBefore = false;
+                    return;
+                case '(':
+                    separate(true);
+                    text.append('(');
+                    spaceBefore = false;
+                    return;
+                default:
+                    break;
+            }
+        }
+        separate(true);
+        text.append(lexer.getInput(), lexer.getStart(), lexer.getEnd());
+    }
+
+    private void separate(boolean space) {
+        if (space && spaceBefore) {
+            text.append(' ');
+        }
+        spaceBefore = true;
+    }
+}
@@ -0,0 +1,544 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.Join;
+import com.sqlparser.model.JoinEdge;
+import com.sqlparser.model.JoinOrder;
+import com.sqlparser.model.JoinType;
+import com.sqlparser.model.Query;
+import com.sqlparser.model.TableRef;
+import com.sqlparser.model.expression.And;
+import com.sqlparser.model.expression.Arithmetic;
+import com.sqlparser.model.expression.Between;
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.model.expression.ExpressionVisitor;
+import com.sqlparser.model.expression.In;
+import com.sqlparser.model.expression.InList;
+import com.sqlparser.model.expression.IsNull;
+import com.sqlparser.model.expression.Like;
+import com.sqlparser.model.expression.Literal;
+import com.sqlparser.model.expression.Not;
+import com.sqlparser.model.expression.Or;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tables of a query and the predicates connecting them, taken from the ON conditions of its
+ * joins and from the WHERE clause. Reports cycles and cross joins, and suggests a join order
+ * from table row counts.
+ * <p>
+ * Columns are attributed to tables by their qualifier, which is matched against table aliases
+ * and then table names; an unqualified column belongs to the only table of a single-table query
+ * and is unresolved otherwise. Predicates with unresolved columns connect no tables.
+ */
+public final class JoinGraph {
+    /**
+     * Rows assumed for a table missing from the statistics.
+     */
+    public static final long DEFAULT_ROW_COUNT = 1000;
+
+    // Textbook selectivity guesses for predicates that are not a column equality between tables.
+    static final double EQUALITY_SELECTIVITY = 0.1;
+    static final double DEFAULT_SELECTIVITY = 1.0 / 3;
+
+    private static final int UNRESOLVED = -1;
+
+    private final List<TableRef> tables;
+    private final JoinType[] joinTypes;
+    private final int[] segments;
+    private final BitSet[] dependencies;
+    private final List<Predicate> predicates;
+    private final List<JoinEdge> edges = new ArrayList<>();
+    private final List<JoinEdge> cycleEdges = new ArrayList<>();
+    private final List<List<TableRef>> components = new ArrayList<>();
+
+    private JoinGraph(Query query) {
+        final List<String> fromSources = query.getFromSources();
+        final List<Join> joins = query.getJoins();
+        final int count = fromSources.size() + joins.size();
+        final List<TableRef> tables = new ArrayList<>(count);
+        for (String fromSource : fromSources) {
+            tables.add(TableRef.of(fromSource));
+        }
+        for (Join join : joins) {
+            tables.add(new TableRef(join.getJoinTable(), join.getAlias()));
+        }
+        this.tables = List.copyOf(tables);
+        this.joinTypes = new JoinType[count];
+        this.segments = new int[count];
+        this.dependencies = new BitSet[count];
+        this.predicates = new ArrayList<>();
+
+        final Map<String, Integer> references = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            references.putIfAbsent(this.tables.get(i).getReference(), i);
+        }
+        for (int i = 0; i < count; i++) {
+            references.putIfAbsent(this.tables.get(i).getName(), i);
+        }
+
+        final BitSet nullable = new BitSet(count);
+        int segment = 0;
+        for (int i = 0; i < fromSources.size(); i++) {
+            dependencies[i] = new BitSet(count);
+        }
+        for (int j = 0; j < joins.size(); j++) {
+            final int table = fromSources.size() + j;
+            final Join join = joins.get(j);
+            final JoinType joinType = join.getJoinType();
+            final Expression condition = join.getEffectiveCondition();
+            final BitSet referenced = new BitSet(count);
+            boolean resolved = true;
+            for (Expression conjunct : condition == null ? List.<Expression>of() : And.conjuncts(condition)) {
+                final Predicate predicate = new Predicate(conjunct, references, count);
+                resolved &= predicate.resolved;
+                referenced.or(predicate.tables);
+                // The ON condition of an outer join matches rows of the joined table, it does
+                // not filter the preserved side.
+                if (joinType == JoinType.INNER || predicate.tables.get(table)) {
+                    predicates.add(predicate);
+                }
+            }
+            referenced.clear(table);
+
+            final BitSet dependency = new BitSet(count);
+            if (joinType == JoinType.RIGHT || joinType == JoinType.FULL_OUTER) {
+                // Everything written before is one side of the join: nothing moves across it.
+                segment++;
+                segments[table] = segment++;
+                nullable.set(0, table);
+                if (joinType == JoinType.FULL_OUTER) {
+                    nullable.set(table);
+                }
+            } else {
+                segments[table] = segment;
+                if (!resolved || joinType == JoinType.LEFT && referenced.isEmpty()) {
+                    dependency.set(0, table);
+                } else if (joinType == JoinType.LEFT) {
+                    dependency.or(referenced);
+                } else {
+                    referenced.and(nullable);
+                    dependency.or(referenced);
+                }
+                if (joinType == JoinType.LEFT) {
+                    nullable.set(table);
+                }
+            }
+            joinTypes[table] = joinType;
+            dependencies[table] = dependency;
+        }
+        for (Expression condition : query.getWhereConditions()) {
+            for (Expression conjunct : And.conjuncts(condition)) {
+                predicates.add(new Predicate(conjunct, references, count));
+            }
+        }
+        connect();
+    }
+
+    /**
+     * Builds the graph of {@code query}. Joins created by the parser contribute their whole
+     * ON condition; other joins contribute their key columns.
+     */
+    public static JoinGraph of(Query query) {
+        return new JoinGraph(query);
+    }
+
+    /**
+     * Tables in the order they are written: FROM sources first, then joined tables.
+     */
+    public List<TableRef> getTables() {
+        return tables;
+    }
+
+    /**
+     * One edge per connected pair of tables, in the order their first predicates are written.
+     */
+    public List<JoinEdge> getEdges() {
+        return edges;
+    }
+
+    /**
+     * Edges that close a cycle: each connects tables already connected through the edges before
+     * it. Estimates multiply the selectivities around a cycle, so they tend to be too low.
+     */
+    public List<JoinEdge> getCycleEdges() {
+        return cycleEdges;
+    }
+
+    /**
+     * Groups of tables connected by edges, in the order of their first tables.
+     */
+    public List<List<TableRef>> getComponents() {
+        return components;
+    }
+
+    /**
+     * {@code true} if some tables are joined without any predicate between the groups, so
+     * the result holds every combination of their rows.
+     */
+    public boolean hasCrossJoin() {
+        return components.size() > 1;
+    }
+
+    /**
+     * Greedy join order: starting from each table that may come first, repeatedly joins the
+     * table connected to those already joined that yields the fewest rows, and keeps the
+     * cheapest of the resulting orders. Outer joins keep their semantics: a LEFT joined table
+     * follows the tables of its ON condition, inner joins referencing it follow it, and no
+     * table moves across a RIGHT or FULL join. If no order satisfies these, as when an ON
+     * condition references a table joined after it, the written order is returned.
+     *
+     * @param rowCounts rows per table name or alias; missing tables count {@link #DEFAULT_ROW_COUNT}
+     */
+    public JoinOrder suggestOrder(Map<String, Long> rowCounts) {
+        final int count = tables.size();
+        final double[] rows = rows(rowCounts);
+        int[] best = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        final BitSet placed = new BitSet(count);
+        final int[] order = new int[count];
+        for (int start = 0; start < count; start++) {
+            placed.clear();
+            if (!eligible(start, placed)) {
+                continue;
+            }
+            order[0] = start;
+            double current = step(start, placed, 0, rows);
+            double cost = current;
+            placed.set(start);
+            boolean complete = true;
+            for (int position = 1; position < count && complete; position++) {
+                int next = UNRESOLVED;
+                boolean nextConnected = false;
+                double nextRows = 0;
+                for (int table = 0; table < count; table++) {
+                    if (placed.get(table) || !eligible(table, placed)) {
+                        continue;
+                    }
+                    final boolean connected = connected(table, placed);
+                    final double result = step(table, placed, current, rows);
+                    if (next == UNRESOLVED || connected && !nextConnected
+                            || connected == nextConnected && result < nextRows) {
+                        next = table;
+                        nextConnected = connected;
+                        nextRows = result;
+                    }
+                }
+                if (next == UNRESOLVED) {
+                    // The conditions reference a table written after them: no order from this start.
+                    complete = false;
+                    break;
+                }
+                order[position] = next;
+                placed.set(next);
+                current = nextRows;
+                cost += current;
+            }
+            if (complete && cost < bestCost) {
+                bestCost = cost;
+                best = order.clone();
+            }
+        }
+        if (best == null) {
+            return count == 0 ? new JoinOrder(List.of(), 0, 0) : writtenOrder(rowCounts);
+        }
+        return estimate(best, rows);
+    }
+
+    /**
+     * Estimates of the order the tables are written in, for comparison with {@link #suggestOrder(Map)}.
+     */
+    public JoinOrder writtenOrder(Map<String, Long> rowCounts) {
+        final int[] order = new int[tables.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return estimate(order, rows(rowCounts));
+    }
+
+    private JoinOrder estimate(int[] order, double[] rows) {
+        final BitSet placed = new BitSet(order.length);
+        final List<TableRef> orderedTables = new ArrayList<>(order.length);
+        double current = 0;
+        double cost = 0;
+        for (int table : order) {
+            current = step(table, placed, current, rows);
+            cost += current;
+            placed.set(table);
+            orderedTables.add(tables.get(table));
+        }
+        return new JoinOrder(orderedTables, current, cost);
+    }
+
+    private double[] rows(Map<String, Long> rowCounts) {
+        final double[] rows = new double[tables.size()];
+        for (int i = 0; i < rows.length; i++) {
+            final TableRef table = tables.get(i);
+            Long count = rowCounts.get(table.getReference());
+            if (count == null) {
+                count = rowCounts.get(table.getName());
+            }
+            rows[i] = Math.max(1, count == null ? DEFAULT_ROW_COUNT : count);
+        }
+        return rows;
+    }
+
+    /**
+     * Estimated rows after joining {@code table} to the {@code current} rows of the {@code placed} tables.
+     */
+    private double step(int table, BitSet placed, double current, double[] rows) {
+        double tableRows = rows[table];
+        double selectivity = 1;
+        for (Predicate predicate : predicates) {
+            if (!predicate.resolved || !predicate.tables.get(table) || !predicate.isWithin(placed, table)) {
+                continue;
+            }
+            if (predicate.tableCount == 1) {
+                tableRows *= predicate.equality ? EQUALITY_SELECTIVITY : DEFAULT_SELECTIVITY;
+            } else if (predicate.columnEquality) {
+                // Without column statistics, assume the column of the smaller table is its key.
+                selectivity /= Math.min(rows[predicate.first], rows[predicate.second]);
+            } else {
+                selectivity *= DEFAULT_SELECTIVITY;
+            }
+        }
+        if (placed.isEmpty()) {
+            return tableRows;
+        }
+        final double joined = current * tableRows * selectivity;
+        if (joinTypes[table] == JoinType.LEFT) {
+            return Math.max(current, joined);
+        }
+        if (joinTypes[table] == JoinType.RIGHT) {
+            return Math.max(tableRows, joined);
+        }
+        if (joinTypes[table] == JoinType.FULL_OUTER) {
+            return Math.max(Math.max(current, tableRows), joined);
+        }
+        return joined;
+    }
+
+    private boolean eligible(int table, BitSet placed) {
+        for (int other = placed.nextClearBit(0); other < tables.size(); other = placed.nextClearBit(other + 1)) {
+            if (segments[other] < segments[table]) {
+                return false;
+            }
+        }
+        final BitSet missing = (BitSet) dependencies[table].clone();
+        missing.andNot(placed);
+        return missing.isEmpty();
+    }
+
+    private boolean connected(int table, BitSet placed) {
+        for (Predicate predicate : predicates) {
+            if (predicate.resolved && predicate.tableCount > 1 && predicate.tables.get(table)
+                    && predicate.isWithin(placed, table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Groups the two-table predicates into edges and finds cycles and components with a union-find.
+     */
+    private void connect() {
+        final Map<Long, List<Expression>> pairs = new LinkedHashMap<>();
+        final Map<Long, Integer> equalities = new HashMap<>();
+        for (Predicate predicate : predicates) {
+            if (!predicate.resolved || predicate.tableCount != 2) {
+                continue;
+            }
+            final long pair = (long) predicate.first << 32 | predicate.second;
+            pairs.computeIfAbsent(pair, key -> new ArrayList<>()).add(predicate.expression);
+            equalities.merge(pair, predicate.columnEquality ? 1 : 0, Integer::sum);
+        }
+        final int[] parents = new int[tables.size()];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        for (Map.Entry<Long, List<Expression>> entry : pairs.entrySet()) {
+            final int first = (int) (entry.getKey() >>> 32);
+            final int second = (int) (long) entry.getKey();
+            final JoinEdge edge = new JoinEdge(tables.get(first), tables.get(second), entry.getValue(),
+                    equalities.get(entry.getKey()));
+            edges.add(edge);
+            final int firstRoot = root(parents, first);
+            final int secondRoot = root(parents, second);
+            if (firstRoot == secondRoot) {
+                cycleEdges.add(edge);
+            } else {
+                parents[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+            }
+        }
+        final Map<Integer, List<TableRef>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < parents.length; i++) {
+            groups.computeIfAbsent(root(parents, i), key -> new ArrayList<>()).add(tables.get(i));
+        }
+        for (List<TableRef> group : groups.values()) {
+            components.add(List.copyOf(group));
+        }
+    }
+
+    private static int root(int[] parents, int table) {
+        while (parents[table] != table) {
+            parents[table] = parents[parents[table]];
+            table = parents[table];
+        }
+        return table;
+    }
+
+    /**
+     * Tables whose columns {@code expression} references, with bit {@code count} set if some column is unresolved.
+     */
+    private static BitSet resolve(Expression expression, Map<String, Integer> references, int count) {
+        final ColumnTables columns = new ColumnTables(references, count);
+        columns.pending.push(expression);
+        while (!columns.pending.isEmpty()) {
+            columns.pending.pop().accept(columns);
+        }
+        return columns.referenced;
+    }
+
+    /**
+     * Marks the table of each column visited and queues the operands of every other node, so the
+     * tree is walked without recursion.
+     */
+    private static final class ColumnTables implements ExpressionVisitor<Void> {
+        private final Map<String, Integer> references;
+        private final int count;
+        private final BitSet referenced;
+        private final ArrayDeque<Expression> pending = new ArrayDeque<>();
+
+        private ColumnTables(Map<String, Integer> references, int count) {
+            this.references = references;
+            this.count = count;
+            this.referenced = new BitSet(count + 1);
+        }
+
+        @Override
+        public Void visitColumnRef(ColumnRef columnRef) {
+            final String name = columnRef.getName();
+            final int dot = name.lastIndexOf('.');
+            final Integer table = dot < 0 ? (count == 1 ? Integer.valueOf(0) : null) : references.get(name.substring(0, dot));
+            referenced.set(table == null ? count : table);
+            return null;
+        }
+
+        @Override
+        public Void visitLiteral(Literal literal) {
+            return null;
+        }
+
+        @Override
+        public Void visitArithmetic(Arithmetic arithmetic) {
+            pending.push(arithmetic.getLeft());
+            pending.push(arithmetic.getRight());
+            return null;
+        }
+
+        @Override
+        public Void visitComparison(Comparison comparison) {
+            pending.push(comparison.getLeft());
+            pending.push(comparison.getRight());
+            return null;
+        }
+
+        @Override
+        public Void visitBetween(Between between) {
+            pending.push(between.getOperand());
+            pending.push(between.getLower());
+            pending.push(between.getUpper());
+            return null;
+        }
+
+        @Override
+        public Void visitIn(In in) {
+            pending.push(in.getOperand());
+            // The values of an InList are all literals.
+            if (!(in instanceof InList)) {
+                for (Expression value : in.getValues()) {
+                    pending.push(value);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitLike(Like like) {
+            pending.push(like.getOperand());
+            pending.push(like.getPattern());
+            return null;
+        }
+
+        @Override
+        public Void visitIsNull(IsNull isNull) {
+            pending.push(isNull.getOperand());
+            return null;
+        }
+
+        @Override
+        public Void visitAnd(And and) {
+            pending.push(and.getLeft());
+            pending.push(and.getRight());
+            return null;
+        }
+
+        @Override
+        public Void visitOr(Or or) {
+            pending.push(or.getLeft());
+            pending.push(or.getRight());
+            return null;
+        }
+
+        @Override
+        public Void visitNot(Not not) {
+            pending.push(not.getOperand());
+            return null;
+        }
+    }
+
+    private static final class Predicate {
+        private final Expression expression;
+        private final BitSet tables;
+        private final boolean resolved;
+        private final int tableCount;
+        private final int first;
+        private final int second;
+        private final boolean equality;
+        private final boolean columnEquality;
+
+        private Predicate(Expression expression, Map<String, Integer> references, int count) {
+            final BitSet referenced = resolve(expression, references, count);
+            this.expression = expression;
+            this.resolved = !referenced.get(count);
+            referenced.clear(count);
+            this.tables = referenced;
+            this.tableCount = referenced.cardinality();
+            this.first = referenced.nextSetBit(0);
+            this.second = first < 0 ? -1 : referenced.nextSetBit(first + 1);
+            this.equality = expression instanceof Comparison && ((Comparison) expression).getOperator() == OperatorType.EQUAL;
+            this.columnEquality = equality && ((Comparison) expression).getLeft() instanceof ColumnRef
+                    && ((Comparison) expression).getRight() instanceof ColumnRef;
+        }
+
+        /**
+         * {@code true} if every table of the predicate is {@code placed} or is {@code table}.
+         */
+        private boolean isWithin(BitSet placed, int table) {
+            for (int other = tables.nextSetBit(0); other >= 0; other = tables.nextSetBit(other + 1)) {
+                if (other != table && !placed.get(other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.sqlparser.service;
+
+import java.util.Arrays;
+
+/**
+ * Reserved words. Unquoted identifiers spelled like one of these, in any case, are
+ * tokenized as keywords and can not be used as names; quote them with backticks instead.
+ */
+public enum Keyword {
+    SELECT,
+    DISTINCT,
+    ALL,
+    FROM,
+    WHERE,
+    AS,
+    JOIN,
+    LEFT,
+    RIGHT,
+    INNER,
+    FULL,
+    OUTER,
+    CROSS,
+    ON,
+    USING,
+    AND,
+    OR,
+    NOT,
+    IN,
+    IS,
+    NULL,
+    LIKE,
+    BETWEEN,
+    EXISTS,
+    TRUE,
+    FALSE,
+    CASE,
+    WHEN,
+    THEN,
+    ELSE,
+    END,
+    GROUP,
+    ORDER,
+    BY,
+    HAVING,
+    ASC,
+    DESC,
+    LIMIT,
+    OFFSET,
+    UNION,
+    INTERSECT,
+    EXCEPT,
+    INSERT,
+    INTO,
+    VALUES,
+    UPDATE,
+    SET,
+    DELETE,
+    CREATE,
+    ALTER,
+    DROP;
+
+    private static final int TABLE_BITS = 8;
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+    private static final int MAX_LENGTH;
+    private static final int SEED;
+    private static final Keyword[] TABLE = new Keyword[TABLE_SIZE];
+
+    static {
+        int maxLength = 0;
+        for (Keyword keyword : values()) {
+            maxLength = Math.max(maxLength, keyword.name().length());
+        }
+        MAX_LENGTH = maxLength;
+        SEED = findSeed();
+        for (Keyword keyword : values()) {
+            TABLE[slot(keyword.name(), 0, keyword.name().length(), SEED)] = keyword;
+        }
+    }
+
+    /**
+     * Looks up {@code input[start, end)} case-insensitively: one hash over the length and three
+     * characters selects the only candidate, which is then compared. Returns {@code null} for
+     * non-keywords.
+     */
+    static Keyword lookup(CharSequence input, int start, int end) {
+        final int length = end - start;
+        if (length < 2 || length > MAX_LENGTH) {
+            return null;
+        }
+        final Keyword candidate = TABLE[slot(input, start, end, SEED)];
+        if (candidate == null) {
+            return null;
+        }
+        final String name = candidate.name();
+        if (name.length() != length) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            if (upper(input.charAt(start + i)) != name.charAt(i)) {
+                return null;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * True when {@code word} is a reserved word and must be quoted to be used as a name.
+     */
+    public static boolean isKeyword(CharSequence word) {
+        return lookup(word, 0, word.length()) != null;
+    }
+
+    private static int slot(CharSequence input, int start, int end, int seed) {
+        final int length = end - start;
+        int hash = length;
+        hash = hash * seed + upper(input.charAt(start));
+        hash = hash * seed + upper(input.charAt(start + 1));
+        hash = hash * seed + upper(input.charAt(end - 1));
+        return (hash * 0x9E3779B9) >>> (Integer.SIZE - TABLE_BITS);
+    }
+
+    /**
+     * Smallest multiplier that gives every keyword its own slot, so a lookup never probes.
+     */
+    private static int findSeed() {
+        final boolean[] used = new boolean[TABLE_SIZE];
+        for (int seed = 31; ; seed += 2) {
+            Arrays.fill(used, false);
+            boolean collision = false;
+            for (Keyword keyword : values()) {
+                final int slot = slot(keyword.name(), 0, keyword.name().length(), seed);
+                if (used[slot]) {
+                    collision = true;
+                    break;
+                }
+                used[slot] = true;
+            }
+            if (!collision) {
+                return seed;
+            }
+        }
+    }
+
+    private static char upper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,197 @@
+package com.sqlparser.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the statements of a UTF-8 script file through a sliding memory-mapped window.
+ * Statement boundaries are found directly in the mapped bytes with the same rules as
+ * {@link SqlScriptSplitter}, and each statement is returned as a view of the mapping, so
+ * ASCII statements are never copied or decoded. A statement crossing the end of the window
+ * is rescanned from a window remapped at its start; the window grows if one statement does
+ * not fit.
+ * <p>
+ * A view keeps its whole window mapped, and on Windows the file locked, for as long as it is
+ * reachable. {@link SqlScriptParser} and {@link ParallelSqlParser} parse the views in place and
+ * copy only what their results keep, see {@link com.sqlparser.model.StatementResult}; other
+ * callers should copy the statements they keep.
+ */
+public final class MappedSqlScript implements StatementSource {
+    static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private static final int NORMAL = 0;
+    private static final int STRING = 1;
+    private static final int QUOTED_IDENTIFIER = 2;
+    private static final int LINE_COMMENT = 3;
+    private static final int BLOCK_COMMENT = 4;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private int line = 1;
+    private int statementNumber;
+
+    private int statementStart;
+    private int statementEnd;
+    private int statementLine;
+
+    MappedSqlScript(FileChannel channel, int windowSize) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    public static MappedSqlScript open(Path path) throws IOException {
+        return new MappedSqlScript(FileChannel.open(path, StandardOpenOption.READ), DEFAULT_WINDOW_SIZE);
+    }
+
+    @Override
+    public CharSequence nextStatement() throws IOException {
+        while (!scan()) {
+            map(windowStart + position);
+        }
+        if (statementStart < 0) {
+            return null;
+        }
+        statementNumber++;
+        final ByteBuffer bytes = window.duplicate();
+        bytes.limit(statementEnd).position(statementStart);
+        return AsciiByteBufferSequence.utf8(bytes);
+    }
+
+    @Override
+    public int getStatementNumber() {
+        return statementNumber;
+    }
+
+    @Override
+    public int getStatementLine() {
+        return statementLine;
+    }
+
+    /**
+     * Bytes of the file consumed by the statements read so far, including separators.
+     */
+    public long getBytesScanned() {
+        return windowStart + position;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Finds the next statement from {@code position}. Returns {@code false} if the window ends
+     * before the statement does and the file continues; nothing is committed in that case.
+     */
+    private boolean scan() {
+        final int limit = window.limit();
+        final boolean lastWindow = windowStart + limit == fileSize;
+        int state = NORMAL;
+        int lines = 0;
+        int start = -1;
+        int startLines = 0;
+        int i = position;
+        for (; i < limit; i++) {
+            final byte b = window.get(i);
+            if (b == '\n') {
+                lines++;
+            }
+            switch (state) {
+                case NORMAL:
+                    if (b == '-' || b == '/') {
+                        if (i + 1 == limit) {
+                            if (!lastWindow) {
+                                return false;
+                            }
+                        } else if (window.get(i + 1) == (b == '-' ? '-' : '*')) {
+                            state = b == '-' ? LINE_COMMENT : BLOCK_COMMENT;
+                            i++;
+                            continue;
+                        }
+                    }
+                    if (start < 0) {
+                        if (CharClass.isWhitespace((char) b)) {
+                            continue;
+                        }
+                        start = i;
+                        startLines = lines;
+                    }
+                    if (b == '\'') {
+                        state = STRING;
+                    } else if (b == '`') {
+                        state = QUOTED_IDENTIFIER;
+                    } else if (b == SqlAnalyzer.QUERY_END_SYMBOL) {
+                        commit(start, i + 1, startLines, lines);
+                        return true;
+                    }
+                    break;
+                case STRING:
+                    if (b == '\'') {
+                        state = NORMAL;
+                    }
+                    break;
+                case QUOTED_IDENTIFIER:
+                    if (b == '`') {
+                        state = NORMAL;
+                    }
+                    break;
+                case LINE_COMMENT:
+                    if (b == '\n') {
+                        state = NORMAL;
+                    }
+                    break;
+                default:
+                    if (b == '*') {
+                        if (i + 1 == limit && !lastWindow) {
+                            return false;
+                        }
+                        if (i + 1 < limit && window.get(i + 1) == '/') {
+                            state = NORMAL;
+                            i++;
+                        }
+                    }
+                    break;
+            }
+        }
+        if (!lastWindow) {
+            return false;
+        }
+        commit(start, limit, startLines, lines);
+        return true;
+    }
+
+    private void commit(int start, int end, int startLines, int lines) {
+        statementStart = start;
+        statementEnd = end;
+        statementLine = line + startLines;
+        line += lines;
+        position = end;
+    }
+
+    private void map(long offset) throws IOException {
+        if (window != null && offset == windowStart) {
+            if (windowSize == Integer.MAX_VALUE) {
+                throw new IOException("Statement at byte " + offset + " exceeds " + Integer.MAX_VALUE + " bytes");
+            }
+            windowSize = (int) Math.min(Integer.MAX_VALUE, 2L * windowSize);
+        }
+        windowStart = offset;
+        position = 0;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, fileSize - offset));
+    }
+}
@@ -0,0 +1,115 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.StatementResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parses independent statements concurrently. Statements are read from the source on the
+ * calling thread and parsed on the executor; results come back in input order with their
+ * statement number and line. At most {@code parallelism * IN_FLIGHT_PER_THREAD} statements
+ * are read ahead, so sources of any size can be processed.
+ */
+public final class ParallelSqlParser implements Closeable {
+    static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private final int parallelism;
+    private final Executor executor;
+    private final ForkJoinPool ownedPool;
+    private final ThreadLocal<SqlAnalyzer> analyzers = ThreadLocal.withInitial(SqlAnalyzer::new);
+
+    /**
+     * Parses on a dedicated {@link ForkJoinPool} of {@code parallelism} threads, shut down by {@link #close()}.
+     */
+    public ParallelSqlParser(int parallelism) {
+        this(parallelism, null);
+    }
+
+    /**
+     * Parses on {@code executor}, or on a dedicated pool if it is {@code null}. A caller
+     * supplied executor is not shut down by {@link #close()}.
+     */
+    public ParallelSqlParser(int parallelism, Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.ownedPool = executor == null ? new ForkJoinPool(parallelism) : null;
+        this.executor = executor == null ? ownedPool : executor;
+    }
+
+    /**
+     * Lazily parses the statements of {@code source}, in input order.
+     */
+    public Iterator<StatementResult> parse(StatementSource source) {
+        return new OrderedResults(source);
+    }
+
+    public List<StatementResult> parseAll(StatementSource source) {
+        final List<StatementResult> results = new ArrayList<>();
+        parse(source).forEachRemaining(results::add);
+        return results;
+    }
+
+    @Override
+    public void close() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+
+    private StatementResult parseStatement(int statementNumber, int line, CharSequence statement) {
+        return new StatementResult(statementNumber, line, statement, analyzers.get().reset(statement).parse());
+    }
+
+    private final class OrderedResults implements Iterator<StatementResult> {
+        private final StatementSource source;
+        private final ArrayDeque<CompletableFuture<StatementResult>> inFlight = new ArrayDeque<>();
+        private boolean exhausted;
+
+        private OrderedResults(StatementSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            submit();
+            return !inFlight.isEmpty();
+        }
+
+        @Override
+        public StatementResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return inFlight.poll().join();
+        }
+
+        private void submit() {
+            try {
+                while (!exhausted && inFlight.size() < parallelism * IN_FLIGHT_PER_THREAD) {
+                    final CharSequence statement = source.nextStatement();
+                    if (statement == null) {
+                        exhausted = true;
+                        return;
+                    }
+                    final int statementNumber = source.getStatementNumber();
+                    final int line = source.getStatementLine();
+                    inFlight.add(CompletableFuture.supplyAsync(() -> parseStatement(statementNumber, line, statement), executor));
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.ParseResult;
+
+/**
+ * Instrumentation hook of {@link SqlAnalyzer} and {@link CachingSqlAnalyzer}. Every method
+ * does nothing by default, so an implementation overrides only what it records. Callbacks
+ * run on the parsing thread and should be cheap and thread safe.
+ *
+ * @see ParserMetrics
+ */
+public interface ParserListener {
+    /**
+     * @param nanos time spent in the clause, including any derived table parsed inside it
+     */
+    default void clauseParsed(Clause clause, long nanos) {
+    }
+
+    /**
+     * @param length statement length in chars
+     * @param result the parse outcome, with its errors if any
+     */
+    default void statementParsed(int length, long nanos, ParseResult result) {
+    }
+
+    default void cacheLookup(boolean hit) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.ParseError;
+import com.sqlparser.model.ParseErrorCode;
+import com.sqlparser.model.ParseResult;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ParserListener} that aggregates counters in memory, for export to whatever metrics
+ * system the application uses: time and calls per clause, statement count and time, a
+ * statement length histogram, errors by {@link ParseErrorCode} and cache hits and misses.
+ * Safe to share between analyzers on different threads.
+ */
+public final class ParserMetrics implements ParserListener {
+    /**
+     * Bucket {@code i} of {@link #getLengthHistogram()} counts statements of
+     * {@code [2^(i-1), 2^i)} chars; bucket 0 counts empty statements.
+     */
+    public static final int LENGTH_BUCKETS = Integer.SIZE;
+
+    private final LongAdder[] clauseNanos = adders(Clause.values().length);
+    private final LongAdder[] clauseCounts = adders(Clause.values().length);
+    private final LongAdder[] errorCounts = adders(ParseErrorCode.values().length);
+    private final LongAdder[] lengthHistogram = adders(LENGTH_BUCKETS);
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder failedStatements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    @Override
+    public void clauseParsed(Clause clause, long nanos) {
+        clauseNanos[clause.ordinal()].add(nanos);
+        clauseCounts[clause.ordinal()].increment();
+    }
+
+    @Override
+    public void statementParsed(int length, long nanos, ParseResult result) {
+        statements.increment();
+        statementNanos.add(nanos);
+        lengthHistogram[Integer.SIZE - Integer.numberOfLeadingZeros(length)].increment();
+        if (!result.isSuccess()) {
+            failedStatements.increment();
+            for (ParseError error : result.getErrors()) {
+                errorCounts[error.getCode().ordinal()].increment();
+            }
+        }
+    }
+
+    @Override
+    public void cacheLookup(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    public long getClauseNanos(Clause clause) {
+        return clauseNanos[clause.ordinal()].sum();
+    }
+
+    public long getClauseCount(Clause clause) {
+        return clauseCounts[clause.ordinal()].sum();
+    }
+
+    public long getStatementCount() {
+        return statements.sum();
+    }
+
+    public long getFailedStatementCount() {
+        return failedStatements.sum();
+    }
+
+    public long getStatementNanos() {
+        return statementNanos.sum();
+    }
+
+    public long getErrorCount(ParseErrorCode code) {
+        return errorCounts[code.ordinal()].sum();
+    }
+
+    public long[] getLengthHistogram() {
+        final long[] histogram = new long[LENGTH_BUCKETS];
+        for (int i = 0; i < LENGTH_BUCKETS; i++) {
+            histogram[i] = lengthHistogram[i].sum();
+        }
+        return histogram;
+    }
+
+    public long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMissCount() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Share of cache lookups that hit, or {@code 0} before the first lookup.
+     */
+    public double getCacheHitRate() {
+        final long hits = cacheHits.sum();
+        final long lookups = hits + cacheMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private static LongAdder[] adders(int count) {
+        final LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
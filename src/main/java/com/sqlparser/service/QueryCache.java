@@ -0,0 +1,187 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.Query;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent, size-bounded cache of parsed queries keyed by statement text. Keys are spread
+ * over independently locked segments, each evicting its least recently used entries once it
+ * holds more than its share of {@code maxEntries} or of {@code maxBytes}. Queries are
+ * immutable, so a cached instance is shared between all callers.
+ */
+public final class QueryCache {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    static final int MAX_SEGMENTS = 16;
+    static final int MIN_SEGMENT_ENTRIES = 64;
+
+    // Rough retained size: map entry and String headers, plus the parsed query which
+    // holds copies of most of the statement's identifiers and literals as nodes and Strings.
+    private static final int ENTRY_OVERHEAD = 96;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int QUERY_OVERHEAD = 160;
+    private static final int QUERY_BYTES_PER_CHAR = 6;
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QueryCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public QueryCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Max bytes must be positive: " + maxBytes);
+        }
+        // Small caches keep a single segment so the limits stay exact.
+        final int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_ENTRIES)));
+        this.segments = new Segment[segmentCount];
+        final int segmentEntries = (maxEntries + segmentCount - 1) / segmentCount;
+        final long segmentBytes = (maxBytes + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentEntries, segmentBytes);
+        }
+    }
+
+    /**
+     * Returns the cached query for {@code statement}, or {@code null}.
+     */
+    public Query get(String statement) {
+        final Query query = segmentFor(statement).get(statement);
+        if (query == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return query;
+    }
+
+    /**
+     * Caches {@code query} and returns it. A query whose estimated size exceeds a segment's
+     * byte limit is not cached.
+     */
+    public Query put(String statement, Query query) {
+        final long bytes = estimateBytes(statement);
+        evictions.add(segmentFor(statement).put(statement, query, bytes));
+        return query;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getEstimatedBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.bytes();
+        }
+        return bytes;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Estimated retained heap of a cache entry: the key and the query parsed from it.
+     */
+    static long estimateBytes(String statement) {
+        return ENTRY_OVERHEAD + STRING_OVERHEAD + 2L * statement.length()
+                + QUERY_OVERHEAD + (long) QUERY_BYTES_PER_CHAR * statement.length();
+    }
+
+    private Segment segmentFor(String statement) {
+        final int hash = statement.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static final class Entry {
+        private final Query query;
+        private final long bytes;
+
+        private Entry(Query query, long bytes) {
+            this.query = query;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Segment {
+        private final int maxEntries;
+        private final long maxBytes;
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+
+        private Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized Query get(String statement) {
+            final Entry entry = entries.get(statement);
+            return entry == null ? null : entry.query;
+        }
+
+        /**
+         * Returns the number of entries evicted to make room.
+         */
+        private synchronized int put(String statement, Query query, long entryBytes) {
+            if (entryBytes > maxBytes) {
+                return 0;
+            }
+            final Entry previous = entries.put(statement, new Entry(query, entryBytes));
+            if (previous != null) {
+                bytes -= previous.bytes;
+            }
+            bytes += entryBytes;
+            int evicted = 0;
+            final Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().getValue().bytes;
+                eldest.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+            bytes = 0;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private synchronized long bytes() {
+            return bytes;
+        }
+    }
+}
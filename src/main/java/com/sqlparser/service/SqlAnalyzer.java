@@ -1,1070 +1,1296 @@
 package com.sqlparser.service;
 
+import com.sqlparser.model.GroupBy;
 import com.sqlparser.model.Join;
 import com.sqlparser.model.JoinType;
 import com.sqlparser.model.Limit;
+import com.sqlparser.model.OrderBy;
+import com.sqlparser.model.ParseError;
+import com.sqlparser.model.ParseErrorCode;
+import com.sqlparser.model.ParseResult;
 import com.sqlparser.model.Query;
-
-import java.util.HashMap;
-import java.util.Map;
-
+import com.sqlparser.model.SortDirection;
+import com.sqlparser.model.expression.And;
+import com.sqlparser.model.expression.Arithmetic;
+import com.sqlparser.model.expression.ArithmeticOperator;
+import com.sqlparser.model.expression.Between;
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.model.expression.In;
+import com.sqlparser.model.expression.InList;
+import com.sqlparser.model.expression.IsNull;
+import com.sqlparser.model.expression.Like;
+import com.sqlparser.model.expression.Literal;
+import com.sqlparser.model.expression.LiteralType;
+import com.sqlparser.model.expression.Not;
+import com.sqlparser.model.expression.Or;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recursive descent parser over {@link SqlLexer} tokens. Parsing never throws: a syntax error
+ * is recorded as a {@link ParseError} and every rule returns {@code false} or {@code null}
+ * up to the enclosing clause. {@link #parse()} stops there; {@link #parseWithRecovery()}
+ * skips to the next clause keyword and carries on, collecting every error.
+ */
 public class SqlAnalyzer {
     public static final char ALL_COLUMNS_CHAR = '*';
-    public static final char WHITESPACE = ' ';
-
-    private final static String SELECT = "SELECT ";
-    private final static String FROM = "FROM ";
-    private static final String WHERE = "WHERE ";
-    public static final String LEFT_JOIN = "LEFT JOIN ";
-    public static final String RIGHT_JOIN = "RIGHT JOIN ";
-    public static final String INNER_JOIN = "INNER JOIN ";
-    public static final String FULL_OUTER_JOIN = "FULL OUTER JOIN ";
-    private static final String GROUP_BY = "GROUP BY ";
-    private static final String ORDER_BY = "ORDER BY ";
-    private static final String LIMIT = "LIMIT ";
-    private static final String OFFSET = "OFFSET ";
-    private static final String BETWEEN = "BETWEEN ";
-    public static final String ASC = " ASC";
-    public static final String DESC = " DESC";
-
     public static final char QUERY_END_SYMBOL = ';';
-    public static final char STRING_QUOTED_SYMBOL = '\'';
-    public static final String OR = "OR ";
-    public static final String AND = "AND ";
-    private final Map<String, OperatorType> mapComparisonOperator = new HashMap<>();
+    public static final int DEFAULT_MAX_DEPTH = 128;
+    private static final String ALL_COLUMNS = String.valueOf(ALL_COLUMNS_CHAR);
+    private static final String ALIAS_SEPARATOR = " AS ";
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // Binding powers of WHERE operators, loosest first.
+    private static final int OR_POWER = 1;
+    private static final int AND_POWER = 2;
+    private static final int NOT_POWER = 3;
+    private static final int PREDICATE_POWER = 4;
+    private static final int CONCAT_POWER = 5;
+    private static final int ADDITIVE_POWER = 6;
+    private static final int MULTIPLICATIVE_POWER = 7;
+
+    private final SqlLexer lexer = new SqlLexer();
+
+    private CharSequence sqlQueryInput;
+    private StatementText statementText;
+    private final Query.Builder queryBuilder = Query.builder();
+    private int queryLength;
+    private boolean recovering;
+    private int subqueryDepth;
+    private int depth;
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private ParseError error;
+    private List<ParseError> errors;
+    private Fingerprinter fingerprinter;
+    private SymbolTable symbolTable;
+    private ParserListener listener;
+
+    // Spans of the last name and alias consumed; text is only copied out for the final result.
+    private int nameStart;
+    private int nameEnd;
+    private int aliasStart;
+    private int aliasEnd;
+    private final StringBuilder textBuffer = new StringBuilder(64);
+    private final List<Expression> expressionBuffer = new ArrayList<>();
+    private final List<SortDirection> directionBuffer = new ArrayList<>();
+    private final List<ColumnRef> columnBuffer = new ArrayList<>();
+    private int[] startBuffer = new int[16];
+    private int[] endBuffer = new int[16];
+    private long[] numberBuffer = new long[16];
+
+    /**
+     * Creates an analyzer without input. Call {@link #reset(CharSequence)} before {@link #analyze()}.
+     * An instance can be reused for any number of statements but is not thread safe.
+     */
+    public SqlAnalyzer() {
+        reset("");
+    }
 
-    private final String sqlQueryInput;
-    private final Query query = new Query();
-    private int position = 0;
-    private final int QUERY_LENGTH;
+    public SqlAnalyzer(CharSequence sqlQueryInput) {
+        reset(sqlQueryInput);
+    }
 
-    public SqlAnalyzer(String sqlQueryInput) {
+    /**
+     * Points the analyzer at the next statement. The lexer and query builder are kept, only the
+     * resulting {@link Query} is allocated per statement because it is handed to the caller.
+     */
+    public SqlAnalyzer reset(CharSequence sqlQueryInput) {
         this.sqlQueryInput = sqlQueryInput;
-        this.QUERY_LENGTH = sqlQueryInput.length();
-        this.mapComparisonOperator.put("<", OperatorType.LESS_THAN);
-        this.mapComparisonOperator.put("<=", OperatorType.LESS_THAN_OR_EQUAL_TO);
-        this.mapComparisonOperator.put(">", OperatorType.GREATER_THAN);
-        this.mapComparisonOperator.put(">=", OperatorType.GREATER_THAN_OR_EQUAL_TO);
-        this.mapComparisonOperator.put("!=", OperatorType.NOT_EQUAL);
-        this.mapComparisonOperator.put("<>", OperatorType.NOT_EQUAL);
-        this.mapComparisonOperator.put("=", OperatorType.EQUAL);
+        this.statementText = null;
+        this.queryLength = sqlQueryInput.length();
+        this.queryBuilder.clear();
+        this.error = null;
+        this.errors = null;
+        this.subqueryDepth = 0;
+        this.depth = 0;
+        this.lexer.reset(sqlQueryInput);
+        return this;
     }
 
-    public Query analyze() throws Exception {
-        if (sqlQueryInput.isEmpty()) {
-            throw new Exception("Query isEmpty");
-        }
-        if (sqlQueryInput.charAt(QUERY_LENGTH - 1) != ';') {
-            throw new Exception("Query must contains ';' at the end. " + sqlQueryInput);
+    /**
+     * Parses {@code length} chars of {@code chars} starting at {@code offset} without copying them.
+     * Only the text the result holds on to is copied: that of its expressions, and for an error
+     * the statement up to it. The array can be reused once the statement is parsed.
+     */
+    public SqlAnalyzer reset(char[] chars, int offset, int length) {
+        return reset(new CharArraySequence(chars, offset, length));
+    }
+
+    /**
+     * Parses the remaining bytes of a UTF-8 encoded buffer, heap or direct. The buffer position
+     * is left unchanged. ASCII statements are read in place; statements with multi-byte
+     * characters are decoded once into a char array. As for {@link #reset(char[], int, int)},
+     * only the text the result holds on to is copied.
+     */
+    public SqlAnalyzer reset(ByteBuffer utf8) throws CharacterCodingException {
+        return reset(AsciiByteBufferSequence.utf8(utf8));
+    }
+
+    /**
+     * When enabled, every successfully parsed {@link Query} carries the
+     * {@link Query#getFingerprint() fingerprint} of its statement, built from the tokens as
+     * they are consumed. Off by default.
+     */
+    public void setFingerprinting(boolean fingerprinting) {
+        this.fingerprinter = fingerprinting ? new Fingerprinter() : null;
+    }
+
+    /**
+     * Names and columns of parsed queries are taken from {@code symbolTable}, so equal names
+     * share one String across statements. {@code null}, the default, copies each name.
+     * A {@link ConcurrentSymbolTable} can be shared by analyzers on different threads.
+     */
+    public void setSymbolTable(SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
+    /**
+     * Reports parse timings and outcomes to {@code listener}; {@code null}, the default,
+     * turns instrumentation off and the parser does not read the clock.
+     */
+    public void setListener(ParserListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Limits how deeply parentheses, {@code NOT} and derived tables may nest. Deeper input
+     * fails with {@link ParseErrorCode#NESTING_TOO_DEEP} instead of exhausting the thread
+     * stack; each level costs a bounded number of frames, so the default fits in small stacks.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be positive: " + maxDepth);
         }
+        this.maxDepth = maxDepth;
+    }
 
-        checkSelectAggregateColumns();
-        checkFromTableExpressions();
-        checkJoinTable();
-        checkWhereTableExpressions();
-        //TODO having support,
-        // multiple 'OR' and 'AND' operator
-        // function,
+    /**
+     * Parses the statement, throwing the first syntax error as an exception.
+     */
+    public Query analyze() throws Exception {
+        final ParseResult result = parse();
+        if (!result.isSuccess()) {
+            throw new Exception(result.getErrors().get(0).getMessage());
+        }
+        return result.getQuery();
+    }
 
-        checkGroupBy();
-        checkOrderBy();
-        checkLimitOffset();
+    /**
+     * Parses the statement without throwing; invalid statements cost no stack trace.
+     * Stops at the first syntax error.
+     */
+    public ParseResult parse() {
+        return parse(false);
+    }
 
-        return query;
+    /**
+     * Parses the statement in panic mode: after a syntax error the rest of the clause is
+     * skipped up to the next {@code FROM}, join, {@code WHERE}, {@code GROUP BY},
+     * {@code ORDER BY}, {@code LIMIT} or {@code ;} and parsing resumes there. A failed result
+     * lists every error found and carries the partial query built from the other clauses.
+     */
+    public ParseResult parseWithRecovery() {
+        return parse(true);
     }
 
-    private void checkSelectAggregateColumns() throws Exception {
-        char token = sqlQueryInput.charAt(position);
-        if (token == ' ') {
-            token = getCharIgnoringRedundantWhitespace(token);
+    private ParseResult parse(boolean recover) {
+        final long start = listener == null ? 0 : System.nanoTime();
+        final ParseResult result = parseStatement(recover);
+        if (statementText != null) {
+            statementText.detach();
         }
-        checkKeyWord(token, SELECT);
-        token = getNextToken();
-        if (token == ALL_COLUMNS_CHAR) {
-            query.addColumn(String.valueOf(ALL_COLUMNS_CHAR));
-            position++;
-            if (sqlQueryInput.charAt(position) != WHITESPACE) {
-                throwInvalidToken(token, position);
-            }
-        } else {
-            String aggregateColumn = getAggregateColumn();
-            query.addColumn(aggregateColumn);
-            token = getCharIgnoringRedundantWhitespace(position);
-
-            while (token == ',') {
-                this.position++;
-                aggregateColumn = getAggregateColumn();
-                query.addColumn(aggregateColumn);
-                if (token == ' ') {
-                    token = getCharIgnoringRedundantWhitespace(this.position);
-                } else {
-                    token = getCurrentToken();
-                }
-            }
+        if (listener != null) {
+            listener.statementParsed(queryLength, System.nanoTime() - start, result);
         }
+        return result;
     }
 
-    private void checkFromTableExpressions() throws Exception {
-        char charAt = sqlQueryInput.charAt(position);
-        if (charAt == ' ' && position + 1 < sqlQueryInput.length() - 2) {
-            if (sqlQueryInput.charAt(position + 1) == ' ') {
-                while (charAt == ' ') {
-                    charAt = getNextToken();
-                }
-            } else {
-                charAt = getNextToken();
-            }
+    private ParseResult parseStatement(boolean recover) {
+        if (queryLength == 0) {
+            return ParseResult.failure(new ParseError(ParseErrorCode.EMPTY_QUERY, "", 0, 0, 0, null));
         }
-        final int i = QUERY_LENGTH - FROM.length() - 1 - 1 - 1 - 1;
-        if (this.position > i || (charAt != 'F')) {
-            throwInvalidToken(charAt, position);
+        final boolean terminated = sqlQueryInput.charAt(queryLength - 1) == QUERY_END_SYMBOL;
+        final ParseError missingTerminator = terminated ? null : new ParseError(ParseErrorCode.MISSING_TERMINATOR,
+                errorSource(queryLength), queryLength - 1, queryLength - 1, queryLength, String.valueOf(QUERY_END_SYMBOL));
+        if (!terminated && !recover) {
+            return ParseResult.failure(missingTerminator);
         }
 
-        checkKeyWord(charAt, FROM);
-        char currentToken = getCurrentToken();
-        if (currentToken == ' ') {
-            currentToken = getNextTokeSkippingWhiteSpace(currentToken);
+        recovering = recover;
+        if (fingerprinter != null) {
+            fingerprinter.reset();
         }
-        if (currentToken == '(') {
-            this.position++;
-            analyze();
-            currentToken = this.getCurrentToken();
-            if (currentToken == ' ') {
-                currentToken = getCharIgnoringRedundantWhitespace(currentToken);
+        lexer.next();
+        if (parseSelectStatement()) {
+            if (terminated) {
+                if (expectSymbol(QUERY_END_SYMBOL) && advance() != TokenType.END) {
+                    unexpectedToken();
+                }
+            } else if (lexer.getType() != TokenType.END) {
+                unexpectedToken();
             }
-            if (currentToken != ')') {
-                throwExpectedToken(currentToken, ")");
+        }
+        if (missingTerminator != null) {
+            addError(missingTerminator);
+        }
+        if (errors == null) {
+            if (fingerprinter != null) {
+                queryBuilder.fingerprint(fingerprinter.finish());
             }
+            return ParseResult.success(queryBuilder.build());
         }
-        String sourceTable = getAggregateColumn();
-        this.query.addFromSource(sourceTable);
-        charAt = getCharIgnoringRedundantWhitespace(position);
+        return recover ? ParseResult.recovered(queryBuilder.build(), errors) : ParseResult.failure(errors.get(0));
+    }
 
-        while (charAt == ',') {
-            this.position++;
-            sourceTable = getAggregateColumn();
-            this.query.addFromSource(sourceTable);
-            if (charAt == ' ') {
-                charAt = getCharIgnoringRedundantWhitespace(this.position);
-            } else {
-                charAt = getCurrentToken();
-            }
+    private boolean parseSelectStatement() {
+        //TODO having support,
+        // function,
+        return clause(Clause.SELECT)
+                && clause(Clause.FROM)
+                && clause(Clause.JOIN)
+                && clause(Clause.WHERE)
+                && clause(Clause.GROUP_BY)
+                && clause(Clause.ORDER_BY)
+                && clause(Clause.LIMIT);
+    }
+
+    /**
+     * Parses a clause and passes its result through, or in recovery mode resynchronizes after
+     * a failed clause so the next one can be parsed.
+     */
+    private boolean clause(Clause clause) {
+        final boolean parsed;
+        if (listener == null) {
+            parsed = parseClause(clause);
+        } else {
+            final long start = System.nanoTime();
+            parsed = parseClause(clause);
+            listener.clauseParsed(clause, System.nanoTime() - start);
+        }
+        if (parsed || !recovering) {
+            return parsed;
         }
+        synchronize();
+        return true;
     }
 
-    private void checkJoinTable() throws Exception {
-        char token = sqlQueryInput.charAt(this.position);
-        if (token != QUERY_END_SYMBOL) {
-            if (!maybeJoins(token)) {
-                return;
+    private boolean parseClause(Clause clause) {
+        switch (clause) {
+            case SELECT:
+                return checkSelectAggregateColumns();
+            case FROM:
+                return checkFromTableExpressions();
+            case JOIN:
+                return checkJoinTable();
+            case WHERE:
+                return checkWhereTableExpressions();
+            case GROUP_BY:
+                return checkGroupBy();
+            case ORDER_BY:
+                return checkOrderBy();
+            case LIMIT:
+                return checkLimitOffset();
+            default:
+                throw new IllegalArgumentException(clause.name());
+        }
+    }
+
+    /**
+     * Skips tokens up to the next clause keyword or {@code ;} outside parentheses, or up to
+     * the {@code )} closing the current derived table.
+     */
+    private void synchronize() {
+        int depth = 0;
+        while (lexer.getType() != TokenType.END) {
+            if (depth == 0 && isClauseStart()) {
+                break;
             }
-            while (true) {
-                final boolean b = maybeJoins(token);
-                if (!b) {
+            if (lexer.isSymbol('(')) {
+                depth++;
+            } else if (lexer.isSymbol(')')) {
+                if (depth == 0 && subqueryDepth > 0) {
                     break;
                 }
-                final JoinType joinType = getJoinType(token);
-                if (joinType == null) {
-                    return;
-                }
-                token = getNextTokeSkippingWhiteSpace(token);
-                final String joinTable = parseColumnRef(token);
-                token = getNextTokeSkippingWhiteSpace(token);
-                if (joinTable.isEmpty() || token != 'O' || getToken(1) != 'N' || getToken(2) != ' ') {
-                    return;
-                }
-
-                shiftPosition(2);
-                token = getNextTokeSkippingWhiteSpace(getToken(2));
-                final String joinLeftTableKey = parseColumnRef(token);
-                token = getNextTokeSkippingWhiteSpace(getCurrentToken());
-                if (token != '=') {
-                    return;
-                }
-                token = getNextToken();
-                if (token != ' ') {
-                    return;
-                }
-                if (sqlQueryInput.charAt(this.position + 1) == ' ') {
-                    token = getCharIgnoringRedundantWhitespace(this.position);
-                } else {
-                    token = getNextToken();
-                }
-
-                final String joinRightTableKey = parseColumnRef(token);
-                token = getNextToken();
-                if (token == ' ') {
-                    token = getNextTokeSkippingWhiteSpace(token);
-                }
-                query.setJoin(new Join(joinType, joinTable, joinLeftTableKey, joinRightTableKey));
+                depth = Math.max(0, depth - 1);
             }
+            lexer.next();
         }
+        error = null;
     }
 
-    private boolean maybeJoins(char token) {
-        return "LRFI".indexOf(token) >= 0;
+    private boolean isClauseStart() {
+        if (lexer.isSymbol(QUERY_END_SYMBOL)) {
+            return true;
+        }
+        if (lexer.getType() != TokenType.KEYWORD) {
+            return false;
+        }
+        switch (lexer.getKeyword()) {
+            case FROM:
+            case JOIN:
+            case LEFT:
+            case RIGHT:
+            case INNER:
+            case FULL:
+            case WHERE:
+            case GROUP:
+            case ORDER:
+            case LIMIT:
+                return true;
+            default:
+                return false;
+        }
     }
 
-    private char getToken(int offset) {
-        return sqlQueryInput.charAt(this.position + offset);
+    private boolean checkSelectAggregateColumns() {
+        if (!expectKeyword(Keyword.SELECT)) {
+            return false;
+        }
+        advance();
+        if (lexer.isSymbol(ALL_COLUMNS_CHAR)) {
+            queryBuilder.addColumn(ALL_COLUMNS);
+            advance();
+            return true;
+        }
+        do {
+            final String column = getAggregateColumn();
+            if (column == null) {
+                return false;
+            }
+            queryBuilder.addColumn(column);
+        } while (consumeSymbol(','));
+        return true;
     }
 
-    private void shiftPosition(int shift) {
-        this.position += shift;
+    private boolean checkFromTableExpressions() {
+        if (!expectKeyword(Keyword.FROM)) {
+            return false;
+        }
+        advance();
+        do {
+            final String source = getFromSource();
+            if (source == null) {
+                return false;
+            }
+            queryBuilder.addFromSource(source);
+        } while (consumeSymbol(','));
+        return true;
     }
 
-    private char getNextTokeSkippingWhiteSpace(char token) throws Exception {
-        char newToken;
-        if (token == ' ' && sqlQueryInput.charAt(this.position + 1) == ' ') {
-            newToken = getCharIgnoringRedundantWhitespace(this.position);
-        } else {
-            newToken = getNextToken();
+    /**
+     * A table, or a derived table whose columns and sources are flattened into the same query.
+     * A derived table is recorded by its alias, or as an empty name without one.
+     */
+    private String getFromSource() {
+        if (!lexer.isSymbol('(')) {
+            return getAggregateColumn();
         }
-
-        return newToken;
+        if (!enter()) {
+            return null;
+        }
+        advance();
+        subqueryDepth++;
+        final boolean parsed = parseSelectStatement();
+        subqueryDepth--;
+        depth--;
+        if (!parsed || !expectSymbol(')')) {
+            return null;
+        }
+        advance();
+        final boolean aliased = parseAlias();
+        if (error != null) {
+            return null;
+        }
+        return aliased ? text(aliasStart, aliasEnd) : "";
     }
 
-    private JoinType getJoinType(char token) {
-        JoinType joinType = null;
-        if (token == 'L') {
-            try {
-                checkKeyWord(token, LEFT_JOIN);
-                joinType = JoinType.LEFT;
-            } catch (Exception exception) {
-            }
-        } else if (token == 'R') {
-            try {
-                checkKeyWord(token, RIGHT_JOIN);
-                joinType = JoinType.RIGHT;
-            } catch (Exception exception) {
+    private boolean checkJoinTable() {
+        JoinType joinType;
+        while ((joinType = getJoinType()) != null) {
+            if (!requireName()) {
+                return false;
             }
-        } else if (token == 'F') {
-            try {
-                checkKeyWord(token, FULL_OUTER_JOIN);
-                joinType = JoinType.FULL_OUTER;
-            } catch (Exception exception) {
+            final String joinTable = name(nameStart, nameEnd);
+            final String alias = parseAlias() ? text(aliasStart, aliasEnd) : null;
+            if (error != null || !expectKeyword(Keyword.ON)) {
+                return false;
             }
-        } else if (token == 'I') {
-            try {
-                checkKeyWord(token, INNER_JOIN);
-                joinType = JoinType.INNER;
-            } catch (Exception exception) {
+            advance();
+            final Expression condition = requirePredicate(parseExpression(0));
+            if (condition == null) {
+                return false;
             }
+            final Comparison key = joinKey(condition);
+            queryBuilder.addJoin(key == null
+                    ? new Join(joinType, joinTable, alias, null, null, condition)
+                    : new Join(joinType, joinTable, alias, name(key.getLeft()), name(key.getRight()), condition));
         }
-
-        return joinType;
+        return error == null;
     }
 
-    private void checkWhereTableExpressions() {
-        try {
-            char token = getCharIgnoringRedundantWhitespace(this.position);
-            if (token != QUERY_END_SYMBOL) {
-                final int i = QUERY_LENGTH - WHERE.length() - 1 - 1 - 1 - 1;
-                if (this.position < i && token == WHERE.charAt(0)) {
-                    checkKeyWord(token, WHERE);
-                    token = getCurrentToken();
-                    if (token == ' ') {
-                        token = getCharIgnoringRedundantWhitespace(this.position);
-                    } else {
-                        token = getNextToken();
-                    }
-
-                    final String s = parseExpression(token);
-                    query.addWhere(s);
-                }
+    /**
+     * First {@code column = column} term of the AND chain of a join condition, or {@code null}.
+     * Deeper right operands of a left-deep chain come first in the text.
+     */
+    private static Comparison joinKey(Expression condition) {
+        Comparison key = null;
+        Expression expression = condition;
+        while (expression instanceof And) {
+            final Comparison candidate = columnEquality(((And) expression).getRight());
+            if (candidate != null) {
+                key = candidate;
             }
-        } catch (Exception exception) {
-            exception.printStackTrace();
+            expression = ((And) expression).getLeft();
         }
+        final Comparison first = columnEquality(expression);
+        return first != null ? first : key;
     }
 
-    private void checkGroupBy() throws Exception {
-        if (this.position > QUERY_LENGTH - 1 - GROUP_BY.length() - 1 - ";".length()) {
-            return;
+    private static Comparison columnEquality(Expression expression) {
+        if (!(expression instanceof Comparison)) {
+            return null;
         }
-        char token = getCharIgnoringRedundantWhitespace(this.position);
-        if (token != QUERY_END_SYMBOL) {
-            final int i = QUERY_LENGTH - GROUP_BY.length() - 1 - 1 - 1 - 1;
-            if (this.position <= i && token == GROUP_BY.charAt(0)) {
-                int startPosition = this.position;
-                checkKeyWord(token, GROUP_BY);
-                token = getCurrentToken();
-                if (token == ' ') {
-                    token = getCharIgnoringRedundantWhitespace(this.position);
-                } else {
-                    token = getNextToken();
-                }
+        final Comparison comparison = (Comparison) expression;
+        return comparison.getOperator() == OperatorType.EQUAL
+                && comparison.getLeft() instanceof ColumnRef && comparison.getRight() instanceof ColumnRef
+                ? comparison : null;
+    }
 
-                final String s = parseColumnRef(token);
-                query.addGroupBy(GROUP_BY + startPosition + " " + s);
-            }
+    /**
+     * Consumes {@code [LEFT | RIGHT | FULL] [OUTER] JOIN} or {@code [INNER] JOIN}.
+     */
+    private JoinType getJoinType() {
+        if (lexer.getType() != TokenType.KEYWORD) {
+            return null;
+        }
+        final JoinType joinType;
+        switch (lexer.getKeyword()) {
+            case JOIN:
+                advance();
+                return JoinType.INNER;
+            case INNER:
+                joinType = JoinType.INNER;
+                advance();
+                break;
+            case LEFT:
+                joinType = JoinType.LEFT;
+                advance();
+                consumeKeyword(Keyword.OUTER);
+                break;
+            case RIGHT:
+                joinType = JoinType.RIGHT;
+                advance();
+                consumeKeyword(Keyword.OUTER);
+                break;
+            case FULL:
+                joinType = JoinType.FULL_OUTER;
+                advance();
+                consumeKeyword(Keyword.OUTER);
+                break;
+            default:
+                return null;
+        }
+        if (!expectKeyword(Keyword.JOIN)) {
+            return null;
         }
+        advance();
+        return joinType;
     }
 
-    private void checkOrderBy() throws Exception {
-        if (this.position >= QUERY_LENGTH - 1 - ORDER_BY.length() - 1 - ";".length()) {
-            return;
+    private boolean checkWhereTableExpressions() {
+        if (!consumeKeyword(Keyword.WHERE)) {
+            return true;
         }
-        char token = getCharIgnoringRedundantWhitespace(this.position);
-        if (token != QUERY_END_SYMBOL) {
-            final int i = QUERY_LENGTH - ORDER_BY.length() - 1 - 1 - 1 - 1;
-            if (this.position <= i && token == ORDER_BY.charAt(0)) {
-                int startPosition = this.position;
-                checkKeyWord(token, ORDER_BY);
-                token = sqlQueryInput.charAt(this.position);
-                if (token == ' ') {
-                    token = getCharIgnoringRedundantWhitespace(this.position);
-                } else {
-                    token = getNextToken();
-                }
-
-                StringBuilder s = new StringBuilder(parseOrderByValue(token));
-                token = getCurrentToken();
-                while (token == ',') {
-                    token = getNextToken();
-                    if (token == ' ') {
-                        token = getCharIgnoringRedundantWhitespace(this.position);
-                    }
-                    s.append(", ").append(parseColumnRef(token));
-                    token = getCurrentToken();
-                    if (token == ' ') {
-                        token = getCharIgnoringRedundantWhitespace(this.position);
-                    }
-                    if (this.position < QUERY_LENGTH - 1) {
-                        break;
-                    }
-                }
-                String result = ORDER_BY + startPosition + " " + s;
-                token = getCharIgnoringRedundantWhitespace(this.position);
-                if (startPosition + ORDER_BY.length() + 1 + 1 + " ASC;".length() < QUERY_LENGTH && token == 'A' &&
-                        this.sqlQueryInput.charAt(this.position + 1) == 'S' &&
-                        this.sqlQueryInput.charAt(this.position + 2) == 'C'
-                ) {
-                    this.position += ASC.length();
-                    result += ASC;
-                } else if (startPosition + ORDER_BY.length() + 1 + 1 + " DESC".length() < QUERY_LENGTH && token == 'D' &&
-                        this.sqlQueryInput.charAt(this.position + 1) == 'E' &&
-                        this.sqlQueryInput.charAt(this.position + 2) == 'S' &&
-                        this.sqlQueryInput.charAt(this.position + 3) == 'C'
-                ) {
-                    this.position += DESC.length();
-                    result += DESC;
-                }
-
-                query.addOrderBy(result);
-            }
+        final Expression where = requirePredicate(parseExpression(0));
+        if (where == null) {
+            return false;
         }
+        queryBuilder.addWhere(where);
+        return true;
     }
 
-    private void checkLimitOffset() throws Exception {
-        if (this.position > QUERY_LENGTH - 1 - ORDER_BY.length() - 1 - ";".length()) {
-            return;
-        }
-        char token = sqlQueryInput.charAt(this.position);
-        if (token != QUERY_END_SYMBOL) {
-            if (token == ' ') {
-                token = getCharIgnoringRedundantWhitespace(this.position);
-            } else {
-                token = getNextToken();
+    /**
+     * Precedence climbing over the WHERE grammar. Operators bind tighter than
+     * {@code minPower} are folded into the left operand in a loop, so chains of any length
+     * cost no extra stack; only right operands and parentheses recurse. Each token is read once.
+     * Comparisons and predicates are not associative: {@code a = b = c} stops after {@code a = b}.
+     */
+    private Expression parseExpression(int minPower) {
+        Expression left = parsePrefix();
+        while (left != null) {
+            final int power = infixPower();
+            if (power <= minPower) {
+                break;
             }
-            final int i = QUERY_LENGTH - LIMIT.length() - 1 - 1 - 1 - 1;
-            if (this.position <= i && token == LIMIT.charAt(0)) {
-                int startPosition = this.position;
-                checkKeyWord(token, LIMIT);
-                token = sqlQueryInput.charAt(this.position);
-                if (token == ' ' && sqlQueryInput.charAt(this.position + 1) == ' ') {
-                    token = getCharIgnoringRedundantWhitespace(this.position);
-                } else {
-                    token = getNextToken();
+            if (power == OR_POWER || power == AND_POWER) {
+                if (isValue(left)) {
+                    unexpectedToken();
+                    return null;
                 }
-
-                Limit limit = getLimit(token, startPosition);
-                query.addLimit(limit);
+                final int keywordPosition = lexer.getStart();
+                advance();
+                final Expression right = requirePredicate(parseExpression(power));
+                if (right == null) {
+                    return null;
+                }
+                left = power == OR_POWER
+                        ? keep(new Or(source(), left, keywordPosition, right))
+                        : keep(new And(source(), left, keywordPosition, right));
+            } else if (!isValue(left)) {
+                break;
+            } else if (power == PREDICATE_POWER) {
+                left = parsePredicate(left);
+            } else {
+                left = parseArithmetic(left, power);
             }
         }
+        return left;
     }
 
-    private Limit getLimit(char token, int startPosition) throws Exception {
-        final String parseDigit = parseDigit(token);
-        final int limit = Integer.parseInt(parseDigit);
-        final String offset = getOffset();
-        if (!offset.isEmpty()) {
-            return new Limit(limit, Integer.parseInt(offset), startPosition);
+    /**
+     * Binding power of the current token as an infix operator, 0 if it is none.
+     */
+    private int infixPower() {
+        switch (lexer.getType()) {
+            case KEYWORD:
+                switch (lexer.getKeyword()) {
+                    case OR:
+                        return OR_POWER;
+                    case AND:
+                        return AND_POWER;
+                    case IS:
+                    case IN:
+                    case LIKE:
+                    case BETWEEN:
+                    case NOT:
+                        return PREDICATE_POWER;
+                    default:
+                        return 0;
+                }
+            case OPERATOR:
+                if (parseCompareCommand() != null) {
+                    return PREDICATE_POWER;
+                }
+                switch (lexer.firstChar()) {
+                    case '|':
+                        return CONCAT_POWER;
+                    case '+':
+                    case '-':
+                        return ADDITIVE_POWER;
+                    case '*':
+                    case '/':
+                        return MULTIPLICATIVE_POWER;
+                    default:
+                        return 0;
+                }
+            default:
+                return 0;
         }
-        return new Limit(limit, startPosition);
     }
 
-    private String getOffset() throws Exception {
-        char token = getCurrentToken();
-        if (token == ' ' && sqlQueryInput.charAt(this.position + 1) == ' ') {
-            token = getCharIgnoringRedundantWhitespace(this.position);
-        } else {
-            token = getNextToken();
+    /**
+     * {@code NOT predicate}, {@code ( expression )}, a literal or a column reference.
+     */
+    private Expression parsePrefix() {
+        if (lexer.isKeyword(Keyword.NOT)) {
+            final int start = lexer.getStart();
+            if (!enter()) {
+                return null;
+            }
+            advance();
+            final Expression operand = requirePredicate(parseExpression(NOT_POWER));
+            depth--;
+            return operand == null ? null : keep(new Not(source(), start, operand));
         }
-        if (token == ',') {
-            token = getNextToken();
-            if (sqlQueryInput.charAt(this.position + 1) == ' ') {
-                token = getCharIgnoringRedundantWhitespace(this.position);
+        if (lexer.isSymbol('(')) {
+            if (!enter()) {
+                return null;
             }
-            return parseDigit(token);
-        } else if (this.position <= QUERY_LENGTH - OFFSET.length() - 1 - 1 - 1 - 1 && token == OFFSET.charAt(0)) {
-            boolean isOffset = true;
-            try {
-                checkKeyWord(token, OFFSET);
-            } catch (Exception e) {
-                isOffset = false;
+            advance();
+            final Expression expression = parseExpression(0);
+            depth--;
+            if (expression == null || !expectSymbol(')')) {
+                return null;
             }
-            if (isOffset) {
-                if (token == ' ' && sqlQueryInput.charAt(this.position + 1) == ' ') {
-                    token = getCharIgnoringRedundantWhitespace(this.position);
-                } else {
-                    token = getNextToken();
-                }
+            advance();
+            return expression;
+        }
+        final Literal value = parseValue();
+        return value != null ? value : requireOperand(parseColumnRef());
+    }
 
-                return parseDigit(token);
+    /**
+     * Comparison, {@code IS [NOT] NULL} or {@code [NOT] IN | LIKE | BETWEEN} applied to {@code operandFirst}.
+     */
+    private Expression parsePredicate(Expression operandFirst) {
+        final OperatorType compareType = parseCompareCommand();
+        if (compareType != null) {
+            final int operatorPosition = lexer.getStart();
+            advance();
+            final Expression operandSecond = requireOperand(parseOperand());
+            return operandSecond == null ? null
+                    : keep(new Comparison(source(), operandFirst, compareType, operatorPosition, operandSecond));
+        }
+        if (consumeKeyword(Keyword.IS)) {
+            final boolean negated = consumeKeyword(Keyword.NOT);
+            if (!expectKeyword(Keyword.NULL)) {
+                return null;
             }
+            final int end = lexer.getEnd();
+            advance();
+            return keep(new IsNull(source(), operandFirst, negated, end));
         }
 
-        return "";
+        final boolean negated = consumeKeyword(Keyword.NOT);
+        if (lexer.getType() != TokenType.KEYWORD) {
+            unexpectedToken();
+            return null;
+        }
+        final int keywordPosition = lexer.getStart();
+        switch (lexer.getKeyword()) {
+            case IN:
+                advance();
+                return parseIn(operandFirst, negated, keywordPosition);
+            case LIKE:
+                advance();
+                final Expression pattern = requireOperand(parseOperand());
+                return pattern == null ? null
+                        : keep(new Like(source(), operandFirst, negated, keywordPosition, pattern));
+            case BETWEEN:
+                advance();
+                final Expression lower = requireOperand(parseOperand());
+                if (lower == null || !expectKeyword(Keyword.AND)) {
+                    return null;
+                }
+                advance();
+                final Expression upper = requireOperand(parseOperand());
+                return upper == null ? null
+                        : keep(new Between(source(), operandFirst, negated, keywordPosition, lower, upper));
+            default:
+                unexpectedToken();
+                return null;
+        }
     }
 
-    private String parseOrderByValue(char token) throws Exception {
-        StringBuilder result = new StringBuilder();
-        final String value = parseDigit(token);
-        if (!value.isEmpty()) {
-            result.append(value);
-        } else {
-            final String columnRef = parseColumnRef(token);
-            if (!columnRef.isEmpty()) {
-                result.append(columnRef);
-            }
+    private Expression parseArithmetic(Expression left, int power) {
+        final ArithmeticOperator operator;
+        switch (lexer.firstChar()) {
+            case '|':
+                operator = ArithmeticOperator.CONCAT;
+                break;
+            case '+':
+                operator = ArithmeticOperator.ADD;
+                break;
+            case '-':
+                operator = ArithmeticOperator.SUBTRACT;
+                break;
+            case '*':
+                operator = ArithmeticOperator.MULTIPLY;
+                break;
+            default:
+                operator = ArithmeticOperator.DIVIDE;
+                break;
         }
-
-        return result.toString();
+        advance();
+        final Expression right = requireOperand(parseOperand(power));
+        return right == null ? null : keep(new Arithmetic(source(), left, operator, right));
     }
 
-    private char getCurrentToken() {
-        return sqlQueryInput.charAt(this.position);
+    /**
+     * Value operand of a comparison or predicate: arithmetic over literals and columns.
+     */
+    private Expression parseOperand() {
+        return parseOperand(PREDICATE_POWER);
     }
 
-    private String parseExpression(char token) throws Exception {
-        if (this.position >= this.QUERY_LENGTH - 3) {
-            throw new Exception("Invalid query");
+    private Expression parseOperand(int minPower) {
+        if (lexer.isKeyword(Keyword.NOT)) {
+            return null;
         }
-        StringBuilder result = new StringBuilder();
-        String leftCondition = parseAndCondition(token);
-        result.append(leftCondition);
-
-        if (this.position + 5 >= QUERY_LENGTH) {
-            return result.toString();
+        final Expression operand = parseExpression(minPower);
+        if (operand != null && !isValue(operand)) {
+            unexpectedToken();
+            return null;
         }
+        return operand;
+    }
 
-        char currentToken = getNextToken();
-        if (currentToken == ' ' && sqlQueryInput.charAt(position + 1) == ' ') {
-            currentToken = getNextTokeSkippingWhiteSpace(currentToken);
-        }
-        if (currentToken == 'O' && this.sqlQueryInput.charAt(position + 1) == 'R' &&
-                this.sqlQueryInput.charAt(position + 2) == ' '
-        ) {
-            int startPosition = this.position;
-            this.position += 3;
-            final char nextToken = getNextToken();
-            leftCondition = parseAndCondition(nextToken);
-            result.append(" ").append(OR).append(startPosition).append(' ').append(leftCondition);
+    private Expression requirePredicate(Expression expression) {
+        if (expression != null && isValue(expression)) {
+            unexpectedToken();
+            return null;
         }
+        return expression;
+    }
 
-        return result.toString();
+    private static boolean isValue(Expression expression) {
+        return expression instanceof ColumnRef || expression instanceof Literal || expression instanceof Arithmetic;
     }
 
-    private String parseAndCondition(final char token) throws Exception {
-        if (this.position >= this.QUERY_LENGTH - 3) {
-            throw new Exception("Invalid query");
-        }
-        StringBuilder result = new StringBuilder();
-        String leftCondition = parseCondition(token);
-        result.append(leftCondition);
-        if (this.position >= QUERY_LENGTH - 3) {
-            return result.toString();
-        }
-        char currentToken = getNextToken();
-        if (currentToken == ' ' && sqlQueryInput.charAt(position + 1) == ' ') {
-            currentToken = getNextTokeSkippingWhiteSpace(currentToken);
+    private In parseIn(Expression operandFirst, boolean negated, int keywordPosition) {
+        if (!expectSymbol('(')) {
+            return null;
         }
-        if (currentToken == ' ' && this.sqlQueryInput.charAt(position + 1) == 'A' &&
-                this.sqlQueryInput.charAt(position + 2) == 'N' &&
-                this.sqlQueryInput.charAt(position + 3) == 'D' &&
-                this.sqlQueryInput.charAt(position + 4) == ' '
-        ) {
-            final int startPosition = this.position;
-            this.position += AND.length() + 1;
-            currentToken = getNextToken();
-            leftCondition = parseCondition(currentToken);
-            result.append(" " + AND).append(startPosition).append(' ').append(leftCondition);
+        advance();
+        final int mark = fingerprinter == null ? 0 : fingerprinter.mark();
+        final LiteralType listType = lexer.getType() == TokenType.NUMBER ? LiteralType.NUMBER
+                : lexer.getType() == TokenType.STRING ? LiteralType.STRING : null;
+        final int count = listType == null ? 0 : parseConstantList(listType);
+        if (count > 0 && lexer.isSymbol(')')) {
+            if (fingerprinter != null) {
+                fingerprinter.collapse(mark);
+            }
+            final int end = lexer.getEnd();
+            advance();
+            return keep(new InList(source(), operandFirst, negated, keywordPosition, listType,
+                    Arrays.copyOf(startBuffer, count),
+                    listType == LiteralType.NUMBER ? Arrays.copyOf(numberBuffer, count) : null, end));
         }
 
-        return result.toString();
-    }
-
-    private String parseCondition(char token) throws Exception {
-        if (this.position >= this.QUERY_LENGTH - 3) {
-            throw new Exception("Invalid query");
-        }
-        StringBuilder result = new StringBuilder();
-        if (token == ' ') {
-            token = getCharIgnoringRedundantWhitespace(this.position);
+        // Not a uniform constant list: the constants read so far become nodes and parsing
+        // carries on from the current token.
+        boolean constants = true;
+        final List<Expression> values = expressionBuffer;
+        values.clear();
+        for (int i = 0; i < count; i++) {
+            values.add(keep(new Literal(source(), startBuffer[i], endBuffer[i], listType)));
         }
-        if (token == 'N' && this.sqlQueryInput.charAt(position + 1) == 'O'
-                && this.sqlQueryInput.charAt(position + 2) == 'T'
-        ) {
-            result.append("NOT");
-            String value = parseExpression(token);
-            result.append(value);
-        } else if (token == '(') {
-            result.append(token);
-            String value = parseExpression(token);
-            char currentToken = getNextToken();
-            if (currentToken != ')') {
-                throwExpectedToken(currentToken, ")");
-            }
-            result.append(value);
-        } else {
-            int start = this.position;
-            String operandFirst = parseOperand(token);
-            result.append(operandFirst).append(' ');
-            this.position = start + operandFirst.length();
-            char currentToken = getCurrentToken();
-            if (currentToken == ' ') {
-                currentToken = getCharIgnoringRedundantWhitespace(this.position);
-            }
-            final String compareOperand = parseCompareCommand(currentToken);
-            if (!compareOperand.isEmpty()) {
-                currentToken = getCurrentToken();
-                String operandSecond = parseOperand(currentToken);
-                result.append(compareOperand).append(' ').append(operandSecond);
-            } else if (currentToken == 'I') {
-                final char nextToken = this.sqlQueryInput.charAt(this.position + 1);
-                if (nextToken == 'S') {
-                    position += 2;
-                    result.append(" IS ");
-                    currentToken = getCurrentToken();
-                    if (currentToken == ' ') {
-                        currentToken = getNextTokeSkippingWhiteSpace(currentToken);
-                    }
-                    if (currentToken == 'N' && this.sqlQueryInput.charAt(position + 1) == 'O'
-                            && this.sqlQueryInput.charAt(position + 2) == 'T'
-                            && this.sqlQueryInput.charAt(position + 3) == ' '
-                    ) {
-                        result.append("NOT ");
-                        this.position += 3;
-                        currentToken = getNextToken();
-                    }
-                    if (currentToken == 'N' && this.sqlQueryInput.charAt(position + 1) == 'U'
-                            && this.sqlQueryInput.charAt(position + 2) == 'L'
-                            && this.sqlQueryInput.charAt(position + 3) == 'L'
-                            && (this.sqlQueryInput.charAt(position + 4) == ' ' || this.sqlQueryInput.charAt(position + 4) == ';')
-                    ) {
-                        result.append("NULL");
-                        this.position += "NULL ".length();
-                    } else {
-                        throw new Exception("Invalid query");
-                    }
-                } else if (this.sqlQueryInput.charAt(this.position + 1) == 'N' &&
-                        this.sqlQueryInput.charAt(this.position + 2) == ' ' &&
-                        this.sqlQueryInput.charAt(this.position + 3) == '(') {
-                    parseIn(result);
-                }
-            } else {
-                if (currentToken == 'N' && this.sqlQueryInput.charAt(position + 1) == 'O'
-                        && this.sqlQueryInput.charAt(position + 2) == 'T' &&
-                        this.sqlQueryInput.charAt(position + 3) == ' '
-                ) {
-                    result.append(" NOT ");
-                    this.position += 3;
-                    currentToken = getNextToken();
-                    if (currentToken == ' ') {
-                        currentToken = getNextTokeSkippingWhiteSpace(currentToken);
-                    }
-                }
-                int startPosition = this.position;
-
-                if (currentToken == 'I' && this.sqlQueryInput.charAt(this.position + 1) == 'N' &&
-                        this.sqlQueryInput.charAt(this.position + 2) == ' ' &&
-                        this.sqlQueryInput.charAt(this.position + 3) == '(') {
-                    parseIn(result);
-                } else if (currentToken == 'L' && this.sqlQueryInput.charAt(this.position + 1) == 'I' &&
-                        this.sqlQueryInput.charAt(this.position + 2) == 'K' &&
-                        this.sqlQueryInput.charAt(this.position + 3) == 'E') {
-                    this.position += 4;
-                    currentToken = getNextToken();
-                    final String operand = parseOperand(currentToken);
-                    result.append("LIKE ").append(startPosition).append(" ").append(operand);
-                } else if (currentToken == 'B' && this.sqlQueryInput.charAt(this.position + 1) == 'E' &&
-                        this.sqlQueryInput.charAt(this.position + 2) == 'T' &&
-                        this.sqlQueryInput.charAt(this.position + 3) == 'W' &&
-                        this.sqlQueryInput.charAt(this.position + 4) == 'E' &&
-                        this.sqlQueryInput.charAt(this.position + 5) == 'E' &&
-                        this.sqlQueryInput.charAt(this.position + 6) == 'N' &&
-                        this.sqlQueryInput.charAt(this.position + 7) == ' '
-                ) {
-                    this.position += BETWEEN.length();
-                    currentToken = getCurrentToken();
-                    String operand = parseOperand(currentToken);
-                    currentToken = getCurrentToken();
-                    if (currentToken == ' ') {
-                        currentToken = getNextTokeSkippingWhiteSpace(currentToken);
-                    }
-                    result.append(BETWEEN).append(startPosition).append(" ").append(operand);
-                    if (currentToken == 'A' &&
-                            this.sqlQueryInput.charAt(this.position + 1) == 'N' &&
-                            this.sqlQueryInput.charAt(this.position + 2) == 'D' &&
-                            this.sqlQueryInput.charAt(this.position + 3) == ' '
-                    ) {
-                        this.position += 4;
-                        currentToken = getCurrentToken();
-                        operand = parseOperand(currentToken);
-                        result.append(' ').append(operand);
-                    } else {
-                        throwExpectedToken(token, " " + AND);
-                    }
-                }
+        do {
+            final Expression value = requireOperand(parseOperand());
+            if (value == null) {
+                return null;
             }
+            constants &= value instanceof Literal;
+            values.add(value);
+        } while (consumeSymbol(','));
+        if (!expectSymbol(')')) {
+            return null;
         }
-        return result.toString();
+        if (fingerprinter != null && constants) {
+            fingerprinter.collapse(mark);
+        }
+        final int end = lexer.getEnd();
+        advance();
+        return keep(new In(source(), operandFirst, negated, keywordPosition, values, end));
     }
 
-    private void parseIn(StringBuilder result) throws Exception {
-        char currentToken;
-        int startPosition = this.position;
-        this.position += 4;
-        currentToken = getCurrentToken();
-        StringBuilder operands = new StringBuilder();
-        boolean isFirst =true;
-        while (currentToken != ')' && this.position < QUERY_LENGTH - 1) {
-            String operand = null;
-            int start = this.position;
-            try {
-                operand = parseOperand(currentToken);
-
-                currentToken = getCurrentToken();
-
-                if (!isFirst) {
-                    operands.append(", ");
-                }
-                if (isFirst) {
-                    isFirst = false;
-                }
-                operands.append(operand);
-            } catch (Exception exception) {
-                final String message = exception.getMessage();
-                if (message.substring(message.length() - 1 - 3).equals("')'")) {
-                    throw new Exception(message);
-                }
+    /**
+     * Consumes {@code value ,} pairs of {@code type} into the buffers while each value is a plain
+     * literal directly followed by {@code ,} or {@code )}, stopping before {@code )} or before
+     * the first value that is not. Returns the number of values read.
+     */
+    private int parseConstantList(LiteralType type) {
+        final TokenType tokenType = type == LiteralType.NUMBER ? TokenType.NUMBER : TokenType.STRING;
+        int count = 0;
+        while (lexer.getType() == tokenType && isListSeparator(lexer.peek())) {
+            if (count == startBuffer.length) {
+                startBuffer = Arrays.copyOf(startBuffer, count * 2);
+                endBuffer = Arrays.copyOf(endBuffer, count * 2);
+                numberBuffer = Arrays.copyOf(numberBuffer, count * 2);
             }
-
-            if (sqlQueryInput.charAt(this.position - 1) == ')') {
-                this.position--;
-                currentToken = getCurrentToken();
+            if (type == LiteralType.NUMBER) {
+                final long number = parseLong(lexer.getStart(), lexer.getEnd());
+                if (number < 0) {
+                    break;
+                }
+                numberBuffer[count] = number;
             }
-            if (currentToken == ')' ||sqlQueryInput.charAt(start + operand.length() + 1) == ')' || this.position >= QUERY_LENGTH - 1) {
+            startBuffer[count] = lexer.getStart();
+            endBuffer[count] = lexer.getEnd();
+            count++;
+            advance();
+            if (lexer.isSymbol(')')) {
                 break;
             }
-            currentToken = this.getNextToken();
-            if (currentToken == ' ') {
-                currentToken = getNextTokeSkippingWhiteSpace(currentToken);
-            }
+            advance();
         }
+        return count;
+    }
 
-        if (currentToken != ')') {
-            throwExpectedToken(currentToken, ")");
+    private boolean isListSeparator(TokenType peekType) {
+        if (peekType != TokenType.PUNCTUATION) {
+            return false;
         }
-        result.append("IN ").append(startPosition).append(" ").append(operands);
-        this.position--;
+        final char symbol = sqlQueryInput.charAt(lexer.peekStart());
+        return symbol == ',' || symbol == ')';
     }
 
-    private String parseCompareCommand(final char token) {
-        StringBuilder result = new StringBuilder();
-        if (this.position < QUERY_LENGTH - 1 - 1) {
-            final int startPosition = this.position;
-
-            OperatorType operatorType = getOperatorType(token);
-            if (operatorType != null) {
-                result.append(operatorType)
-                        .append(' ')
-                        .append(startPosition);
+    /**
+     * Value of a NUMBER token, or -1 if it has a fraction or more than
+     * {@code MAX_LONG_DIGITS} digits, which could overflow a long.
+     */
+    private long parseLong(int start, int end) {
+        if (end - start > MAX_LONG_DIGITS) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            final char digit = sqlQueryInput.charAt(i);
+            if (digit == '.') {
+                return -1;
             }
+            value = value * 10 + (digit - '0');
         }
-        return result.toString();
+        return value;
     }
 
-    private OperatorType getOperatorType(char token) {
-        final char nextToken = sqlQueryInput.charAt(this.position + 1);
-        if (isCompare(token) && nextToken == ' ') {
-            final OperatorType operatorType = mapComparisonOperator.get(String.valueOf(token));
-            if (operatorType != null) {
-                this.position += 2;
+    private OperatorType parseCompareCommand() {
+        if (lexer.getType() != TokenType.OPERATOR) {
+            return null;
+        }
+        final char first = lexer.firstChar();
+        if (lexer.getEnd() - lexer.getStart() == 1) {
+            switch (first) {
+                case '<':
+                    return OperatorType.LESS_THAN;
+                case '>':
+                    return OperatorType.GREATER_THAN;
+                case '=':
+                    return OperatorType.EQUAL;
+                default:
+                    return null;
             }
-            return operatorType;
-        } else if (isCompare(token) && (nextToken == '>' || nextToken == '=')) {
-            final char[] chars = new char[2];
-            chars[0] = token;
-            chars[1] = nextToken;
-            final String key = new String(chars);
-            if (mapComparisonOperator.containsKey(key)) {
-                final OperatorType operatorType = mapComparisonOperator.get(key);
-                if (operatorType != null) {
-                    this.position += 3;
-                }
-                return operatorType;
+        }
+        final char second = sqlQueryInput.charAt(lexer.getStart() + 1);
+        if (second == '=') {
+            switch (first) {
+                case '<':
+                    return OperatorType.LESS_THAN_OR_EQUAL_TO;
+                case '>':
+                    return OperatorType.GREATER_THAN_OR_EQUAL_TO;
+                case '!':
+                    return OperatorType.NOT_EQUAL;
+                default:
+                    return null;
             }
         }
-        return null;
+        return first == '<' && second == '>' ? OperatorType.NOT_EQUAL : null;
     }
 
-    private boolean isCompare(final char token) {
-        return "<>=!".indexOf(token) >= 0;
+    private Literal parseValue() {
+        final LiteralType type;
+        switch (lexer.getType()) {
+            case STRING:
+                type = LiteralType.STRING;
+                break;
+            case NUMBER:
+                type = LiteralType.NUMBER;
+                break;
+            case KEYWORD:
+                if (lexer.isKeyword(Keyword.TRUE) || lexer.isKeyword(Keyword.FALSE)) {
+                    type = LiteralType.BOOLEAN;
+                } else if (lexer.isKeyword(Keyword.NULL)) {
+                    type = LiteralType.NULL;
+                } else {
+                    return null;
+                }
+                break;
+            default:
+                return null;
+        }
+        final Literal literal = keep(new Literal(source(), lexer.getStart(), lexer.getEnd(), type));
+        advance();
+        return literal;
     }
 
-    private String parseOperand(final char token) throws Exception {
-        StringBuilder result = new StringBuilder();
-
-        String factor = parseSummOperation(token);
-
-        result.append(factor);
-        if (this.position >= QUERY_LENGTH - 4) {
-            return result.toString();
+    /**
+     * Consumes {@code name}, {@code `name`} or a dotted path of them into
+     * [{@code nameStart}, {@code nameEnd}). Parts must not be separated by whitespace so the
+     * reference text is exactly the written name.
+     */
+    private boolean parseName() {
+        if (!isName(lexer.getType())) {
+            return false;
         }
-        char nextToken = getCurrentToken();
-
-        if (this.position < this.QUERY_LENGTH - 1 - 3) {
-            if (nextToken == '|' || sqlQueryInput.charAt(this.position + 1) == '|') {
-                result.append("||");
-                result.append(parseSummOperation(getNextToken()));
-            }
+        nameStart = lexer.getStart();
+        nameEnd = lexer.getEnd();
+        advance();
+        while (lexer.isSymbol('.') && lexer.getStart() == nameEnd
+                && isName(lexer.peek()) && lexer.peekStart() == lexer.getEnd()) {
+            advance();
+            nameEnd = lexer.getEnd();
+            advance();
         }
+        return true;
+    }
 
-        return result.toString();
+    private boolean requireName() {
+        return parseName() || unexpectedName();
     }
 
-    private String parseSummOperation(final char token) throws Exception {
-        StringBuilder result = new StringBuilder();
+    private ColumnRef parseColumnRef() {
+        return parseName() ? keep(new ColumnRef(source(), nameStart, nameEnd)) : null;
+    }
 
-        String factor = parseFactor(token);
-        result.append(factor);
-        if (this.position >= QUERY_LENGTH - 2) {
-            return result.toString();
+    /**
+     * {@code name} or {@code name AS alias}. When the statement spells it exactly that way
+     * the result is a single substring of the input.
+     */
+    private String getAggregateColumn() {
+        if (!requireName()) {
+            return null;
+        }
+        final int columnStart = nameStart;
+        final int columnEnd = nameEnd;
+        final boolean aliased = parseAlias();
+        if (error != null) {
+            return null;
+        }
+        if (!aliased) {
+            return name(columnStart, columnEnd);
+        }
+        if (sqlQueryInput.charAt(columnStart) != '`' && aliasStart - columnEnd == ALIAS_SEPARATOR.length()
+                && regionMatches(columnEnd, ALIAS_SEPARATOR)) {
+            return text(columnStart, aliasEnd);
         }
-        char nextToken = getCurrentToken();
+        textBuffer.setLength(0);
+        appendName(columnStart, columnEnd);
+        textBuffer.append(ALIAS_SEPARATOR).append(sqlQueryInput, aliasStart, aliasEnd);
+        return symbolTable != null ? symbolTable.intern(textBuffer, 0, textBuffer.length()) : textBuffer.toString();
+    }
 
-        if (nextToken == '+' || nextToken == '-') {
-            result.append(nextToken);
-            result.append(parseFactor(getNextToken()));
+    /**
+     * Consumes {@code AS alias} or a bare {@code alias} into [{@code aliasStart},
+     * {@code aliasEnd}) without backticks. Returns {@code false} if there is none or it is invalid.
+     */
+    private boolean parseAlias() {
+        if (consumeKeyword(Keyword.AS)) {
+            if (!isName(lexer.getType())) {
+                return unexpectedName();
+            }
+        } else if (lexer.getType() != TokenType.IDENTIFIER) {
+            return false;
         }
+        final boolean quoted = lexer.getType() == TokenType.QUOTED_IDENTIFIER;
+        aliasStart = quoted ? lexer.getStart() + 1 : lexer.getStart();
+        aliasEnd = quoted ? lexer.getEnd() - 1 : lexer.getEnd();
+        advance();
+        return true;
+    }
 
-        return result.toString();
+    /**
+     * Name text without surrounding backticks, as {@link ColumnRef#getName()} returns it.
+     */
+    private String name(int start, int end) {
+        if (sqlQueryInput.charAt(start) == '`') {
+            return text(start + 1, end - 1);
+        }
+        return text(start, end);
     }
 
-    private String parseFactor(final char token) throws Exception {
-        StringBuilder result = new StringBuilder();
-        String termValue = parseTermValue(token);
-        result.append(termValue);
-        char nextToken = sqlQueryInput.charAt(this.position++);
+    private String name(Expression columnRef) {
+        return name(columnRef.getStart(), columnRef.getEnd());
+    }
 
-        if (nextToken == '*' || nextToken == '/') {
-            result.append(nextToken);
-            nextToken = getCurrentToken();
-            termValue = parseTermValue(nextToken);
-            result.append(termValue);
+    private void appendName(int start, int end) {
+        if (sqlQueryInput.charAt(start) == '`') {
+            textBuffer.append(sqlQueryInput, start + 1, end - 1);
+        } else {
+            textBuffer.append(sqlQueryInput, start, end);
         }
+    }
 
-        return result.toString();
+    /**
+     * Copies {@code [start, end)} of the input into one String, or looks it up in the symbol table.
+     */
+    private String text(int start, int end) {
+        if (symbolTable != null) {
+            return symbolTable.intern(sqlQueryInput, start, end);
+        }
+        if (sqlQueryInput instanceof String) {
+            return ((String) sqlQueryInput).substring(start, end);
+        }
+        textBuffer.setLength(0);
+        return textBuffer.append(sqlQueryInput, start, end).toString();
     }
 
-    private String parseTermValue(char token) throws Exception {
-        StringBuilder result = new StringBuilder();
-        final String value = parseValue(token);
-        if (!value.isEmpty()) {
-            result.append(value);
-        } else {
-            final String columnRef = parseColumnRef(token);
-            if (!columnRef.isEmpty()) {
-                result.append(columnRef);
-            } else {
-                final String rowValueConstructor = rowValueConstructor(token);
-                if (!rowValueConstructor.isEmpty()) {
-                    result.append(rowValueConstructor);
-                } else {
-                    if (token == '(') {
-                        final String operand = parseOperand(token);
-                        final char nextToken = getNextToken();
-                        if (nextToken != ')') {
-                            throwExpectedToken(token, ")");
-                        }
-                        result.append(operand);
-                    }
-                }
+    private boolean regionMatches(int offset, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (sqlQueryInput.charAt(offset + i) != text.charAt(i)) {
+                return false;
             }
         }
+        return true;
+    }
 
-        return result.toString();
+    private boolean checkGroupBy() {
+        if (!lexer.isKeyword(Keyword.GROUP)) {
+            return true;
+        }
+        final int startPosition = lexer.getStart();
+        advance();
+        if (!expectKeyword(Keyword.BY)) {
+            return false;
+        }
+        advance();
+        final List<ColumnRef> columns = columnBuffer;
+        columns.clear();
+        do {
+            final ColumnRef column = requireColumnRef(parseColumnRef());
+            if (column == null) {
+                return false;
+            }
+            columns.add(column);
+        } while (consumeSymbol(','));
+        queryBuilder.groupBy(new GroupBy(startPosition, columns));
+        return true;
     }
 
-    private String rowValueConstructor(char token) throws Exception {
-        if (token == '(') {
-            StringBuilder result = new StringBuilder();
-            token = getNextToken();
-            result.append(parseValue(token));
-            if (token != ',') {
-                throwInvalidToken(token, position);
-                throwExpectedToken(token, ",");
+    private boolean checkOrderBy() {
+        if (!lexer.isKeyword(Keyword.ORDER)) {
+            return true;
+        }
+        final int startPosition = lexer.getStart();
+        advance();
+        if (!expectKeyword(Keyword.BY)) {
+            return false;
+        }
+        advance();
+        final List<Expression> items = expressionBuffer;
+        final List<SortDirection> directions = directionBuffer;
+        items.clear();
+        directions.clear();
+        do {
+            final Expression item = lexer.getType() == TokenType.NUMBER ? parseOrdinal() : requireColumnRef(parseColumnRef());
+            if (item == null) {
+                return false;
             }
-            result.append(parseValue(token));
-            if (token != ')') {
-                return throwExpectedToken(token, ")");
+            items.add(item);
+            if (consumeKeyword(Keyword.ASC)) {
+                directions.add(SortDirection.ASC);
+            } else if (consumeKeyword(Keyword.DESC)) {
+                directions.add(SortDirection.DESC);
+            } else {
+                directions.add(null);
             }
-            return result.toString();
-        }
-        return "";
+        } while (consumeSymbol(','));
+        queryBuilder.orderBy(new OrderBy(startPosition, items, directions));
+        return true;
     }
 
-    private String throwExpectedToken(char token, String expectedToken) throws Exception {
-        throw new Exception("Invalid token '" + token + "' at " + this.position + " position. Expected '" + expectedToken + "'");
+    /**
+     * Column position in {@code ORDER BY}, kept verbatim in the fingerprint.
+     */
+    private Literal parseOrdinal() {
+        final Literal literal = keep(new Literal(source(), lexer.getStart(), lexer.getEnd(), LiteralType.NUMBER));
+        advance(true);
+        return literal;
     }
 
-    private String parseColumnRef(char token) throws Exception {
-        if (isAlphabetCharacter(token) || token == '`') {
-            StringBuilder result = new StringBuilder();
-            result.append(parseName(token));
-            token = this.getCurrentToken();
-            if (token == '.') {
-                token = getNextToken();
-                final String str = parseName(token);
-                if (!str.isEmpty()) {
-                    result.append('.');
-                    result.append(str);
-                }
+    private boolean checkLimitOffset() {
+        if (!lexer.isKeyword(Keyword.LIMIT)) {
+            return true;
+        }
+        final int startPosition = lexer.getStart();
+        advance();
+        final int limit = parseInteger();
+        if (limit < 0) {
+            return false;
+        }
+        if (consumeKeyword(Keyword.OFFSET) || consumeSymbol(',')) {
+            final int offset = parseInteger();
+            if (offset < 0) {
+                return false;
             }
-            return result.toString();
+            queryBuilder.limit(new Limit(limit, offset, startPosition));
+        } else {
+            queryBuilder.limit(new Limit(limit, startPosition));
         }
-
-        return "";
+        return true;
     }
 
-    private String parseName(char token) throws Exception {
-        StringBuilder result = new StringBuilder();
-        boolean isQuoted = false;
-        if (token == '`') {
-            isQuoted = true;
-            token = getNextToken();
+    /**
+     * Non-negative integer literal, or -1 after recording an error.
+     */
+    private int parseInteger() {
+        if (lexer.getType() != TokenType.NUMBER) {
+            unexpectedToken();
+            return -1;
         }
-        do {
-            if (!isQuoted && isKeyword(result.toString())) {
+        long value = 0;
+        for (int i = lexer.getStart(); i < lexer.getEnd(); i++) {
+            final char digit = sqlQueryInput.charAt(i);
+            if (CharClass.isDigit(digit)) {
+                value = value * 10 + (digit - '0');
+            }
+            if (!CharClass.isDigit(digit) || value > Integer.MAX_VALUE) {
+                fail(ParseErrorCode.INVALID_NUMBER, lexer.getStart(), null);
+                return -1;
             }
-            result.append(token);
-            token = getNextToken();
-        } while (isAlphabetCharacter(token) || isDigit(token) || token == '_');
-        if (isQuoted && token != '`') {
-            throwInvalidToken(token, this.position);
         }
+        advance();
+        return (int) value;
+    }
 
-        return result.toString();
+    private TokenType advance() {
+        return advance(false);
     }
 
-    private boolean isKeyword(String toString) {
-        return false;
+    /**
+     * Consumes the current token, adding it to the fingerprint when one is being built.
+     */
+    private TokenType advance(boolean verbatim) {
+        if (fingerprinter != null) {
+            fingerprinter.token(lexer, verbatim);
+        }
+        return lexer.next();
     }
 
-    private String parseValue(char token) throws Exception {
-        StringBuilder resultValue = new StringBuilder();
-        int startPosition = this.position;
-
-        if (token == STRING_QUOTED_SYMBOL) {
-            resultValue.append(parseString(token)).append(STRING_QUOTED_SYMBOL);
-            this.position++;
-        } else if (isDigit(token)) {
-            resultValue.append(parseDigit(token));
-        } else if (this.position < this.QUERY_LENGTH - 1 - 4 && token == 'T') {
-            final char charAt = sqlQueryInput.charAt(this.position + 1);
-            if (charAt != 'R' &&
-                    sqlQueryInput.charAt(this.position + 2) != 'U' &&
-                    sqlQueryInput.charAt(this.position + 3) != 'E'
-            ) {
-                throwInvalidToken(charAt, position);
-            }
-            resultValue.append("TRUE");
-        } else if (this.position < this.QUERY_LENGTH - 1 - 5 && token == 'F') {
-            if (sqlQueryInput.charAt(this.position + 1) != 'A' &&
-                    sqlQueryInput.charAt(this.position + 2) != 'L' &&
-                    sqlQueryInput.charAt(this.position + 3) != 'S' &&
-                    sqlQueryInput.charAt(this.position + 4) != 'E'
-            ) {
-                throwInvalidToken(token, position);
-            }
-            resultValue.append("FALSE");
-        } else if (this.position < this.QUERY_LENGTH - 1 - 4 && token == 'N') {
-            if (sqlQueryInput.charAt(this.position + 1) != 'U' &&
-                    sqlQueryInput.charAt(this.position + 2) != 'L' &&
-                    sqlQueryInput.charAt(this.position + 3) != 'L'
-            ) {
-                throwInvalidToken(token, position);
-            }
-            resultValue.append("NULL ").append(startPosition);
+    /**
+     * Enters one nesting level at the current token, or records an error if that exceeds
+     * the limit. A successful call must be paired with {@code depth--}.
+     */
+    private boolean enter() {
+        if (depth == maxDepth) {
+            return fail(ParseErrorCode.NESTING_TOO_DEEP, lexer.getStart(), String.valueOf(maxDepth));
         }
+        depth++;
+        return true;
+    }
 
-        return resultValue.toString();
+    private static boolean isName(TokenType type) {
+        return type == TokenType.IDENTIFIER || type == TokenType.QUOTED_IDENTIFIER;
     }
 
-    private String parseString(char token) throws Exception {
-        StringBuilder result = new StringBuilder();
-        int startPosition = this.position;
-        do {
-            result.append(token);
-            token = getNextToken();
-        } while (token != STRING_QUOTED_SYMBOL && this.position < this.QUERY_LENGTH - 2);
-        if (this.position == this.QUERY_LENGTH) {
-            throw new Exception("Unclosed string value started at " + startPosition + " position");
-        }
-        return result.toString();
-    }
-
-    private String parseDigit(char token) throws Exception {
-        if (isDigit(token)) {
-            StringBuilder result = new StringBuilder();
-            do {
-                result.append(token);
-                token = getNextToken();
-            } while (isDigit(token) && this.position < this.QUERY_LENGTH - 2);
-            if ((token != ' ') && this.position == this.QUERY_LENGTH - 2) {
-                throw new Exception("Invalid digit. Position " + this.position);
-            }
-            return result.toString();
+    private boolean consumeSymbol(char symbol) {
+        if (!lexer.isSymbol(symbol)) {
+            return false;
         }
-
-        return "";
+        advance();
+        return true;
     }
 
-    private void checkKeyWord(char charAt, String from) throws Exception {
-        if (charAt == from.charAt(0)) {
-            final int startPosition = this.position;
-            this.position++;
-            for (int i = 1; i < from.length() - 1; position++, i++) {
-                if (sqlQueryInput.charAt(position) != from.charAt(i)) {
-                    final int invalidPosition = this.position;
-                    this.position = startPosition;
-                    throwInvalidToken(charAt, invalidPosition);
-                }
-            }
-            charAt = sqlQueryInput.charAt(position);
-            if (charAt != ' ') {
-                final int invalidPosition = this.position;
-                this.position = startPosition;
-                throwInvalidToken(charAt, invalidPosition);
-            }
-        } else {
-            throw new Exception("Invalid first symbol on query. Position " + this.position);
+    private boolean consumeKeyword(Keyword keyword) {
+        if (!lexer.isKeyword(keyword)) {
+            return false;
         }
+        advance();
+        return true;
     }
 
-    private String getAggregateColumn() throws Exception {
-        StringBuilder aggregateColumns = new StringBuilder();
-        boolean isQuotedName = false;
-        char charAt = getCharIgnoringRedundantWhitespace(position);
-        if (charAt == ' ') {
-            charAt = getNextToken();
+    private Expression requireOperand(Expression operand) {
+        if (operand == null) {
+            unexpectedName();
         }
-        if (charAt == '`') {
-            isQuotedName = true;
-            charAt = getNextToken();
-            if (charAt == ' ') {
-                throwInvalidToken(charAt, position);
-            }
+        return operand;
+    }
+
+    private ColumnRef requireColumnRef(ColumnRef columnRef) {
+        if (columnRef == null) {
+            unexpectedName();
         }
-        if (isAlphabetCharacter(charAt)) {
-            do {
-                aggregateColumns.append(charAt);
-                charAt = getNextToken();
-            } while (isAlphabetCharacter(charAt) || isDigit(charAt) || charAt == '_');
-            if (charAt == '.') {
-                aggregateColumns.append(charAt);
-                charAt = getNextToken();
-
-                do {
-                    aggregateColumns.append(charAt);
-                    charAt = getNextToken();
-                } while (isAlphabetCharacter(charAt) || isDigit(charAt) || charAt == '_');
-            }
-            if (charAt == '`' && !isQuotedName) {
-                throwInvalidToken(charAt, position);
-            } else if (isQuotedName && charAt != '`') {
-                throwInvalidToken(charAt, position);
-            }
+        return columnRef;
+    }
 
-            if (isQuotedName) {
-                charAt = getNextToken();
-            }
+    private boolean expectSymbol(char expectedToken) {
+        if (lexer.isSymbol(expectedToken)) {
+            return true;
+        }
+        if (lexer.getType() == TokenType.END || lexer.getType() == TokenType.ERROR) {
+            return unexpectedToken();
+        }
+        return fail(ParseErrorCode.EXPECTED_TOKEN, lexer.getStart(), String.valueOf(expectedToken));
+    }
 
-            if (charAt == ' ') {
-                if (position + 3 < sqlQueryInput.length() - 1) {
-                    charAt = getNextToken();
-                    charAt = getCharIgnoringRedundantWhitespace(charAt);
-                    final char charAt1 = sqlQueryInput.charAt(position + 1);
-                    final char charAt2 = sqlQueryInput.charAt(position + 2);
-
-                    if (charAt == 'A' || charAt == 'a' && charAt1 == 'S' || charAt1 == 's' && charAt2 == ' ') {
-                        aggregateColumns.append(" AS ");
-                        this.position += 3;
-                        charAt = getCharIgnoringRedundantWhitespace(this.position);
-                        if (isAlphabetCharacter(charAt)) {
-                            do {
-                                aggregateColumns.append(charAt);
-                                charAt = getNextToken();
-                            } while (isAlphabetCharacter(charAt) || isDigit(charAt) || charAt == '_');
-                        }
-                    }
-                }
+    /**
+     * Reports a misspelled keyword at the first character that differs from it.
+     */
+    private boolean expectKeyword(Keyword keyword) {
+        if (lexer.isKeyword(keyword)) {
+            return true;
+        }
+        if (lexer.getType() == TokenType.END || lexer.getType() == TokenType.ERROR) {
+            return unexpectedToken();
+        }
+        final String expected = keyword.name();
+        int position = lexer.getStart();
+        for (int i = 0; i < expected.length() && position < lexer.getEnd(); i++, position++) {
+            if (Character.toUpperCase(sqlQueryInput.charAt(position)) != expected.charAt(i)) {
+                break;
             }
         }
-
-        return aggregateColumns.toString();
+        return fail(ParseErrorCode.INVALID_CHARACTER, position, expected);
     }
 
-    private char getCharIgnoringRedundantWhitespace(char charAt) throws Exception {
-        while (charAt == ' ') {
-            charAt = getNextToken();
+    /**
+     * Records that an unquoted reserved word, or another token, was found where a name belongs.
+     */
+    private boolean unexpectedName() {
+        if (lexer.getType() == TokenType.KEYWORD) {
+            return fail(ParseErrorCode.RESERVED_WORD, lexer.getStart(), null);
         }
-        return charAt;
+        return unexpectedToken();
     }
 
-    private char getCharIgnoringRedundantWhitespace(int position) throws Exception {
-        char charAt = sqlQueryInput.charAt(position);
-        if (charAt == ' ' && position + 1 < sqlQueryInput.length() - 2) {
-            charAt = getNextToken();
-            if (sqlQueryInput.charAt(position + 1) == ' ') {
-                while (charAt == ' ') {
-                    charAt = getNextToken();
-                }
-            }
+    private boolean unexpectedToken() {
+        if (lexer.getType() == TokenType.END) {
+            return fail(ParseErrorCode.UNEXPECTED_END, lexer.getStart(), null);
+        }
+        if (lexer.getType() == TokenType.ERROR && lexer.firstChar() == '\'') {
+            return fail(ParseErrorCode.UNCLOSED_STRING, lexer.getStart(), null);
         }
+        return fail(ParseErrorCode.INVALID_CHARACTER, lexer.getStart(), null);
+    }
 
-        return charAt;
+    /**
+     * The statement, for the nodes and errors that keep its text. Input other than a String may
+     * be a view of a buffer the caller reuses, so it is wrapped in a {@link StatementText} that
+     * copies just the ranges {@link #keep kept} once the statement is parsed.
+     */
+    private CharSequence source() {
+        if (sqlQueryInput instanceof String) {
+            return sqlQueryInput;
+        }
+        if (statementText == null || statementText.isDetached()) {
+            statementText = new StatementText(sqlQueryInput);
+        }
+        return statementText;
     }
 
-    private char getNextToken() throws Exception {
-        if (this.position == this.QUERY_LENGTH - 1) {
-            throw new Exception("Invalid query");
+    /**
+     * Keeps the text of {@code expression} for the result.
+     */
+    private <E extends Expression> E keep(E expression) {
+        if (statementText != null) {
+            statementText.keep(expression.getStart(), expression.getEnd());
         }
-        position++;
-        return sqlQueryInput.charAt(position);
+        return expression;
     }
 
-    private void throwInvalidToken(char charAt, int position) throws Exception {
-        throw new Exception("Invalid character '" + charAt + "' at position " + position);
+    /**
+     * The statement for an error, keeping the text up to {@code end}, which its line, column
+     * and found token are derived from.
+     */
+    private CharSequence errorSource(int end) {
+        final CharSequence source = source();
+        if (statementText != null) {
+            statementText.keep(0, end);
+        }
+        return source;
     }
 
-    private boolean isAlphabetCharacter(char character) {
-        return "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".indexOf(character) >= 0;
+    /**
+     * Records an error against the current token unless the clause already failed. Always {@code false}.
+     */
+    private boolean fail(ParseErrorCode code, int offset, String expected) {
+        if (error == null) {
+            error = new ParseError(code, errorSource(Math.max(offset, lexer.getEnd())), offset, lexer.getStart(),
+                    lexer.getEnd(), expected);
+            addError(error);
+        }
+        return false;
     }
 
-    private boolean isDigit(char character) {
-        return "0123456789".indexOf(character) >= 0;
+    private void addError(ParseError parseError) {
+        if (errors == null) {
+            errors = new ArrayList<>(recovering ? 4 : 1);
+        }
+        errors.add(parseError);
     }
 }
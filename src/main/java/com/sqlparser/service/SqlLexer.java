@@ -0,0 +1,315 @@
+package com.sqlparser.service;
+
+/**
+ * Pull tokenizer over a statement or a whole script. Tokens are reported through the
+ * lexer itself as a type plus {@code start}/{@code end} offsets, so scanning allocates
+ * nothing; text is only materialized by callers that need it.
+ *
+ * <pre>
+ * while (lexer.next() != TokenType.END) {
+ *     lexer.getType(); lexer.getStart(); lexer.getEnd();
+ * }
+ * </pre>
+ * Whitespace, {@code -- line} and {@code /* block *&#47;} comments are skipped.
+ * Malformed input yields an {@link TokenType#ERROR} token starting at the offending
+ * character, or at the opening quote of an unclosed string or comment.
+ */
+public final class SqlLexer {
+    private CharSequence input;
+    private int length;
+    private int position;
+
+    private TokenType type;
+    private int start;
+    private int end;
+    private Keyword keyword;
+
+    private boolean peeked;
+    private TokenType peekType;
+    private int peekStart;
+    private int peekEnd;
+    private Keyword peekKeyword;
+
+    private TokenType scanType;
+    private int scanStart;
+    private int scanEnd;
+    private Keyword scanKeyword;
+
+    public SqlLexer() {
+        reset("");
+    }
+
+    public SqlLexer(CharSequence input) {
+        reset(input);
+    }
+
+    public SqlLexer reset(CharSequence input) {
+        return reset(input, 0, input.length());
+    }
+
+    /**
+     * Tokenizes {@code input[from, to)}; offsets stay relative to the whole input.
+     */
+    public SqlLexer reset(CharSequence input, int from, int to) {
+        this.input = input;
+        this.length = to;
+        this.position = from;
+        this.type = null;
+        this.start = from;
+        this.end = from;
+        this.keyword = null;
+        this.peeked = false;
+        return this;
+    }
+
+    /**
+     * Advances to the next token and returns its type.
+     */
+    public TokenType next() {
+        if (peeked) {
+            peeked = false;
+            type = peekType;
+            start = peekStart;
+            end = peekEnd;
+            keyword = peekKeyword;
+        } else {
+            scan();
+            type = scanType;
+            start = scanStart;
+            end = scanEnd;
+            keyword = scanKeyword;
+        }
+        return type;
+    }
+
+    /**
+     * Returns the type of the token after the current one without consuming it.
+     */
+    public TokenType peek() {
+        if (!peeked) {
+            scan();
+            peeked = true;
+            peekType = scanType;
+            peekStart = scanStart;
+            peekEnd = scanEnd;
+            peekKeyword = scanKeyword;
+        }
+        return peekType;
+    }
+
+    public Keyword peekKeyword() {
+        peek();
+        return peekKeyword;
+    }
+
+    public int peekStart() {
+        peek();
+        return peekStart;
+    }
+
+    public TokenType getType() {
+        return type;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Keyword of the current token, {@code null} unless the type is {@link TokenType#KEYWORD}.
+     */
+    public Keyword getKeyword() {
+        return keyword;
+    }
+
+    public CharSequence getInput() {
+        return input;
+    }
+
+    public boolean isKeyword(Keyword expected) {
+        return keyword == expected && type == TokenType.KEYWORD;
+    }
+
+    /**
+     * True when the current token is the single-character operator or punctuation {@code symbol}.
+     */
+    public boolean isSymbol(char symbol) {
+        return (type == TokenType.PUNCTUATION || type == TokenType.OPERATOR)
+                && end - start == 1 && input.charAt(start) == symbol;
+    }
+
+    public char firstChar() {
+        return start < length ? input.charAt(start) : '\0';
+    }
+
+    public String getText() {
+        return input.subSequence(start, end).toString();
+    }
+
+    private void scan() {
+        final int unclosedComment = skipWhitespaceAndComments();
+        scanKeyword = null;
+        scanStart = position;
+        if (unclosedComment >= 0) {
+            scanStart = unclosedComment;
+            scanType = TokenType.ERROR;
+            scanEnd = position;
+            return;
+        }
+        if (position >= length) {
+            scanType = TokenType.END;
+            scanEnd = position;
+            return;
+        }
+        final char c = input.charAt(position);
+        if (CharClass.isLetter(c) || c == '_') {
+            position++;
+            while (position < length && CharClass.isIdentifierPart(input.charAt(position))) {
+                position++;
+            }
+            scanKeyword = Keyword.lookup(input, scanStart, position);
+            scanType = scanKeyword == null ? TokenType.IDENTIFIER : TokenType.KEYWORD;
+        } else if (CharClass.isDigit(c)) {
+            scanNumber();
+        } else if (c == '\'') {
+            scanString();
+        } else if (c == '`') {
+            scanQuotedIdentifier();
+        } else {
+            scanSymbol(c);
+        }
+        scanEnd = position;
+    }
+
+    private void scanNumber() {
+        while (position < length && CharClass.isDigit(input.charAt(position))) {
+            position++;
+        }
+        if (position + 1 < length && input.charAt(position) == '.' && CharClass.isDigit(input.charAt(position + 1))) {
+            position++;
+            while (position < length && CharClass.isDigit(input.charAt(position))) {
+                position++;
+            }
+        }
+        scanType = TokenType.NUMBER;
+    }
+
+    private void scanString() {
+        position++;
+        while (position < length) {
+            if (input.charAt(position) == '\'') {
+                if (position + 1 < length && input.charAt(position + 1) == '\'') {
+                    position += 2;
+                    continue;
+                }
+                position++;
+                scanType = TokenType.STRING;
+                return;
+            }
+            position++;
+        }
+        scanType = TokenType.ERROR;
+    }
+
+    private void scanQuotedIdentifier() {
+        position++;
+        while (position < length) {
+            final char c = input.charAt(position);
+            if (c == '`' && position > scanStart + 1) {
+                position++;
+                scanType = TokenType.QUOTED_IDENTIFIER;
+                return;
+            }
+            if (!CharClass.isIdentifierPart(c) && c != '.') {
+                break;
+            }
+            position++;
+        }
+        scanStart = Math.min(position, length - 1);
+        position = scanStart + 1;
+        scanType = TokenType.ERROR;
+    }
+
+    private void scanSymbol(char c) {
+        final char next = position + 1 < length ? input.charAt(position + 1) : '\0';
+        switch (c) {
+            case '<':
+                position += next == '=' || next == '>' ? 2 : 1;
+                scanType = TokenType.OPERATOR;
+                return;
+            case '>':
+                position += next == '=' ? 2 : 1;
+                scanType = TokenType.OPERATOR;
+                return;
+            case '!':
+                if (next == '=') {
+                    position += 2;
+                    scanType = TokenType.OPERATOR;
+                    return;
+                }
+                break;
+            case '|':
+                if (next == '|') {
+                    position += 2;
+                    scanType = TokenType.OPERATOR;
+                    return;
+                }
+                break;
+            case '=':
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+                position++;
+                scanType = TokenType.OPERATOR;
+                return;
+            case ',':
+            case '.':
+            case '(':
+            case ')':
+            case ';':
+                position++;
+                scanType = TokenType.PUNCTUATION;
+                return;
+            default:
+                break;
+        }
+        position++;
+        scanType = TokenType.ERROR;
+    }
+
+    /**
+     * @return the start of a block comment left open at the end of the input, else {@code -1}
+     */
+    private int skipWhitespaceAndComments() {
+        while (position < length) {
+            final char c = input.charAt(position);
+            if (CharClass.isWhitespace(c)) {
+                position++;
+            } else if (c == '-' && position + 1 < length && input.charAt(position + 1) == '-') {
+                position += 2;
+                while (position < length && input.charAt(position) != '\n') {
+                    position++;
+                }
+            } else if (c == '/' && position + 1 < length && input.charAt(position + 1) == '*') {
+                final int commentStart = position;
+                position += 2;
+                while (position + 1 < length && !(input.charAt(position) == '*' && input.charAt(position + 1) == '/')) {
+                    position++;
+                }
+                if (position + 1 >= length) {
+                    position = length;
+                    return commentStart;
+                }
+                position += 2;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.StatementResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily parses every statement of a {@link StatementSource}. Statements are read and parsed
+ * one at a time as the iterator advances, so scripts of any size can be replayed. A statement that fails
+ * to parse yields a failed {@link StatementResult} and iteration continues with the next one.
+ *
+ * <pre>
+ * try (Stream&lt;StatementResult&gt; results = SqlScriptParser.open(path).stream()) {
+ *     results.filter(result -&gt; !result.isSuccess()).forEach(System.out::println);
+ * }
+ * </pre>
+ */
+public final class SqlScriptParser implements Iterator<StatementResult>, Closeable {
+    private final StatementSource source;
+    private final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+    private CharSequence nextStatement;
+    private boolean fetched;
+
+    public SqlScriptParser(Reader reader) {
+        this(new SqlScriptSplitter(reader));
+    }
+
+    public SqlScriptParser(InputStream utf8) {
+        this(new InputStreamReader(utf8, StandardCharsets.UTF_8));
+    }
+
+    public SqlScriptParser(StatementSource source) {
+        this.source = source;
+    }
+
+    public static SqlScriptParser open(Path path) throws IOException {
+        return new SqlScriptParser(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            try {
+                nextStatement = source.nextStatement();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            fetched = true;
+        }
+        return nextStatement != null;
+    }
+
+    @Override
+    public StatementResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        fetched = false;
+        final CharSequence statement = nextStatement;
+        nextStatement = null;
+        return new StatementResult(source.getStatementNumber(), source.getStatementLine(), statement,
+                sqlAnalyzer.reset(statement).parse());
+    }
+
+    /**
+     * Sequential, ordered stream over the remaining statements. Closing the stream closes the script.
+     */
+    public Stream<StatementResult> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
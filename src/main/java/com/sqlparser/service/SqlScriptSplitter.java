@@ -0,0 +1,184 @@
+package com.sqlparser.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a script into statements on {@code ;}. Semicolons inside string literals, quoted
+ * identifiers and comments do not end a statement, and statements may span lines. The
+ * reader is consumed in fixed size chunks, so memory is bounded by the longest statement
+ * rather than by the script. Comments before a statement are dropped; comments inside one
+ * are kept so offsets match the text as written.
+ */
+public final class SqlScriptSplitter implements StatementSource {
+    static final int DEFAULT_CHUNK_SIZE = 8192;
+    public static final int DEFAULT_MAX_STATEMENT_LENGTH = 1 << 24;
+
+    private final Reader reader;
+    private final char[] chunk;
+    private final int maxStatementLength;
+    private final StringBuilder statement = new StringBuilder();
+    private int chunkLength;
+    private int chunkPosition;
+    private int line = 1;
+    private int statementLine;
+    private int statementNumber;
+
+    public SqlScriptSplitter(Reader reader) {
+        this(reader, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_STATEMENT_LENGTH);
+    }
+
+    SqlScriptSplitter(Reader reader, int chunkSize, int maxStatementLength) {
+        this.reader = reader;
+        this.chunk = new char[chunkSize];
+        this.maxStatementLength = maxStatementLength;
+    }
+
+    /**
+     * Returns the next statement including its terminating {@code ;}, a trailing unterminated
+     * statement as is, or {@code null} at the end of the script.
+     */
+    @Override
+    public String nextStatement() throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            final char token = (char) c;
+            if (statement.length() == 0) {
+                if (CharClass.isWhitespace(token)) {
+                    continue;
+                }
+                if (token == '-' && peek() == '-') {
+                    skipLineComment(false);
+                    continue;
+                }
+                if (token == '/' && peek() == '*') {
+                    skipBlockComment(false);
+                    continue;
+                }
+                statementLine = line;
+            }
+            append(token);
+            switch (token) {
+                case '\'':
+                case '`':
+                    skipQuoted(token);
+                    break;
+                case '-':
+                    if (peek() == '-') {
+                        skipLineComment(true);
+                    }
+                    break;
+                case '/':
+                    if (peek() == '*') {
+                        skipBlockComment(true);
+                    }
+                    break;
+                case SqlAnalyzer.QUERY_END_SYMBOL:
+                    return finish();
+                default:
+                    break;
+            }
+        }
+        return statement.length() == 0 ? null : finish();
+    }
+
+    @Override
+    public int getStatementNumber() {
+        return statementNumber;
+    }
+
+    @Override
+    public int getStatementLine() {
+        return statementLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String finish() {
+        statementNumber++;
+        final String result = statement.toString();
+        statement.setLength(0);
+        return result;
+    }
+
+    private void skipQuoted(char quote) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            append((char) c);
+            if (c == quote) {
+                return;
+            }
+        }
+    }
+
+    private void skipLineComment(boolean keep) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (keep) {
+                append((char) c);
+            }
+            if (c == '\n') {
+                return;
+            }
+        }
+    }
+
+    private void skipBlockComment(boolean keep) throws IOException {
+        int previous = read();
+        if (keep) {
+            append((char) previous);
+        }
+        previous = -1;
+        int c;
+        while ((c = read()) != -1) {
+            if (keep) {
+                append((char) c);
+            }
+            if (previous == '*' && c == '/') {
+                return;
+            }
+            previous = c;
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (statement.length() == maxStatementLength) {
+            throw new IOException("Statement at line " + statementLine + " exceeds " + maxStatementLength + " characters");
+        }
+        statement.append(c);
+    }
+
+    private int read() throws IOException {
+        if (chunkPosition == chunkLength && !fill()) {
+            return -1;
+        }
+        final char c = chunk[chunkPosition++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (chunkPosition == chunkLength && !fill()) {
+            return -1;
+        }
+        return chunk[chunkPosition];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(chunk, 0, chunk.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        chunkLength = read;
+        chunkPosition = 0;
+        return true;
+    }
+}
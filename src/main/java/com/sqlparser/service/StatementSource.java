@@ -0,0 +1,59 @@
+package com.sqlparser.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Sequence of raw statements read from a script, each with its position in the script.
+ */
+public interface StatementSource extends Closeable {
+    /**
+     * Returns the next statement, or {@code null} when the script is exhausted.
+     */
+    CharSequence nextStatement() throws IOException;
+
+    /**
+     * 1-based number of the statement last returned by {@link #nextStatement()}.
+     */
+    int getStatementNumber();
+
+    /**
+     * 1-based line the statement last returned by {@link #nextStatement()} starts on.
+     */
+    int getStatementLine();
+
+    /**
+     * Source over statements already in memory, one per line.
+     */
+    static StatementSource of(List<? extends CharSequence> statements) {
+        final Iterator<? extends CharSequence> iterator = statements.iterator();
+        return new StatementSource() {
+            private int statementNumber;
+
+            @Override
+            public CharSequence nextStatement() {
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                statementNumber++;
+                return iterator.next();
+            }
+
+            @Override
+            public int getStatementNumber() {
+                return statementNumber;
+            }
+
+            @Override
+            public int getStatementLine() {
+                return statementNumber;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.sqlparser.service;
+
+import java.util.Arrays;
+
+/**
+ * Text of one statement parsed from input the caller may reuse, such as a char array or a
+ * buffer, as seen by the nodes and errors parsed from it. Until {@link #detach()} it reads the
+ * input in place; afterwards it holds copies of the ranges that were {@link #keep kept} and no
+ * reference to the input, so results neither see later writes to the input nor copy text they
+ * do not cover.
+ */
+final class StatementText implements CharSequence {
+    private CharSequence input;
+    private final int length;
+    // Kept [start, end) ranges as pairs; a range covering the last ones replaces them.
+    private int[] ranges = new int[16];
+    private int rangeCount;
+    private int[] starts;
+    private String[] pieces;
+
+    StatementText(CharSequence input) {
+        this.input = input;
+        this.length = input.length();
+    }
+
+    /**
+     * Marks {@code [start, end)} to be copied on {@link #detach()}. Nodes are built after their
+     * children, so the ranges a node covers are the last ones kept and are merged into it.
+     */
+    void keep(int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        while (rangeCount > 0 && ranges[2 * rangeCount - 2] >= start && ranges[2 * rangeCount - 1] <= end) {
+            rangeCount--;
+        }
+        if (2 * rangeCount == ranges.length) {
+            ranges = Arrays.copyOf(ranges, 2 * ranges.length);
+        }
+        ranges[2 * rangeCount] = start;
+        ranges[2 * rangeCount + 1] = end;
+        rangeCount++;
+    }
+
+    boolean isDetached() {
+        return input == null;
+    }
+
+    /**
+     * Copies the kept ranges, merging those that overlap or touch, and drops the input.
+     */
+    void detach() {
+        if (input == null) {
+            return;
+        }
+        final long[] sorted = new long[rangeCount];
+        for (int i = 0; i < rangeCount; i++) {
+            sorted[i] = (long) ranges[2 * i] << 32 | ranges[2 * i + 1];
+        }
+        Arrays.sort(sorted);
+        final int[] mergedStarts = new int[rangeCount];
+        final String[] mergedPieces = new String[rangeCount];
+        int count = 0;
+        for (int i = 0; i < sorted.length; ) {
+            final int start = (int) (sorted[i] >>> 32);
+            int end = (int) sorted[i];
+            for (i++; i < sorted.length && (int) (sorted[i] >>> 32) <= end; i++) {
+                end = Math.max(end, (int) sorted[i]);
+            }
+            mergedStarts[count] = start;
+            mergedPieces[count] = input.subSequence(start, end).toString();
+            count++;
+        }
+        starts = Arrays.copyOf(mergedStarts, count);
+        pieces = Arrays.copyOf(mergedPieces, count);
+        ranges = null;
+        input = null;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (input != null) {
+            return input.charAt(index);
+        }
+        final int piece = piece(index, index + 1);
+        return pieces[piece].charAt(index - starts[piece]);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (input != null) {
+            return input.subSequence(start, end);
+        }
+        if (start == end) {
+            return "";
+        }
+        final int piece = piece(start, end);
+        return pieces[piece].substring(start - starts[piece], end - starts[piece]);
+    }
+
+    /**
+     * Index of the copied piece holding {@code [start, end)}.
+     */
+    private int piece(int start, int end) {
+        int piece = Arrays.binarySearch(starts, start);
+        if (piece < 0) {
+            piece = -piece - 2;
+        }
+        if (piece < 0 || end > starts[piece] + pieces[piece].length()) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end
+                    + " is outside the text kept for the statement");
+        }
+        return piece;
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+}
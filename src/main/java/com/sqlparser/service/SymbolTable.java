@@ -0,0 +1,14 @@
+package com.sqlparser.service;
+
+/**
+ * Canonicalizes the names the analyzer copies out of a statement, so that queries parsed
+ * from different statements share one String per distinct table or column name.
+ *
+ * @see SqlAnalyzer#setSymbolTable(SymbolTable)
+ */
+public interface SymbolTable {
+    /**
+     * Returns the canonical String equal to {@code chars[start, end)}.
+     */
+    String intern(CharSequence chars, int start, int end);
+}
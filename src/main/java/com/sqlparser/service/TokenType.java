@@ -0,0 +1,13 @@
+package com.sqlparser.service;
+
+public enum TokenType {
+    KEYWORD,
+    IDENTIFIER,
+    QUOTED_IDENTIFIER,
+    STRING,
+    NUMBER,
+    OPERATOR,
+    PUNCTUATION,
+    ERROR,
+    END
+}
@@ -0,0 +1,180 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.JoinType;
+import com.sqlparser.service.OperatorType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JoinOperatorTest {
+    private static final JoinType[] JOIN_TYPES = {JoinType.INNER, JoinType.LEFT, JoinType.RIGHT, JoinType.FULL_OUTER};
+
+    /**
+     * A table of random keys below {@code keys} and values, with some NULL keys if {@code nulls}.
+     */
+    private static Table table(String name, int size, int keys, boolean sorted, boolean nulls, long seed) {
+        final Random random = new Random(seed);
+        final long[] key = new long[size];
+        final boolean[] keyNulls = new boolean[size];
+        final int[] value = new int[size];
+        for (int row = 0; row < size; row++) {
+            key[row] = random.nextInt(keys);
+            keyNulls[row] = nulls && random.nextInt(20) == 0;
+            value[row] = random.nextInt(100);
+        }
+        if (sorted) {
+            Arrays.sort(key);
+        }
+        return Table.builder(name)
+                .addColumn("key", new LongColumn(key, nulls ? keyNulls : null))
+                .addColumn("value", value)
+                .build();
+    }
+
+    private static List<String> run(Operator join) {
+        final List<String> rows = new ArrayList<>();
+        Batch batch;
+        while ((batch = join.next()) != null) {
+            for (int i = 0; i < batch.size; i++) {
+                rows.add(batch.rows[0][i] + ":" + batch.rows[1][i]);
+            }
+        }
+        return rows;
+    }
+
+    private static VectorExpression column(int table, Table from, String name) {
+        return new VectorExpression.ColumnValue(table, from.getColumn(name));
+    }
+
+    /**
+     * {@code left.key = right.key}, and {@code left.value < right.value} if {@code residual}.
+     */
+    private static VectorPredicate condition(Table left, Table right, boolean residual) {
+        final VectorPredicate keys = new VectorPredicate.Comparison(column(0, left, "key"), OperatorType.EQUAL,
+                column(1, right, "key"));
+        return residual ? new VectorPredicate.Junction(new VectorPredicate[]{keys, residual(left, right)}, true) : keys;
+    }
+
+    private static VectorPredicate residual(Table left, Table right) {
+        return new VectorPredicate.Comparison(column(0, left, "value"), OperatorType.LESS_THAN, column(1, right, "value"));
+    }
+
+    private static List<String> nestedLoop(Table left, Table right, JoinType joinType, boolean residual) {
+        return run(new NestedLoopJoin(new Scan(0, left.getRowCount(), 2), new int[]{0}, 1, right.getRowCount(),
+                joinType, condition(left, right, residual), 2));
+    }
+
+    private static HashJoin hashJoin(Table left, Table right, JoinType joinType, boolean residual, long budget, Path spill) {
+        return new HashJoin(new Scan(0, left.getRowCount(), 2), new int[]{0}, column(0, left, "key"), 1,
+                right.getColumn("key"), joinType, residual ? residual(left, right) : null, 2, budget, spill);
+    }
+
+    private static List<String> sorted(List<String> rows) {
+        final List<String> sorted = new ArrayList<>(rows);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Test
+    public void hashJoinMatchesNestedLoopJoin() {
+        final Table left = table("l", 3000, 400, false, true, 1);
+        final Table right = table("r", 2000, 500, false, true, 2);
+        for (JoinType joinType : JOIN_TYPES) {
+            for (boolean residual : new boolean[]{false, true}) {
+                assertEquals(nestedLoop(left, right, joinType, residual),
+                        run(hashJoin(left, right, joinType, residual, Long.MAX_VALUE, null)), joinType + " " + residual);
+            }
+        }
+    }
+
+    @Test
+    public void mergeJoinMatchesNestedLoopJoin() {
+        final Table left = table("l", 3000, 400, true, false, 3);
+        final Table right = table("r", 2000, 500, true, false, 4);
+        assertTrue(MergeJoin.isSorted(left.getColumn("key")));
+        assertTrue(!MergeJoin.isSorted(table("u", 100, 50, false, false, 5).getColumn("key")));
+        for (JoinType joinType : JOIN_TYPES) {
+            for (boolean residual : new boolean[]{false, true}) {
+                final MergeJoin join = new MergeJoin(new Scan(0, left.getRowCount(), 2), new int[]{0},
+                        column(0, left, "key"), 1, right.getColumn("key"), joinType,
+                        residual ? residual(left, right) : null, 2);
+                assertEquals(nestedLoop(left, right, joinType, residual), run(join), joinType + " " + residual);
+            }
+        }
+        final Table unsorted = table("u", 100, 50, false, false, 6);
+        assertThrows(IllegalStateException.class, () -> run(new MergeJoin(new Scan(0, unsorted.getRowCount(), 2),
+                new int[]{0}, column(0, unsorted, "key"), 1, right.getColumn("key"), JoinType.INNER, null, 2)));
+    }
+
+    @Test
+    public void hashJoinSpillsOverBudget() {
+        final Table left = table("l", 3000, 400, false, true, 7);
+        final Table right = table("r", 2000, 500, false, true, 8);
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("spill");
+            for (JoinType joinType : JOIN_TYPES) {
+                final HashJoin join = hashJoin(left, right, joinType, true, 4096, directory);
+                final List<String> rows = run(join);
+                assertTrue(join.getPartitionCount() > 1);
+                assertEquals(sorted(nestedLoop(left, right, joinType, true)), sorted(rows), joinType.toString());
+                try (Stream<Path> files = Files.list(directory)) {
+                    assertEquals(0, files.count());
+                }
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        } finally {
+            if (directory != null) {
+                directory.toFile().delete();
+            }
+        }
+    }
+
+    @Test
+    public void queriesPickJoinsByKey() {
+        try {
+            final QueryEngine engine = new QueryEngine()
+                    .register(table("a", 1500, 300, true, false, 9))
+                    .register(table("b", 1200, 300, true, false, 10))
+                    .register(table("c", 1100, 300, false, true, 11));
+            // An arithmetic key is no column equality: the same join runs as a nested loop join.
+            final String[] queries = {
+                    "SELECT a.value, b.value FROM a LEFT JOIN b ON %s = b.key ORDER BY 1;",
+                    "SELECT b.value, c.value FROM b FULL OUTER JOIN c ON c.key = %s AND c.value > b.value ORDER BY 1;",
+                    "SELECT a.value FROM a INNER JOIN b ON a.key = b.key RIGHT JOIN c ON c.key = %s ORDER BY 1;"
+            };
+            final String[] keys = {"a.key", "b.key", "b.key"};
+            for (int q = 0; q < queries.length; q++) {
+                final Table nestedLoop = engine.execute(String.format(queries[q], keys[q] + " + 0"));
+                final Table keyed = engine.execute(String.format(queries[q], keys[q]));
+                engine.setJoinMemoryBudget(1024);
+                final Table spilled = engine.execute(String.format(queries[q], keys[q]));
+                engine.setJoinMemoryBudget(Long.MAX_VALUE);
+                assertTrue(nestedLoop.getRowCount() > 0, queries[q]);
+                for (Table result : new Table[]{keyed, spilled}) {
+                    assertEquals(nestedLoop.getRowCount(), result.getRowCount(), queries[q]);
+                    for (int row = 0; row < nestedLoop.getRowCount(); row++) {
+                        assertEquals(nestedLoop.getValue(row, 0), result.getValue(row, 0), queries[q]);
+                    }
+                }
+            }
+            assertThrows(IllegalArgumentException.class, () -> engine.setJoinMemoryBudget(0));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+}
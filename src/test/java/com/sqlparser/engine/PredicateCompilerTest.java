@@ -0,0 +1,165 @@
+package com.sqlparser.engine;
+
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.service.SqlAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PredicateCompilerTest {
+    private static Table table() {
+        final int size = 3000;
+        final Random random = new Random(42);
+        final int[] ids = new int[size];
+        final int[] ages = new int[size];
+        final boolean[] ageNulls = new boolean[size];
+        final double[] scores = new double[size];
+        final String[] names = new String[size];
+        for (int row = 0; row < size; row++) {
+            ids[row] = row;
+            ages[row] = random.nextInt(80);
+            ageNulls[row] = random.nextInt(10) == 0;
+            scores[row] = random.nextInt(100) / 10.0;
+            names[row] = random.nextInt(12) == 0 ? null : "user" + random.nextInt(40);
+        }
+        return Table.builder("users")
+                .addColumn("id", ids)
+                .addColumn("age", new IntColumn(ages, ageNulls))
+                .addColumn("score", scores)
+                .addColumn("name", names)
+                .build();
+    }
+
+    private static List<Expression> where(String condition) throws Exception {
+        return new SqlAnalyzer("SELECT id FROM users WHERE " + condition + ";").analyze().getWhereConditions();
+    }
+
+    private static List<Object> matching(RowPredicate predicate, Table table) {
+        final List<Object> ids = new ArrayList<>();
+        for (int row = 0; row < table.getRowCount(); row++) {
+            if (predicate.test(row)) {
+                ids.add(table.getValue(row, "id"));
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    public void matchesQueryEngine() {
+        try {
+            final Table table = table();
+            final QueryEngine engine = new QueryEngine().register(table);
+            final PredicateCompiler compiler = new PredicateCompiler(table);
+            final String[] conditions = {
+                    "age > 30",
+                    "age <= 30 AND users.score > 5",
+                    "age >= 20 AND score < 3 OR name = 'user7'",
+                    "NOT (age < 40 OR name LIKE 'user1%')",
+                    "age BETWEEN 10 AND 20 AND NOT score BETWEEN 2 AND 8",
+                    "name IN ('user1', 'user2', 'nobody') OR id IN (5, 17, 2999)",
+                    "age NOT IN (1, 2, NULL) OR score IN (1.5, age)",
+                    "age IS NULL OR name IS NOT NULL AND age + score * 2 > 100",
+                    "id / (age - 40) > 10",
+                    "name || '-' || age LIKE '%1-1_'",
+                    "name > 'user3' AND name < score || ''",
+                    "1 + 2 * 3 = 7 AND age = 1 + 1",
+                    "age = NULL OR NOT (score > 1 AND age > NULL)"
+            };
+            for (String condition : conditions) {
+                final List<Object> expected = new ArrayList<>();
+                final Table result = engine.execute("SELECT id FROM users u WHERE " + condition + ";");
+                for (int row = 0; row < result.getRowCount(); row++) {
+                    expected.add(result.getValue(row, 0));
+                }
+                assertEquals(expected, matching(compiler.compile(where(condition)), table), condition);
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void foldsConstants() {
+        try {
+            final PredicateCompiler compiler = new PredicateCompiler(table());
+            assertSame(PredicateCompiler.ALWAYS, compiler.compile(where("2 * 3 = 6 AND 'a' || 1 = 'a1'")));
+            assertSame(PredicateCompiler.NEVER, compiler.compile(where("age > 1 AND 1 / 0 = 1")));
+            assertSame(PredicateCompiler.NEVER, compiler.compile(where("score > NULL OR name LIKE NULL")));
+            assertSame(PredicateCompiler.ALWAYS, compiler.compile(where("id > 5 OR NOT 1 > 2")));
+            assertSame(PredicateCompiler.NEVER, compiler.compile(where("name = 'nobody'")));
+            assertSame(PredicateCompiler.NEVER, compiler.compile(where("id IS NULL")));
+            assertSame(PredicateCompiler.ALWAYS, compiler.compile(new ArrayList<>()));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void definesClassPerPredicate() {
+        try {
+            final PredicateCompiler compiler = new PredicateCompiler(table());
+            final RowPredicate first = compiler.compile(where("age > 30"));
+            final RowPredicate second = compiler.compile(where("age > 30"));
+            assertNotSame(first.getClass(), second.getClass());
+            final Field handle = first.getClass().getDeclaredField("HANDLE");
+            assertTrue(Modifier.isStatic(handle.getModifiers()) && Modifier.isFinal(handle.getModifiers()));
+            assertEquals(1, first.getClass().getDeclaredFields().length);
+            assertEquals(matching(first, table()), matching(second, table()));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    /**
+     * Compiles and runs a predicate on a fresh table, keeping only a weak reference to its column.
+     */
+    private static WeakReference<int[]> compileAndDrop() throws Exception {
+        final int[] values = new int[100_000];
+        Arrays.fill(values, 7);
+        final Table table = Table.builder("t").addColumn("v", values).build();
+        final RowPredicate predicate = new PredicateCompiler(table).compile(new SqlAnalyzer("SELECT v FROM t WHERE v > 5;")
+                .analyze().getWhereConditions());
+        assertTrue(predicate.test(0));
+        return new WeakReference<>(values);
+    }
+
+    @Test
+    public void droppedPredicateReleasesTable() {
+        try {
+            final WeakReference<int[]> column = compileAndDrop();
+            for (int i = 0; i < 50 && column.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(column.get());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void invalidConditions() {
+        final PredicateCompiler compiler = new PredicateCompiler(table());
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(where("missing = 1")));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(where("name > 1")));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(where("name * 2 > 1")));
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(where("age LIKE 'a%'")));
+    }
+}
@@ -0,0 +1,168 @@
+package com.sqlparser.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryEngineTest {
+    private static QueryEngine engine() {
+        return new QueryEngine()
+                .register(Table.builder("users")
+                        .addColumn("id", new int[]{1, 2, 3, 4, 5})
+                        .addColumn("name", new String[]{"ann", "bob", "carl", "dina", null})
+                        .addColumn("age", new IntColumn(new int[]{31, 17, 45, 0, 22}, new boolean[]{false, false, false, true, false}))
+                        .addColumn("score", new double[]{1.5, 2.5, 0.5, 4.0, 3.0})
+                        .build())
+                .register(Table.builder("orders")
+                        .addColumn("id", new long[]{10, 11, 12, 13})
+                        .addColumn("user_id", new int[]{1, 1, 3, 9})
+                        .addColumn("total", new double[]{100, 20, 35.5, 7})
+                        .build());
+    }
+
+    private static List<List<Object>> rows(Table table) {
+        final List<List<Object>> rows = new ArrayList<>();
+        for (int row = 0; row < table.getRowCount(); row++) {
+            final List<Object> values = new ArrayList<>();
+            for (int column = 0; column < table.getColumns().size(); column++) {
+                values.add(table.getValue(row, column));
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    @Test
+    public void projectFilterOrderLimit() {
+        try {
+            final Table result = engine().execute("SELECT u.id, u.name AS n FROM users u "
+                    + "WHERE u.age > 18 OR u.score >= 4 ORDER BY n DESC LIMIT 2 OFFSET 1;");
+            assertEquals(List.of("u.id", "n"), result.getColumnNames());
+            assertEquals(List.of(List.of(3, "carl"), List.of(1, "ann")), rows(result));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void predicates() {
+        try {
+            final QueryEngine engine = engine();
+            assertEquals(List.of(List.of(1), List.of(5)),
+                    rows(engine.execute("SELECT id FROM users WHERE age BETWEEN 20 AND 40;")));
+            assertEquals(List.of(List.of(2), List.of(3)),
+                    rows(engine.execute("SELECT id FROM users WHERE name IN ('bob', 'carl', 'eve');")));
+            assertEquals(List.of(List.of(1), List.of(4), List.of(5)),
+                    rows(engine.execute("SELECT id FROM users WHERE id NOT IN (2, 3);")));
+            assertEquals(List.of(List.of(1), List.of(3), List.of(4)),
+                    rows(engine.execute("SELECT id FROM users WHERE name LIKE '%n_' OR name LIKE 'c%';")));
+            assertEquals(List.of(List.of(4)), rows(engine.execute("SELECT id FROM users WHERE age IS NULL;")));
+            assertEquals(List.of(List.of(2), List.of(3)),
+                    rows(engine.execute("SELECT id FROM users WHERE name > 'b' AND name < 'd';")));
+            assertEquals(List.of(List.of(1), List.of(2)),
+                    rows(engine.execute("SELECT id FROM users WHERE id * 2 < score + 4 + age / 100;")));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void nullsAreNeitherTrueNorFalse() {
+        try {
+            final QueryEngine engine = engine();
+            assertEquals(List.of(List.of(2), List.of(5)),
+                    rows(engine.execute("SELECT id FROM users WHERE NOT (age > 30);")));
+            assertEquals(List.of(List.of(1), List.of(3)),
+                    rows(engine.execute("SELECT id FROM users WHERE NOT (age < 30 OR name = 'dina');")));
+            assertEquals(List.of(), rows(engine.execute("SELECT id FROM users WHERE age = NULL;")));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void joinTypes() {
+        try {
+            final QueryEngine engine = engine();
+            assertEquals(List.of(List.of(1, 10L), List.of(1, 11L), List.of(3, 12L)),
+                    rows(engine.execute("SELECT u.id, o.id FROM users u INNER JOIN orders o ON o.user_id = u.id;")));
+            assertEquals(Arrays.asList(List.of(1, 10L), List.of(1, 11L), Arrays.asList(2, null), List.of(3, 12L),
+                    Arrays.asList(4, null), Arrays.asList(5, null)),
+                    rows(engine.execute("SELECT u.id, o.id FROM users u LEFT JOIN orders o ON o.user_id = u.id;")));
+            assertEquals(Arrays.asList(List.of(1, 10L), List.of(3, 12L), Arrays.asList(null, 11L), Arrays.asList(null, 13L)),
+                    rows(engine.execute("SELECT u.id, o.id FROM users u RIGHT JOIN orders o "
+                            + "ON o.user_id = u.id AND o.total > 30;")));
+            assertEquals(7, engine.execute("SELECT u.id FROM users u FULL OUTER JOIN orders o "
+                    + "ON o.user_id = u.id AND o.total > 30;").getRowCount());
+            assertEquals(20, engine.execute("SELECT * FROM users, orders;").getRowCount());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void groupBy() {
+        try {
+            final Table result = engine().execute("SELECT o.user_id FROM orders o GROUP BY o.user_id ORDER BY 1 DESC;");
+            assertEquals(List.of(List.of(9), List.of(3), List.of(1)), rows(result));
+            assertEquals(List.of(List.of(1, 11L), List.of(1, 10L), List.of(3, 12L), List.of(9, 13L)),
+                    rows(engine().execute("SELECT user_id, id FROM orders ORDER BY user_id ASC, id DESC;")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine().execute("SELECT id, total FROM orders GROUP BY user_id;"));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void manyBatches() {
+        try {
+            final int size = 5000;
+            final int[] ids = new int[size];
+            final String[] kinds = new String[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = i;
+                kinds[i] = "kind" + i % 7;
+            }
+            final int[] kindIds = new int[]{0, 1, 2, 3, 4, 5, 6};
+            final String[] kindNames = new String[7];
+            for (int i = 0; i < 7; i++) {
+                kindNames[i] = "kind" + i;
+            }
+            final QueryEngine engine = new QueryEngine()
+                    .register(Table.builder("events").addColumn("id", ids).addColumn("kind", kinds).build())
+                    .register(Table.builder("kinds").addColumn("id", kindIds).addColumn("name", kindNames).build());
+            final Table result = engine.execute("SELECT e.id, k.id FROM events e INNER JOIN kinds k ON k.name = e.kind "
+                    + "WHERE e.id >= 0 AND e.kind LIKE 'kind%' ORDER BY e.id;");
+            assertEquals(size, result.getRowCount());
+            for (int row = 0; row < result.getRowCount(); row += 997) {
+                assertEquals(row, result.getValue(row, 0));
+                assertEquals(row % 7, result.getValue(row, 1));
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void unknownNames() {
+        final QueryEngine engine = engine();
+        assertThrows(IllegalArgumentException.class, () -> engine.execute("SELECT id FROM missing;"));
+        assertThrows(IllegalArgumentException.class, () -> engine.execute("SELECT email FROM users;"));
+        assertThrows(IllegalArgumentException.class, () -> engine.execute("SELECT id FROM users, orders;"));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.execute("SELECT u.id FROM users u INNER JOIN orders o ON o.user_id = x.id;"));
+    }
+}
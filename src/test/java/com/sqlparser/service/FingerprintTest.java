@@ -0,0 +1,79 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.Fingerprint;
+import com.sqlparser.model.Query;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FingerprintTest {
+    private static Fingerprint fingerprint(String statement) throws Exception {
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer(statement);
+        sqlAnalyzer.setFingerprinting(true);
+        return sqlAnalyzer.analyze().getFingerprint();
+    }
+
+    @Test
+    public void literalsReplaced() {
+        try {
+            final Fingerprint fingerprint = fingerprint("select u.id,  u.name AS n from users u "
+                    + "where u.age between 18 and 30 AND u.name LIKE 'A%' or u.id IN (1, 2, 3) "
+                    + "order by 2 desc limit 10 offset 20;");
+            assertEquals("SELECT u.id, u.name AS n FROM users u WHERE u.age BETWEEN ? AND ? AND u.name LIKE ? "
+                    + "OR u.id IN (?) ORDER BY 2 DESC LIMIT ? OFFSET ?;", fingerprint.getText());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void statementsDifferingInConstantsShareFingerprint() {
+        try {
+            final Fingerprint first = fingerprint("SELECT * FROM users WHERE id IN (1, 2) AND name = 'a' LIMIT 5;");
+            final Fingerprint second = fingerprint("SELECT *\n  FROM users -- by id\n WHERE id IN (7)  AND name = 'b' LIMIT 50;");
+            assertEquals(first, second);
+            assertEquals(first.getHash(), second.getHash());
+
+            final Fingerprint other = fingerprint("SELECT * FROM users WHERE id IN (1, 2) AND email = 'a' LIMIT 5;");
+            assertNotEquals(first.getHash(), other.getHash());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void inListWithColumnsKept() {
+        try {
+            assertEquals("SELECT a FROM t WHERE a IN (?, t.b) AND (c + ? > d);",
+                    fingerprint("SELECT a FROM t WHERE a IN (1, t.b) AND (c + 1 > d);").getText());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void offByDefault() {
+        try {
+            final Query query = new SqlAnalyzer("SELECT a FROM t;").analyze();
+            assertNull(query.getFingerprint());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void reusedAnalyzer() {
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+        sqlAnalyzer.setFingerprinting(true);
+        assertTrue(!sqlAnalyzer.reset("SELECT a FROM t WHERE a = 1 AND;").parse().isSuccess());
+        assertEquals("SELECT b FROM t WHERE b = ?;",
+                sqlAnalyzer.reset("SELECT b FROM t WHERE b = 2;").parse().getQuery().getFingerprint().getText());
+    }
+}
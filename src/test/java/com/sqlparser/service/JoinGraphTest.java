@@ -0,0 +1,158 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.Join;
+import com.sqlparser.model.JoinEdge;
+import com.sqlparser.model.JoinOrder;
+import com.sqlparser.model.JoinType;
+import com.sqlparser.model.Query;
+import com.sqlparser.model.TableRef;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JoinGraphTest {
+    private static JoinGraph graph(String statement) throws Exception {
+        return JoinGraph.of(new SqlAnalyzer(statement).analyze());
+    }
+
+    private static List<String> references(JoinOrder order) {
+        return order.getTables().stream().map(TableRef::getReference).collect(Collectors.toList());
+    }
+
+    @Test
+    public void multiColumnAndNonEquiCondition() {
+        try {
+            final Query query = new SqlAnalyzer("SELECT o.id FROM orders o INNER JOIN order_lines AS l "
+                    + "ON l.order_id = o.id AND l.version = o.version AND l.created > o.created;").analyze();
+            final Join join = query.getJoins().get(0);
+            assertEquals(new Join(JoinType.INNER, "order_lines", "l", "l.order_id", "o.id", null), join);
+            assertEquals("l.order_id EQUAL 68 o.id AND 75 l.version EQUAL 89 o.version AND 101 l.created GREATER_THAN 115 o.created",
+                    join.getCondition().toString());
+
+            final JoinGraph graph = JoinGraph.of(query);
+            assertEquals(List.of(new TableRef("orders", "o"), new TableRef("order_lines", "l")), graph.getTables());
+            assertEquals(1, graph.getEdges().size());
+            final JoinEdge edge = graph.getEdges().get(0);
+            assertEquals(3, edge.getPredicates().size());
+            assertEquals(2, edge.getEqualityCount());
+            assertTrue(edge.isEquiJoin());
+            assertTrue(graph.getCycleEdges().isEmpty());
+            assertFalse(graph.hasCrossJoin());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void cycleAndCrossJoin() {
+        try {
+            final JoinGraph cycle = graph("SELECT * FROM a INNER JOIN b ON b.x = a.x "
+                    + "INNER JOIN c ON c.y = b.y WHERE c.z < a.z;");
+            assertEquals(3, cycle.getEdges().size());
+            assertEquals(1, cycle.getCycleEdges().size());
+            final JoinEdge closing = cycle.getCycleEdges().get(0);
+            assertEquals("a", closing.getLeft().getName());
+            assertEquals("c", closing.getRight().getName());
+            assertFalse(closing.isEquiJoin());
+
+            final JoinGraph cross = graph("SELECT * FROM a, b INNER JOIN c ON c.id = a.id WHERE b.kind = 1;");
+            assertTrue(cross.hasCrossJoin());
+            assertEquals(List.of(List.of(new TableRef("a", null), new TableRef("c", null)), List.of(new TableRef("b", null))),
+                    cross.getComponents());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void suggestsSelectiveTableFirst() {
+        try {
+            final JoinGraph graph = graph("SELECT * FROM sales s INNER JOIN customers c ON c.id = s.customer_id "
+                    + "INNER JOIN regions r ON r.id = c.region_id WHERE r.name = 'north';");
+            final Map<String, Long> rowCounts = Map.of("sales", 1_000_000L, "customers", 10_000L, "regions", 10L);
+            final JoinOrder written = graph.writtenOrder(rowCounts);
+            final JoinOrder suggested = graph.suggestOrder(rowCounts);
+            assertEquals(List.of("s", "c", "r"), references(written));
+            assertEquals(List.of("r", "c", "s"), references(suggested));
+            assertEquals(100_000, suggested.getEstimatedRows(), 1e-6);
+            assertEquals(written.getEstimatedRows(), suggested.getEstimatedRows(), 1e-6);
+            assertEquals(101_001, suggested.getEstimatedCost(), 1e-6);
+            assertTrue(suggested.getEstimatedCost() < written.getEstimatedCost());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void outerJoinsKeepTheirSides() {
+        try {
+            final JoinGraph graph = graph("SELECT * FROM a LEFT JOIN b ON b.a_id = a.id "
+                    + "INNER JOIN c ON c.b_id = b.id RIGHT JOIN d ON d.c_id = c.id INNER JOIN e ON e.id = a.e_id;");
+            final JoinOrder order = graph.suggestOrder(Map.of("a", 1_000_000L, "b", 10L, "c", 10L, "d", 1L, "e", 1L));
+            assertEquals(List.of("a", "b", "c", "d", "e"), references(order));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void conditionOnLaterTableKeepsWrittenOrder() {
+        try {
+            final JoinGraph graph = graph("SELECT * FROM a LEFT JOIN b ON b.x = c.y JOIN c ON c.z = b.w;");
+            final JoinOrder order = graph.suggestOrder(Map.of());
+            assertEquals(List.of("a", "b", "c"), references(order));
+            assertEquals(graph.writtenOrder(Map.of()).getEstimatedCost(), order.getEstimatedCost());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void reservationQuery() {
+        try {
+            final JoinGraph graph = graph("SELECT client.full_name FROM room_in_reservation "
+                    + "LEFT JOIN reservation ON reservation.id_reservation = room_in_reservation.id_reservation "
+                    + "LEFT JOIN client ON client.id_client = reservation.id_client "
+                    + "LEFT JOIN room ON room.id_room = room_in_reservation.id_room_in_reservation "
+                    + "LEFT JOIN room_kind ON room_kind.id_room_kind = room.id_room_kind "
+                    + "LEFT JOIN hotel ON hotel.id_hotel = room.id_hotel "
+                    + "WHERE room_kind.name = 'lux' AND hotel.name = 'Altai';");
+            assertEquals(5, graph.getEdges().size());
+            assertTrue(graph.getCycleEdges().isEmpty());
+            assertFalse(graph.hasCrossJoin());
+
+            final List<String> order = references(graph.suggestOrder(Map.of("room_in_reservation", 100_000L,
+                    "reservation", 50_000L, "client", 20_000L, "room", 500L, "room_kind", 5L, "hotel", 10L)));
+            assertEquals("room_in_reservation", order.get(0));
+            assertTrue(order.indexOf("room") < order.indexOf("room_kind"));
+            assertTrue(order.indexOf("room") < order.indexOf("hotel"));
+            assertTrue(order.indexOf("reservation") < order.indexOf("client"));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void joinsWithoutCondition() {
+        final Query query = Query.builder().addFromSource("users")
+                .addJoin(new Join(JoinType.LEFT, "messages", "messages.user_id", "users.id")).build();
+        assertNull(query.getJoins().get(0).getCondition());
+        final JoinGraph graph = JoinGraph.of(query);
+        assertEquals(1, graph.getEdges().size());
+        assertTrue(graph.getEdges().get(0).isEquiJoin());
+        assertEquals(List.of("users", "messages"), references(graph.suggestOrder(Map.of())));
+    }
+}
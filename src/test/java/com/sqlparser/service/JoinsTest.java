@@ -150,7 +150,7 @@ public class JoinsTest {
             final List<String> whereClauses = query.getWhereClauses();
             whereClauses.forEach(System.out::println);
             assertEquals(1, whereClauses.size());
-            assertEquals("room_kind.name EQUAL 502 'Lux' AND 511 hotel.name EQUAL 528 'Altay'", whereClauses.get(0));
+            assertEquals("room_kind.name EQUAL 502 'Lux' AND 512 hotel.name EQUAL 528 'Altay'", whereClauses.get(0));
         } catch (Exception exception) {
             exception.printStackTrace();
             assertTrue(false);
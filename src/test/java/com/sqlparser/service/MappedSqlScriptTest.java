@@ -0,0 +1,87 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.StatementResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedSqlScriptTest {
+    private static final String SCRIPT = "-- products; by calories\n" +
+            "SELECT * FROM `product` ORDER BY calorific ASC;\n" +
+            "SELECT name FROM product\n" +
+            "  WHERE name = '\u0410\u043b\u0442\u0430\u0439;' /* ; */ AND id > 1;\n" +
+            "\n" +
+            "SELECT `;` FROM users;SELECT * FROM";
+
+    @Test
+    public void statementsAcrossWindowBoundaries() {
+        Path path = null;
+        try {
+            path = Files.createTempFile("script", ".sql");
+            Files.write(path, SCRIPT.getBytes(StandardCharsets.UTF_8));
+            for (int windowSize : new int[]{1, 3, 16, MappedSqlScript.DEFAULT_WINDOW_SIZE}) {
+                final List<StatementResult> results = new ArrayList<>();
+                try (MappedSqlScript script = new MappedSqlScript(FileChannel.open(path, StandardOpenOption.READ), windowSize)) {
+                    new SqlScriptParser(script).forEachRemaining(results::add);
+                    assertEquals(script.getFileSize(), script.getBytesScanned());
+                }
+                assertEquals(4, results.size());
+                for (StatementResult result : results) {
+                    assertTrue(result.getStatement() instanceof String, "a read statement must not pin the mapping");
+                }
+                assertEquals("SELECT * FROM `product` ORDER BY calorific ASC;", results.get(0).getStatement().toString());
+                assertEquals("ORDER BY 24 calorific ASC", results.get(0).getQuery().getOrderBy());
+                assertEquals(2, results.get(0).getLine());
+                assertEquals("name EQUAL 38 '\u0410\u043b\u0442\u0430\u0439;' AND 57 id GREATER_THAN 64 1",
+                        results.get(1).getQuery().getWhereClauses().get(0));
+                assertEquals(3, results.get(1).getLine());
+                assertFalse(results.get(2).isSuccess());
+                assertEquals(6, results.get(2).getLine());
+                assertEquals("SELECT * FROM", results.get(3).getStatement().toString());
+                assertEquals(4, results.get(3).getStatementNumber());
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        } finally {
+            deleteQuietly(path);
+        }
+    }
+
+    @Test
+    public void emptyFile() {
+        Path path = null;
+        try {
+            path = Files.createTempFile("script", ".sql");
+            Files.write(path, " -- nothing\n".getBytes(StandardCharsets.UTF_8));
+            try (MappedSqlScript script = MappedSqlScript.open(path)) {
+                assertNull(script.nextStatement());
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        } finally {
+            deleteQuietly(path);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            if (path != null) {
+                Files.deleteIfExists(path);
+            }
+        } catch (Exception ignored) {
+        }
+    }
+}
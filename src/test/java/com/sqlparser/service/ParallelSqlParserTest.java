@@ -0,0 +1,74 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.StatementResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelSqlParserTest {
+    private static List<String> statements(int count) {
+        final List<String> statements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            statements.add(i % 7 == 0
+                    ? "SELECT id FROM users WHERE id = ;"
+                    : "SELECT id FROM users WHERE id = " + i + " ORDER BY id LIMIT " + i + ";");
+        }
+        return statements;
+    }
+
+    private static void assertInOrder(List<StatementResult> results, int count) {
+        assertEquals(count, results.size());
+        for (int i = 0; i < count; i++) {
+            final StatementResult result = results.get(i);
+            assertEquals(i + 1, result.getStatementNumber());
+            assertEquals(i % 7 != 0, result.isSuccess());
+            if (result.isSuccess()) {
+                assertEquals(i, result.getQuery().getLimit().getLimit());
+            }
+        }
+    }
+
+    @Test
+    public void resultsInInputOrder() {
+        try (ParallelSqlParser parser = new ParallelSqlParser(4)) {
+            assertInOrder(parser.parseAll(StatementSource.of(statements(1000))), 1000);
+        }
+    }
+
+    @Test
+    public void callerSuppliedExecutor() {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (ParallelSqlParser parser = new ParallelSqlParser(3, executor)) {
+            assertInOrder(parser.parseAll(StatementSource.of(statements(200))), 200);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void scriptLinesAttached() {
+        final String script = "SELECT a FROM t;\n\nSELECT b\n FROM t;\nSELECT FROM t;";
+        try (ParallelSqlParser parser = new ParallelSqlParser(2)) {
+            final List<StatementResult> results = parser.parseAll(new SqlScriptSplitter(new StringReader(script)));
+            assertEquals(3, results.size());
+            assertEquals(1, results.get(0).getLine());
+            assertEquals(3, results.get(1).getLine());
+            assertEquals("b", results.get(1).getQuery().getColumns().get(0));
+            assertEquals(5, results.get(2).getLine());
+            assertTrue(!results.get(2).isSuccess());
+        }
+    }
+
+    @Test
+    public void parallelismMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSqlParser(0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.ParseErrorCode;
+import com.sqlparser.model.ParseResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParserMetricsTest {
+    @Test
+    public void clausesStatementsAndErrors() {
+        final ParserMetrics metrics = new ParserMetrics();
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+        sqlAnalyzer.setListener(metrics);
+
+        sqlAnalyzer.reset("SELECT a FROM t WHERE a = 1 ORDER BY a;").parse();
+        sqlAnalyzer.reset("SELECT a FROM (SELECT b FROM u) x;").parse();
+        sqlAnalyzer.reset("SELECT a FROM t WHERE a = ;").parse();
+        sqlAnalyzer.reset("SELECT a FROM t").parse();
+        sqlAnalyzer.reset("").parse();
+
+        assertEquals(5, metrics.getStatementCount());
+        assertEquals(3, metrics.getFailedStatementCount());
+        assertEquals(1, metrics.getErrorCount(ParseErrorCode.INVALID_CHARACTER));
+        assertEquals(1, metrics.getErrorCount(ParseErrorCode.MISSING_TERMINATOR));
+        assertEquals(1, metrics.getErrorCount(ParseErrorCode.EMPTY_QUERY));
+        assertEquals(4, metrics.getClauseCount(Clause.SELECT));
+        assertEquals(4, metrics.getClauseCount(Clause.FROM));
+        assertEquals(4, metrics.getClauseCount(Clause.WHERE));
+        assertEquals(3, metrics.getClauseCount(Clause.LIMIT));
+        assertTrue(metrics.getClauseNanos(Clause.FROM) > 0);
+        assertTrue(metrics.getStatementNanos() >= metrics.getClauseNanos(Clause.SELECT));
+
+        final long[] histogram = metrics.getLengthHistogram();
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[4]);
+        assertEquals(1, histogram[5]);
+        assertEquals(2, histogram[6]);
+    }
+
+    @Test
+    public void cacheLookups() {
+        final ParserMetrics metrics = new ParserMetrics();
+        final CachingSqlAnalyzer analyzer = new CachingSqlAnalyzer(new QueryCache(), metrics);
+        for (int i = 0; i < 4; i++) {
+            analyzer.parse("SELECT a FROM t;");
+        }
+        assertEquals(3, metrics.getCacheHitCount());
+        assertEquals(1, metrics.getCacheMissCount());
+        assertEquals(0.75, metrics.getCacheHitRate());
+        assertEquals(1, metrics.getStatementCount());
+    }
+
+    @Test
+    public void listenerMethodsDefaultToNoOp() {
+        final List<Clause> clauses = new ArrayList<>();
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer("SELECT a FROM t LIMIT 1;");
+        sqlAnalyzer.setListener(new ParserListener() {
+            @Override
+            public void clauseParsed(Clause clause, long nanos) {
+                clauses.add(clause);
+            }
+        });
+        final ParseResult result = sqlAnalyzer.parse();
+        assertTrue(result.isSuccess());
+        assertEquals(List.of(Clause.values()), clauses);
+    }
+}
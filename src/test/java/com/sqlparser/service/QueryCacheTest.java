@@ -0,0 +1,100 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.ParseResult;
+import com.sqlparser.model.Query;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryCacheTest {
+    @Test
+    public void repeatedStatementIsNotReparsed() {
+        try {
+            final CachingSqlAnalyzer analyzer = new CachingSqlAnalyzer();
+            final String statement = "SELECT id, name FROM users WHERE id = 5;";
+            final Query first = analyzer.analyze(statement);
+            final Query second = analyzer.analyze(statement);
+            assertSame(first, second);
+            assertEquals(1, analyzer.getCache().getHitCount());
+            assertEquals(1, analyzer.getCache().getMissCount());
+            assertThrows(UnsupportedOperationException.class, () -> first.getColumns().add("email"));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void invalidStatementIsNotCached() {
+        final CachingSqlAnalyzer analyzer = new CachingSqlAnalyzer();
+        final ParseResult result = analyzer.parse("SELECT FROM users;");
+        assertTrue(!result.isSuccess());
+        assertEquals(0, analyzer.getCache().size());
+        assertTrue(!analyzer.parse("SELECT FROM users;").isSuccess());
+        assertEquals(0, analyzer.getCache().getHitCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntry() {
+        final QueryCache cache = new QueryCache(2, QueryCache.DEFAULT_MAX_BYTES);
+        cache.put("a", Query.builder().build());
+        cache.put("b", Query.builder().build());
+        assertNotNull(cache.get("a"));
+        cache.put("c", Query.builder().build());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void boundedByEstimatedBytes() {
+        final long entryBytes = QueryCache.estimateBytes("SELECT a FROM t;");
+        final QueryCache cache = new QueryCache(100, entryBytes * 3);
+        for (int i = 0; i < 10; i++) {
+            cache.put("SELECT " + i + " FROM t;", Query.builder().build());
+        }
+        assertEquals(3, cache.size());
+        assertEquals(7, cache.getEvictionCount());
+        assertTrue(cache.getEstimatedBytes() <= entryBytes * 3);
+
+        cache.put(new String(new char[(int) entryBytes]), Query.builder().build());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void sharedAcrossThreads() throws InterruptedException {
+        final CachingSqlAnalyzer analyzer = new CachingSqlAnalyzer(new QueryCache(1024, QueryCache.DEFAULT_MAX_BYTES));
+        final Thread[] threads = new Thread[4];
+        final boolean[] failed = new boolean[1];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    final ParseResult result = analyzer.parse("SELECT id FROM users LIMIT " + i % 50 + ";");
+                    if (!result.isSuccess() || result.getQuery().getLimit().getLimit() != i % 50) {
+                        failed[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(!failed[0]);
+        assertEquals(50, analyzer.getCache().size());
+        assertEquals(8000, analyzer.getCache().getHitCount() + analyzer.getCache().getMissCount());
+    }
+
+    @Test
+    public void limitsMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new QueryCache(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new QueryCache(1, 0));
+    }
+}
@@ -3,12 +3,21 @@ package com.sqlparser.service;
 import com.sqlparser.model.Join;
 import com.sqlparser.model.JoinType;
 import com.sqlparser.model.Limit;
+import com.sqlparser.model.ParseError;
+import com.sqlparser.model.ParseErrorCode;
+import com.sqlparser.model.ParseResult;
 import com.sqlparser.model.Query;
+import com.sqlparser.model.SortDirection;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SqlAnalyzerTest {
@@ -444,6 +453,24 @@ class SqlAnalyzerTest {
         }
     }
 
+    @Test
+    public void orderByMixedDirections() {
+        try {
+            final String sqlQueryInput = "SELECT id, name FROM users ORDER BY id ASC, name DESC, email;";
+            final Query query = new SqlAnalyzer(sqlQueryInput).analyze();
+            assertEquals("ORDER BY 27 id ASC, name DESC, email", query.getOrderBy());
+            assertEquals(Arrays.asList(SortDirection.ASC, SortDirection.DESC, null),
+                    query.getOrderByClause().getDirections());
+
+            final Query example = new SqlAnalyzer("SELECT country.id, country.calls AS calls FROM country "
+                    + "GROUP BY country.id ORDER BY calls DESC, country.id ASC;").analyze();
+            assertEquals("ORDER BY 75 calls DESC, country.id ASC", example.getOrderBy());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
     @Test
     public void orderByFieldDesc() {
         try {
@@ -537,4 +564,242 @@ class SqlAnalyzerTest {
             assertTrue(false);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void reuseAnalyzer() {
+        try {
+            final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+            final Query first = sqlAnalyzer.reset("SELECT email AS useremail FROM table;").analyze();
+            final Query second = sqlAnalyzer.reset("SELECT     user.email   ,    user.avatar FROM users;").analyze();
+
+            assertEquals(1, first.getColumns().size());
+            assertEquals("email AS useremail", first.getColumns().get(0));
+            assertEquals("table", first.getFromSources().get(0));
+
+            assertEquals(2, second.getColumns().size());
+            assertEquals("user.email", second.getColumns().get(0));
+            assertEquals("user.avatar", second.getColumns().get(1));
+            assertEquals(1, second.getFromSources().size());
+            assertEquals("users", second.getFromSources().get(0));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void charArrayInput() {
+        try {
+            final char[] chars = "--SELECT email AS useremail FROM table;--".toCharArray();
+            final Query query = new SqlAnalyzer().reset(chars, 2, chars.length - 4).analyze();
+            assertEquals("email AS useremail", query.getColumns().get(0));
+            assertEquals("table", query.getFromSources().get(0));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void resultsOutliveReusedInput() {
+        try {
+            final char[] chars = "SELECT a FROM t WHERE a = 1;".toCharArray();
+            final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+            final Query query = sqlAnalyzer.reset(chars, 0, chars.length).analyze();
+            "SELECT b FROM t WHERE b = 9;".getChars(0, chars.length, chars, 0);
+            assertEquals("a EQUAL 24 1", query.getWhereClauses().get(0));
+            assertEquals("a = 1", query.getWhereConditions().get(0).getText());
+
+            final ByteBuffer buffer = ByteBuffer.wrap("SELECT a FROM t WHERE a = ;".getBytes(StandardCharsets.UTF_8));
+            final ParseError error = sqlAnalyzer.reset(buffer).parse().getErrors().get(0);
+            buffer.put(26, (byte) '9');
+            assertEquals(";", error.getFound());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void heapByteBufferInput() {
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap("SELECT `email` FROM users;".getBytes(StandardCharsets.UTF_8));
+            final Query query = new SqlAnalyzer().reset(buffer).analyze();
+            assertEquals("email", query.getColumns().get(0));
+            assertEquals("users", query.getFromSources().get(0));
+            assertEquals(0, buffer.position());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void directByteBufferInputWithMultiByteCharacters() {
+        try {
+            final byte[] bytes = "SELECT user.id FROM users WHERE user.name = '\u0410\u043b\u0442\u0430\u0439' ;".getBytes(StandardCharsets.UTF_8);
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            final Query query = new SqlAnalyzer().reset(buffer).analyze();
+            assertEquals("user.id", query.getColumns().get(0));
+            assertEquals("user.name EQUAL 42 '\u0410\u043b\u0442\u0430\u0439'", query.getWhereClauses().get(0));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void nonAsciiIdentifiers() {
+        try {
+            final String sqlQueryInput = "SELECT \u0433\u043e\u0441\u0442\u044c.\u0438\u043c\u044f AS \u0438\u043c\u044f FROM \u0433\u043e\u0441\u0442\u044c " +
+                    "WHERE \u0433\u043e\u0441\u0442\u044c.\u0438\u043c\u044f = '\u0410\u043b\u0442\u0430\u0439' ;";
+            final Query query = new SqlAnalyzer(sqlQueryInput).analyze();
+            assertEquals("\u0433\u043e\u0441\u0442\u044c.\u0438\u043c\u044f AS \u0438\u043c\u044f", query.getColumns().get(0));
+            assertEquals("\u0433\u043e\u0441\u0442\u044c", query.getFromSources().get(0));
+            assertEquals("\u0433\u043e\u0441\u0442\u044c.\u0438\u043c\u044f EQUAL 51 '\u0410\u043b\u0442\u0430\u0439'", query.getWhereClauses().get(0));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void parseReturnsStructuredErrors() {
+        final ParseResult result = new SqlAnalyzer("SELECT email\nFROM users\nWHERE id = ;").parse();
+        assertFalse(result.isSuccess());
+        assertNull(result.getQuery());
+        assertEquals(1, result.getErrors().size());
+        final ParseError error = result.getErrors().get(0);
+        assertEquals(ParseErrorCode.INVALID_CHARACTER, error.getCode());
+        assertEquals(35, error.getOffset());
+        assertEquals(3, error.getLine());
+        assertEquals(12, error.getColumn());
+        assertEquals(";", error.getFound());
+        assertEquals("Invalid character ';' at position 35", error.getMessage());
+    }
+
+    @Test
+    public void parseReportsExpectedToken() {
+        final ParseError misspelled = new SqlAnalyzer("SELECT * FORM t;").parse().getErrors().get(0);
+        assertEquals(ParseErrorCode.INVALID_CHARACTER, misspelled.getCode());
+        assertEquals("FROM", misspelled.getExpected());
+        assertEquals("FORM", misspelled.getFound());
+        assertEquals(10, misspelled.getOffset());
+
+        final ParseError unclosed = new SqlAnalyzer("SELECT a FROM t WHERE a IN (1, 2 ;").parse().getErrors().get(0);
+        assertEquals(ParseErrorCode.EXPECTED_TOKEN, unclosed.getCode());
+        assertEquals(")", unclosed.getExpected());
+        assertEquals("Invalid token ';' at 33 position. Expected ')'", unclosed.getMessage());
+
+        final ParseError terminator = new SqlAnalyzer("SELECT a FROM t").parse().getErrors().get(0);
+        assertEquals(ParseErrorCode.MISSING_TERMINATOR, terminator.getCode());
+
+        final ParseError limit = new SqlAnalyzer("SELECT a FROM t LIMIT 99999999999;").parse().getErrors().get(0);
+        assertEquals(ParseErrorCode.INVALID_NUMBER, limit.getCode());
+        assertEquals("Invalid digit. Position 22", limit.getMessage());
+    }
+
+    @Test
+    public void parseSuccess() {
+        final ParseResult result = new SqlAnalyzer("SELECT a FROM t;").parse();
+        assertTrue(result.isSuccess());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals("a", result.getQuery().getColumns().get(0));
+    }
+
+    @Test
+    public void recoveryReportsEveryClauseError() {
+        final String sqlQueryInput = "SELECT email, FROM users LEFT JOIN messages ON messages.user_id = " +
+                "WHERE id > 1 ORDER BY LIMIT 10;";
+        final ParseResult result = new SqlAnalyzer(sqlQueryInput).parseWithRecovery();
+        assertFalse(result.isSuccess());
+        final List<ParseError> errors = result.getErrors();
+        assertEquals(3, errors.size());
+        assertEquals(ParseErrorCode.RESERVED_WORD, errors.get(0).getCode());
+        assertEquals(14, errors.get(0).getOffset());
+        assertEquals(ParseErrorCode.RESERVED_WORD, errors.get(1).getCode());
+        assertEquals("WHERE", errors.get(1).getFound());
+        assertEquals(ParseErrorCode.RESERVED_WORD, errors.get(2).getCode());
+        assertEquals("LIMIT", errors.get(2).getFound());
+
+        final Query partialQuery = result.getQuery();
+        assertEquals("email", partialQuery.getColumns().get(0));
+        assertEquals("users", partialQuery.getFromSources().get(0));
+        assertEquals("id GREATER_THAN 75 1", partialQuery.getWhereClauses().get(0));
+        assertEquals(10, partialQuery.getLimit().getLimit());
+    }
+
+    @Test
+    public void recoveryInsideDerivedTable() {
+        final ParseResult result = new SqlAnalyzer("SELECT a FROM ( SELECT b FROM t WHERE b = ) x WHERE a IN (1 ;").parseWithRecovery();
+        assertEquals(2, result.getErrors().size());
+        assertEquals(")", result.getErrors().get(0).getFound());
+        assertEquals(ParseErrorCode.EXPECTED_TOKEN, result.getErrors().get(1).getCode());
+        assertEquals("x", result.getQuery().getFromSources().get(1));
+    }
+
+    @Test
+    public void recoveryWithoutErrorsSucceeds() {
+        final ParseResult result = new SqlAnalyzer("SELECT a FROM t WHERE a = 1;").parseWithRecovery();
+        assertTrue(result.isSuccess());
+        assertEquals("a EQUAL 24 1", result.getQuery().getWhereClauses().get(0));
+
+        final ParseResult unterminated = new SqlAnalyzer("SELECT a FROM t").parseWithRecovery();
+        assertEquals(1, unterminated.getErrors().size());
+        assertEquals(ParseErrorCode.MISSING_TERMINATOR, unterminated.getErrors().get(0).getCode());
+        assertEquals("t", unterminated.getQuery().getFromSources().get(0));
+    }
+
+    @Test
+    public void aliasSpellingsFromCharArray() {
+        final String statement = "SELECT a.b AS c, `d` as e, f  AS  `g`, h i FROM (SELECT j FROM k) AS `l`;";
+        final Query query = new SqlAnalyzer().reset(statement.toCharArray(), 0, statement.length()).parse().getQuery();
+        assertEquals(List.of("a.b AS c", "d AS e", "f AS g", "h AS i", "j"), query.getColumns());
+        assertEquals(List.of("k", "l"), query.getFromSources());
+    }
+
+    private static String nested(String open, String inner, String close, int depth) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            result.append(open);
+        }
+        result.append(inner);
+        for (int i = 0; i < depth; i++) {
+            result.append(close);
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void deepNestingFailsGracefully() {
+        final String prefix = "SELECT a FROM t WHERE ";
+        final ParseResult parentheses = new SqlAnalyzer(prefix + nested("(", "a = 1", ")", 100_000) + ";").parse();
+        assertEquals(ParseErrorCode.NESTING_TOO_DEEP, parentheses.getErrors().get(0).getCode());
+        assertEquals(prefix.length() + SqlAnalyzer.DEFAULT_MAX_DEPTH, parentheses.getErrors().get(0).getOffset());
+        assertEquals("Nesting too deep at position 150. At most 128 levels are allowed",
+                parentheses.getErrors().get(0).getMessage());
+
+        final ParseResult not = new SqlAnalyzer(prefix + nested("NOT ", "a = 1", "", 100_000) + ";").parse();
+        assertEquals(ParseErrorCode.NESTING_TOO_DEEP, not.getErrors().get(0).getCode());
+
+        final ParseResult derived = new SqlAnalyzer("SELECT a FROM " + nested("(SELECT a FROM ", "t", ") x", 10_000) + ";").parse();
+        assertEquals(ParseErrorCode.NESTING_TOO_DEEP, derived.getErrors().get(0).getCode());
+    }
+
+    @Test
+    public void maxDepthFitsSmallStack() throws InterruptedException {
+        final ParseResult[] result = new ParseResult[1];
+        final Thread thread = new Thread(null, () -> {
+            final String statement = "SELECT a FROM t WHERE " + nested("(NOT ", "a = 1 OR b + 1 > 2", ")", SqlAnalyzer.DEFAULT_MAX_DEPTH / 2) + ";";
+            result[0] = new SqlAnalyzer(statement).parse();
+        }, "small-stack", 256 * 1024);
+        thread.start();
+        thread.join();
+        assertTrue(result[0].isSuccess());
+
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer("SELECT a FROM t WHERE ((a = 1));");
+        sqlAnalyzer.setMaxDepth(1);
+        assertEquals(ParseErrorCode.NESTING_TOO_DEEP, sqlAnalyzer.parse().getErrors().get(0).getCode());
+    }
+}
@@ -0,0 +1,152 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.Query;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlLexerTest {
+    @Test
+    public void tokenKindsAndOffsets() {
+        final SqlLexer lexer = new SqlLexer("select `user.email`, u.id FROM users WHERE id >= 10 AND name <> 'O''Neil';");
+
+        assertEquals(TokenType.KEYWORD, lexer.next());
+        assertEquals(Keyword.SELECT, lexer.getKeyword());
+        assertEquals(0, lexer.getStart());
+        assertEquals(6, lexer.getEnd());
+
+        assertEquals(TokenType.QUOTED_IDENTIFIER, lexer.next());
+        assertEquals("`user.email`", lexer.getText());
+        assertEquals(TokenType.PUNCTUATION, lexer.next());
+        assertTrue(lexer.isSymbol(','));
+
+        assertEquals(TokenType.IDENTIFIER, lexer.next());
+        assertNull(lexer.getKeyword());
+        assertEquals(TokenType.PUNCTUATION, lexer.next());
+        assertTrue(lexer.isSymbol('.'));
+        assertEquals(TokenType.IDENTIFIER, lexer.next());
+        assertTrue(lexer.next() == TokenType.KEYWORD && lexer.isKeyword(Keyword.FROM));
+        assertEquals(TokenType.IDENTIFIER, lexer.next());
+        assertTrue(lexer.next() == TokenType.KEYWORD && lexer.isKeyword(Keyword.WHERE));
+        assertEquals(TokenType.IDENTIFIER, lexer.next());
+
+        assertEquals(TokenType.OPERATOR, lexer.next());
+        assertEquals(">=", lexer.getText());
+        assertEquals(TokenType.NUMBER, lexer.next());
+        assertEquals("10", lexer.getText());
+        assertTrue(lexer.next() == TokenType.KEYWORD && lexer.isKeyword(Keyword.AND));
+        assertEquals(TokenType.IDENTIFIER, lexer.next());
+        assertEquals(TokenType.OPERATOR, lexer.next());
+        assertEquals("<>", lexer.getText());
+        assertEquals(TokenType.STRING, lexer.next());
+        assertEquals("'O''Neil'", lexer.getText());
+        assertTrue(lexer.next() == TokenType.PUNCTUATION && lexer.isSymbol(';'));
+        assertEquals(TokenType.END, lexer.next());
+        assertEquals(TokenType.END, lexer.next());
+    }
+
+    @Test
+    public void peekDoesNotConsume() {
+        final SqlLexer lexer = new SqlLexer("LEFT OUTER JOIN t");
+
+        assertEquals(TokenType.KEYWORD, lexer.peek());
+        assertEquals(Keyword.LEFT, lexer.peekKeyword());
+        assertEquals(TokenType.KEYWORD, lexer.next());
+        assertEquals(Keyword.LEFT, lexer.getKeyword());
+
+        assertEquals(Keyword.OUTER, lexer.peekKeyword());
+        assertEquals(5, lexer.peekStart());
+        assertEquals(Keyword.LEFT, lexer.getKeyword());
+        lexer.next();
+        assertEquals(Keyword.OUTER, lexer.getKeyword());
+        lexer.next();
+        assertEquals(Keyword.JOIN, lexer.getKeyword());
+        assertEquals(TokenType.IDENTIFIER, lexer.next());
+        assertEquals(TokenType.END, lexer.peek());
+    }
+
+    @Test
+    public void skipsComments() {
+        final SqlLexer lexer = new SqlLexer("-- header\nSELECT /* all */ * FROM t;");
+
+        assertEquals(TokenType.KEYWORD, lexer.next());
+        assertEquals(10, lexer.getStart());
+        assertEquals(TokenType.OPERATOR, lexer.next());
+        assertEquals(27, lexer.getStart());
+    }
+
+    @Test
+    public void errorTokens() {
+        final SqlLexer unclosedString = new SqlLexer("WHERE name = 'Lux");
+        unclosedString.next();
+        unclosedString.next();
+        unclosedString.next();
+        assertEquals(TokenType.ERROR, unclosedString.next());
+        assertEquals(13, unclosedString.getStart());
+
+        final SqlLexer unclosedIdentifier = new SqlLexer("SELECT `email ;");
+        unclosedIdentifier.next();
+        assertEquals(TokenType.ERROR, unclosedIdentifier.next());
+        assertEquals(13, unclosedIdentifier.getStart());
+
+        final SqlLexer unclosedComment = new SqlLexer("SELECT * /* rest");
+        unclosedComment.next();
+        unclosedComment.next();
+        assertEquals(TokenType.ERROR, unclosedComment.next());
+        assertEquals(9, unclosedComment.getStart());
+        assertEquals(TokenType.END, unclosedComment.next());
+
+        final SqlLexer unknown = new SqlLexer("a # b");
+        unknown.next();
+        assertEquals(TokenType.ERROR, unknown.next());
+        assertEquals('#', unknown.firstChar());
+        assertEquals(TokenType.IDENTIFIER, unknown.next());
+    }
+
+    @Test
+    public void lowercaseKeywords() {
+        try {
+            final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer("select email from users where id in (1, 2) order by email desc limit 5;");
+            sqlAnalyzer.analyze();
+            assertTrue(true);
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void keywordTable() {
+        for (Keyword keyword : Keyword.values()) {
+            final String name = keyword.name();
+            assertEquals(keyword, Keyword.lookup(name, 0, name.length()));
+            assertEquals(keyword, Keyword.lookup(" " + name.toLowerCase() + " ", 1, name.length() + 1));
+        }
+        assertTrue(Keyword.isKeyword("Between"));
+        assertFalse(Keyword.isKeyword("table"));
+        assertFalse(Keyword.isKeyword("selects"));
+        assertFalse(Keyword.isKeyword("sel"));
+        assertFalse(Keyword.isKeyword("a"));
+        assertFalse(Keyword.isKeyword("\u0438\u043c\u044f"));
+    }
+
+    @Test
+    public void reservedWordAsName() {
+        try {
+            new SqlAnalyzer("SELECT order FROM users;").analyze();
+            assertTrue(false);
+        } catch (Exception exception) {
+            assertEquals("Reserved word 'order' at position 7 must be quoted to be used as a name", exception.getMessage());
+        }
+        try {
+            final Query query = new SqlAnalyzer("SELECT `order` AS `desc` FROM users;").analyze();
+            assertEquals("order AS desc", query.getColumns().get(0));
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.StatementResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlScriptParserTest {
+    private static final String SCRIPT = "-- products; by calories\n" +
+            "SELECT * FROM `product` ORDER BY calorific ASC;\n" +
+            "SELECT name FROM product\n" +
+            "  WHERE name = 'a;b' /* ; */ AND id > 1;\n" +
+            "\n" +
+            "SELECT `;` FROM users;SELECT * FROM";
+
+    @Test
+    public void splitsOnSemicolonsOutsideLiteralsAndComments() {
+        try {
+            for (int chunkSize : new int[]{1, 2, 3, 7, SqlScriptSplitter.DEFAULT_CHUNK_SIZE}) {
+                final SqlScriptSplitter splitter = new SqlScriptSplitter(new StringReader(SCRIPT), chunkSize, SqlScriptSplitter.DEFAULT_MAX_STATEMENT_LENGTH);
+                final List<String> statements = new ArrayList<>();
+                final List<Integer> lines = new ArrayList<>();
+                String statement;
+                while ((statement = splitter.nextStatement()) != null) {
+                    statements.add(statement);
+                    lines.add(splitter.getStatementLine());
+                }
+                assertEquals(4, statements.size());
+                assertEquals("SELECT * FROM `product` ORDER BY calorific ASC;", statements.get(0));
+                assertEquals("SELECT name FROM product\n  WHERE name = 'a;b' /* ; */ AND id > 1;", statements.get(1));
+                assertEquals("SELECT `;` FROM users;", statements.get(2));
+                assertEquals("SELECT * FROM", statements.get(3));
+                assertEquals(List.of(2, 3, 6, 6), lines);
+                assertEquals(4, splitter.getStatementNumber());
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void streamsResults() {
+        final SqlScriptParser parser = new SqlScriptParser(new ByteArrayInputStream(SCRIPT.getBytes(StandardCharsets.UTF_8)));
+        final List<StatementResult> results = parser.stream().collect(Collectors.toList());
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("ORDER BY 24 calorific ASC", results.get(0).getQuery().getOrderBy());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals("name EQUAL 38 'a;b' AND 54 id GREATER_THAN 61 1", results.get(1).getQuery().getWhereClauses().get(0));
+        assertFalse(results.get(2).isSuccess());
+        assertEquals(3, results.get(2).getStatementNumber());
+        assertEquals(6, results.get(2).getLine());
+        assertNull(results.get(3).getQuery());
+        assertEquals("Invalid query at line 6. Query must contains ';' at the end. SELECT * FROM", results.get(3).toString());
+        assertFalse(parser.hasNext());
+    }
+
+    @Test
+    public void statementLengthIsBounded() {
+        final SqlScriptSplitter splitter = new SqlScriptSplitter(new StringReader("SELECT 'never closed FROM users;"), 4, 16);
+        try {
+            splitter.nextStatement();
+            assertTrue(false);
+        } catch (Exception exception) {
+            assertEquals("Statement at line 1 exceeds 16 characters", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.sqlparser.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementTextTest {
+    @Test
+    public void copiesOnlyKeptRanges() {
+        final char[] chars = "SELECT a FROM t WHERE a = 1 ORDER BY b;".toCharArray();
+        final StatementText text = new StatementText(new CharArraySequence(chars, 0, chars.length));
+        text.keep(22, 23);
+        text.keep(26, 27);
+        text.keep(22, 27);
+        text.keep(37, 38);
+        assertEquals("a = 1", text.subSequence(22, 27).toString());
+        assertFalse(text.isDetached());
+
+        text.detach();
+        Arrays.fill(chars, 'x');
+        assertTrue(text.isDetached());
+        assertEquals(chars.length, text.length());
+        assertEquals("a = 1", text.subSequence(22, 27));
+        assertEquals('b', text.charAt(37));
+        assertEquals("", text.subSequence(5, 5));
+        assertThrows(StringIndexOutOfBoundsException.class, () -> text.charAt(0));
+        assertThrows(StringIndexOutOfBoundsException.class, () -> text.subSequence(22, 38));
+    }
+
+    @Test
+    public void mergesTouchingRanges() {
+        final String input = "a = 1 AND b = 2;";
+        final StatementText text = new StatementText(new CharArraySequence(input.toCharArray(), 0, input.length()));
+        text.keep(10, 15);
+        text.keep(0, 5);
+        text.keep(5, 10);
+        text.detach();
+        assertEquals("a = 1 AND b = 2", text.subSequence(0, 15));
+    }
+}
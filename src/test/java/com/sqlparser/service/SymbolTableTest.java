@@ -0,0 +1,91 @@
+package com.sqlparser.service;
+
+import com.sqlparser.model.Query;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SymbolTableTest {
+    private static final String STATEMENT = "SELECT user.email, user.avatar AS avatar, `user.id` FROM users "
+            + "LEFT JOIN messages ON messages.user_id = user.id;";
+
+    @Test
+    public void namesSharedAcrossStatements() {
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+        sqlAnalyzer.setSymbolTable(new ConcurrentSymbolTable());
+        final Query first = sqlAnalyzer.reset(STATEMENT).parse().getQuery();
+        final Query second = sqlAnalyzer.reset(new String(STATEMENT.toCharArray())).parse().getQuery();
+        final Query third = sqlAnalyzer.reset(STATEMENT.toCharArray(), 0, STATEMENT.length()).parse().getQuery();
+
+        assertEquals(List.of("user.email", "user.avatar AS avatar", "user.id"), first.getColumns());
+        for (Query query : List.of(second, third)) {
+            for (int i = 0; i < first.getColumns().size(); i++) {
+                assertSame(first.getColumns().get(i), query.getColumns().get(i));
+            }
+            assertSame(first.getFromSources().get(0), query.getFromSources().get(0));
+            assertSame(first.getJoins().get(0).getJoinTable(), query.getJoins().get(0).getJoinTable());
+            assertSame(first.getJoins().get(0).getJoinRightTableKey(), query.getJoins().get(0).getJoinRightTableKey());
+        }
+    }
+
+    @Test
+    public void copiesWithoutSymbolTable() {
+        final SqlAnalyzer sqlAnalyzer = new SqlAnalyzer();
+        final Query first = sqlAnalyzer.reset(STATEMENT).parse().getQuery();
+        final Query second = sqlAnalyzer.reset(STATEMENT).parse().getQuery();
+        assertEquals(first.getFromSources(), second.getFromSources());
+        assertNotSame(first.getFromSources().get(0), second.getFromSources().get(0));
+    }
+
+    @Test
+    public void growsAndStopsAtMaxSize() {
+        final ConcurrentSymbolTable symbolTable = new ConcurrentSymbolTable(1000);
+        final String names = "abcdefghijklmnopqrstuvwxyz0123456789";
+        final List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final String name = "t" + i;
+            symbols.add(symbolTable.intern(name, 0, name.length()));
+        }
+        assertEquals(1000, symbolTable.size());
+        for (int i = 0; i < 1000; i++) {
+            final String name = " t" + i + " ";
+            assertSame(symbols.get(i), symbolTable.intern(name, 1, name.length() - 1));
+        }
+        final String overflow = symbolTable.intern(names, 0, 3);
+        assertEquals("abc", overflow);
+        assertNotSame(overflow, symbolTable.intern(names, 0, 3));
+        assertEquals(1000, symbolTable.size());
+    }
+
+    @Test
+    public void sharedAcrossThreads() throws InterruptedException {
+        final ConcurrentSymbolTable symbolTable = new ConcurrentSymbolTable();
+        final String[][] results = new String[4][500];
+        final Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final String[] result = results[t];
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < result.length; i++) {
+                    final String name = "column_" + i;
+                    result[i] = symbolTable.intern(name, 0, name.length());
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(500, symbolTable.size());
+        for (int i = 0; i < 500; i++) {
+            for (String[] result : results) {
+                assertSame(results[0][i], result[i]);
+            }
+        }
+        assertSame(results[3][7], symbolTable.intern("column_7", 0, 8));
+    }
+}
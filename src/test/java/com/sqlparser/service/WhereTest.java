@@ -2,12 +2,27 @@ package com.sqlparser.service;
 
 import com.sqlparser.model.Join;
 import com.sqlparser.model.JoinType;
+import com.sqlparser.model.ParseResult;
 import com.sqlparser.model.Query;
+import com.sqlparser.model.expression.And;
+import com.sqlparser.model.expression.Arithmetic;
+import com.sqlparser.model.expression.ArithmeticOperator;
+import com.sqlparser.model.expression.Between;
+import com.sqlparser.model.expression.ColumnRef;
+import com.sqlparser.model.expression.Comparison;
+import com.sqlparser.model.expression.Expression;
+import com.sqlparser.model.expression.In;
+import com.sqlparser.model.expression.InList;
+import com.sqlparser.model.expression.Literal;
+import com.sqlparser.model.expression.LiteralType;
+import com.sqlparser.model.expression.Not;
+import com.sqlparser.model.expression.Or;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class WhereTest {
@@ -469,4 +484,185 @@ public class WhereTest {
             assertTrue(false);
         }
     }
+
+    @Test
+    public void typedBetween() {
+        try {
+            final String sqlQueryInput = "SELECT user.id FROM users WHERE  users.id NOT  BETWEEN 50  AND 100 ;";
+            final Query query = new SqlAnalyzer(sqlQueryInput).analyze();
+            final Between between = (Between) query.getWhereConditions().get(0);
+            assertTrue(between.isNegated());
+            assertEquals("users.id", ((ColumnRef) between.getOperand()).getName());
+            assertEquals(sqlQueryInput.indexOf("BETWEEN"), between.getKeywordPosition());
+
+            final Literal lower = (Literal) between.getLower();
+            assertEquals(LiteralType.NUMBER, lower.getType());
+            assertEquals(sqlQueryInput.indexOf("50"), lower.getStart());
+            assertEquals("50", lower.getValue());
+            assertEquals("100", ((Literal) between.getUpper()).getValue());
+            assertEquals("users.id NOT  BETWEEN 50  AND 100", between.getText());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void typedInOrComparison() {
+        try {
+            final String sqlQueryInput = "SELECT  client.id_client AS id_client FROM room_in_reservation " +
+                    " WHERE room_kind.id IN (1, 2, 3 , 4 )   OR  hotel.name = 'Altay';";
+            final Query query = new SqlAnalyzer(sqlQueryInput).analyze();
+            final Or or = (Or) query.getWhereConditions().get(0);
+            assertEquals(sqlQueryInput.indexOf("OR "), or.getKeywordPosition());
+
+            final In in = (In) or.getLeft();
+            assertFalse(in.isNegated());
+            assertEquals(4, in.getValues().size());
+            assertEquals("3", ((Literal) in.getValues().get(2)).getValue());
+            assertEquals("room_kind.id IN (1, 2, 3 , 4 )", in.getText());
+
+            final Comparison comparison = (Comparison) or.getRight();
+            assertEquals(OperatorType.EQUAL, comparison.getOperator());
+            assertEquals("hotel.name", ((ColumnRef) comparison.getLeft()).getName());
+            final Literal value = (Literal) comparison.getRight();
+            assertEquals(LiteralType.STRING, value.getType());
+            assertEquals("Altay", value.getValue());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void longAndChain() {
+        try {
+            final StringBuilder sqlQueryInput = new StringBuilder("SELECT id FROM orders WHERE");
+            for (int i = 0; i < 60; i++) {
+                sqlQueryInput.append(i == 0 ? " " : " AND ").append("c").append(i).append(" = ").append(i);
+            }
+            final Query query = new SqlAnalyzer(sqlQueryInput.append(';')).analyze();
+            Expression condition = query.getWhereConditions().get(0);
+            for (int i = 59; i > 0; i--) {
+                final And and = (And) condition;
+                assertEquals("c" + i, ((ColumnRef) ((Comparison) and.getRight()).getLeft()).getName());
+                condition = and.getLeft();
+            }
+            assertEquals("c0", ((ColumnRef) ((Comparison) condition).getLeft()).getName());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void arithmeticKeepsGrouping() {
+        try {
+            final String sqlQueryInput = "SELECT id FROM t WHERE (a + b) * c > a - (b - c) / 2 || 'x';";
+            final Query query = new SqlAnalyzer(sqlQueryInput).analyze();
+            assertEquals("(a + b) * c GREATER_THAN 35 a - (b - c) / 2 || 'x'", query.getWhereClauses().get(0));
+            final Comparison equal = (Comparison) new SqlAnalyzer("SELECT id FROM t WHERE a + b * c - d = 1;").analyze()
+                    .getWhereConditions().get(0);
+            assertEquals("a + b * c - d", equal.getLeft().toString());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void precedenceAndParentheses() {
+        try {
+            final String sqlQueryInput = "SELECT id FROM t WHERE NOT a = 1 OR b = 2 AND (c = 3 OR ((d + 1) * 2 > e || f));";
+            final Query query = new SqlAnalyzer(sqlQueryInput).analyze();
+            final Or or = (Or) query.getWhereConditions().get(0);
+            assertTrue(((Not) or.getLeft()).getOperand() instanceof Comparison);
+            final And and = (And) or.getRight();
+            assertEquals("b = 2", and.getLeft().getText());
+            final Or nested = (Or) and.getRight();
+            final Comparison greater = (Comparison) nested.getRight();
+            assertEquals(OperatorType.GREATER_THAN, greater.getOperator());
+            final Arithmetic product = (Arithmetic) greater.getLeft();
+            assertEquals(ArithmeticOperator.MULTIPLY, product.getOperator());
+            assertEquals("d + 1", product.getLeft().getText());
+            assertEquals(ArithmeticOperator.ADD, ((Arithmetic) product.getLeft()).getOperator());
+            assertEquals(ArithmeticOperator.CONCAT, ((Arithmetic) greater.getRight()).getOperator());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void valueUsedAsCondition() {
+        final String[] statements = {
+                "SELECT id FROM t WHERE a AND b = 1;",
+                "SELECT id FROM t WHERE a = 1 AND (b + 1);",
+                "SELECT id FROM t WHERE NOT a;",
+                "SELECT id FROM t WHERE a = 1 = 2;",
+        };
+        final int[] positions = {25, 40, 28, 29};
+        for (int i = 0; i < statements.length; i++) {
+            final ParseResult result = new SqlAnalyzer(statements[i]).parse();
+            assertFalse(result.isSuccess());
+            assertEquals(positions[i], result.getErrors().get(0).getOffset());
+        }
+    }
+
+    @Test
+    public void largeInList() {
+        try {
+            final StringBuilder sqlQueryInput = new StringBuilder("SELECT id FROM users WHERE id IN (");
+            for (int i = 0; i < 100_000; i++) {
+                sqlQueryInput.append(i == 0 ? "" : ", ").append(i * 7L);
+            }
+            final Query query = new SqlAnalyzer(sqlQueryInput.append(");").toString()).analyze();
+            final InList in = (InList) query.getWhereConditions().get(0);
+            assertEquals(LiteralType.NUMBER, in.getType());
+            assertEquals(100_000, in.size());
+            assertEquals(699_993, in.getLong(99_999));
+            assertEquals(7L * 99_999 * 100_000 / 2, in.longs().sum());
+            assertEquals("699993", in.getString(99_999));
+            assertEquals(100_000, in.getValues().size());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void stringInList() {
+        try {
+            final String sqlQueryInput = "SELECT id FROM users WHERE name NOT IN ('a', 'it''s' , '');";
+            final Query query = new SqlAnalyzer(sqlQueryInput).analyze();
+            final InList in = (InList) query.getWhereConditions().get(0);
+            assertEquals(LiteralType.STRING, in.getType());
+            assertTrue(in.isNegated());
+            assertEquals(3, in.size());
+            assertEquals("it''s", in.getString(1));
+            assertEquals("", in.getString(2));
+            assertEquals("'it''s'", in.getValue(1).getText());
+            assertEquals("name  NOT IN 36 'a', 'it''s', ''", in.toString());
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
+
+    @Test
+    public void mixedInListFallsBack() {
+        try {
+            final String[] lists = {"(1, 2, a)", "(1, 2 + 3)", "(1, 99999999999999999999)", "(1, 1.5)", "('a', 1)"};
+            for (String list : lists) {
+                final Query query = new SqlAnalyzer("SELECT id FROM t WHERE id IN " + list + ";").analyze();
+                final In in = (In) query.getWhereConditions().get(0);
+                assertFalse(in instanceof InList, list);
+                assertEquals(2, in.getValues().size() - (list.equals("(1, 2, a)") ? 1 : 0), list);
+                assertEquals(list.substring(1, list.indexOf(',')), in.getValues().get(0).getText());
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            assertTrue(false);
+        }
+    }
 }